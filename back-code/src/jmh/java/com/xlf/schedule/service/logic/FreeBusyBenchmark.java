@@ -0,0 +1,175 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.service.logic;
+
+import com.xlf.schedule.cache.FreeBusyCache;
+import com.xlf.schedule.cache.GroupAccessCache;
+import com.xlf.schedule.dao.ClassDAO;
+import com.xlf.schedule.dao.ClassTimeMarketDAO;
+import com.xlf.schedule.dao.FriendDAO;
+import com.xlf.schedule.dao.ScheduleDAO;
+import com.xlf.schedule.model.entity.ScheduleDO;
+import com.xlf.schedule.util.SlotUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * 空闲忙碌基准测试
+ * <p>
+ * 该类用于测量 500 名成员、每人 200 条日程（每 20 条中 1 条为每周循环）时 31 天忙碌位图的计算耗时；
+ * 数据访问层以 Mockito 替身按周返回预先生成的日程，结果只包含位图计算与缓存读写，不包含数据库查询。
+ * <ul>
+ *     <li>{@code markSchedules}：只用 {@link SlotUtil} 逐条标记并按位或合并</li>
+ *     <li>{@code getBusyCold}：清空周位图缓存后调用 {@link FreeBusyLogic#getBusy}，每周全部未命中</li>
+ *     <li>{@code getBusyWarm}：周位图缓存全部命中时调用 {@link FreeBusyLogic#getBusy}</li>
+ * </ul>
+ * 运行方式：{@code mvn -P jmh test-compile exec:exec}
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FreeBusyBenchmark {
+    private static final int MEMBER_COUNT = 500;
+    private static final int SCHEDULES_PER_MEMBER = 200;
+    private static final LocalDate START_DATE = LocalDate.of(2024, 10, 1);
+    private static final int DAYS = 31;
+
+    private List<String> userUuidList;
+    private Map<String, List<ScheduleDO>> memberScheduleMap;
+    private FreeBusyCache freeBusyCache;
+    private FreeBusyLogic freeBusyLogic;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        userUuidList = new ArrayList<>();
+        memberScheduleMap = new HashMap<>();
+        List<ScheduleDO> scheduleList = new ArrayList<>();
+        for (int member = 0; member < MEMBER_COUNT; member++) {
+            String userUuid = "bench-user-" + member;
+            userUuidList.add(userUuid);
+            List<ScheduleDO> memberList = new ArrayList<>();
+            for (int i = 0; i < SCHEDULES_PER_MEMBER; i++) {
+                LocalDateTime start = START_DATE.atTime(8, 0).plusMinutes(195L * i + member % 4 * 15L);
+                boolean isLoop = i % 20 == 0;
+                memberList.add(new ScheduleDO()
+                        .setScheduleUuid(userUuid + "-" + i)
+                        .setUserUuid(userUuid)
+                        .setStartTime(Timestamp.valueOf(start))
+                        .setEndTime(Timestamp.valueOf(start.plusHours(1)))
+                        .setType((short) (isLoop ? 1 : 0))
+                        .setLoopType(isLoop ? (short) 2 : null));
+            }
+            memberScheduleMap.put(userUuid, memberList);
+            scheduleList.addAll(memberList);
+        }
+        // 按周预先筛选窗口内的日程，替身直接返回，避免筛选耗时计入结果
+        Map<Timestamp, List<ScheduleDO>> weekScheduleMap = new HashMap<>();
+        LocalDate endDate = START_DATE.plusDays(DAYS);
+        for (LocalDate weekStart = START_DATE.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+             weekStart.isBefore(endDate); weekStart = weekStart.plusWeeks(1)) {
+            Timestamp windowStart = Timestamp.valueOf(weekStart.atStartOfDay());
+            Timestamp windowEnd = Timestamp.valueOf(weekStart.plusWeeks(1).atStartOfDay());
+            weekScheduleMap.put(windowStart, scheduleList.stream()
+                    .filter(schedule -> schedule.getType() == 1
+                            || (schedule.getStartTime().before(windowEnd) && !schedule.getEndTime().before(windowStart)))
+                    .toList());
+        }
+        ScheduleDAO scheduleDAO = Mockito.mock(ScheduleDAO.class);
+        when(scheduleDAO.listWindowByUsers(anyList(), any(Timestamp.class), any(Timestamp.class)))
+                .thenAnswer(invocation -> weekScheduleMap.getOrDefault(invocation.getArgument(1), List.of()));
+        freeBusyCache = new FreeBusyCache(
+                new MockEnvironment(),
+                new SimpleMeterRegistry(),
+                (ObjectProvider<StringRedisTemplate>) Mockito.mock(ObjectProvider.class)
+        );
+        freeBusyLogic = new FreeBusyLogic(
+                Mockito.mock(GroupAccessCache.class),
+                scheduleDAO,
+                Mockito.mock(ClassDAO.class),
+                Mockito.mock(ClassTimeMarketDAO.class),
+                Mockito.mock(FriendDAO.class),
+                freeBusyCache
+        );
+    }
+
+    @Benchmark
+    public BitSet markSchedules() {
+        LocalDateTime rangeStart = START_DATE.atStartOfDay();
+        int slotCount = DAYS * SlotUtil.SLOTS_PER_DAY;
+        BitSet busy = new BitSet(slotCount);
+        for (String userUuid : userUuidList) {
+            BitSet bits = new BitSet(slotCount);
+            for (ScheduleDO scheduleDO : memberScheduleMap.get(userUuid)) {
+                SlotUtil.markSchedule(bits, rangeStart, slotCount, scheduleDO);
+            }
+            busy.or(bits);
+        }
+        return busy;
+    }
+
+    @Benchmark
+    public Map<String, BitSet> getBusyCold() {
+        freeBusyCache.invalidateUsers(userUuidList);
+        return freeBusyLogic.getBusy(userUuidList, START_DATE, DAYS);
+    }
+
+    @Benchmark
+    public Map<String, BitSet> getBusyWarm() {
+        return freeBusyLogic.getBusy(userUuidList, START_DATE, DAYS);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 当前用户
+ * <p>
+ * 该注解用于标记控制器方法参数，注入当前请求已认证的用户 {@link com.xlf.schedule.model.dto.UserDTO}；
+ * 同一请求内用户只会解析一次。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+}
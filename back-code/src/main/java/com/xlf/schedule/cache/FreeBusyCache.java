@@ -0,0 +1,258 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.xlf.schedule.util.TransactionUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 空闲忙碌周位图缓存
+ * <p>
+ * 该类用于按用户、周（周一开始）缓存忙碌位图，每周 {@code 7 * 96 = 672} 位（15 分钟一个时间槽，11 个 {@code long}）；
+ * 存储方式由 {@code schedule.free-busy.store} 决定：{@code memory}（默认）使用进程内 Caffeine 缓存，
+ * {@code redis} 使用 Redis 哈希 {@code free_busy:{用户UUID}}（字段为周开始日期）以便多实例共享，Redis 不可用时回退到进程内缓存；
+ * 用户的日程、课程或小组成员关系变化时整体失效该用户的全部周，读取时只重建缺失的周；
+ * 事务中的失效在提交后执行；进程内缓存的写入落在查询时取得的用户容器中，失效后正在计算的旧结果不会覆盖新数据；
+ * 其他实例的写入不会失效本实例的进程内缓存，用户条目按 {@code schedule.free-busy.expire-after-write-minutes} 自创建起过期以限定不一致的时长；
+ * Redis 方式为每个用户维护版本号 {@code free_busy_version:{用户UUID}}，失效时递增，写回时通过脚本比较查询时的版本，版本变化则放弃写入；
+ * 该类使用 {@link Component} 注解标记;
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Slf4j
+@Component
+public class FreeBusyCache {
+    private static final String REDIS_KEY_PREFIX = "free_busy:";
+    private static final String REDIS_VERSION_PREFIX = "free_busy_version:";
+    /**
+     * 版本未变化时才写入周位图，避免失效前开始的重建覆盖新数据
+     * <p>
+     * KEYS[1] 位图哈希，KEYS[2] 版本号；ARGV[1] 查询时的版本，ARGV[2] 字段，ARGV[3] 位图，ARGV[4] 过期秒数
+     */
+    private static final String REDIS_STORE_SCRIPT = """
+            if (redis.call('GET', KEYS[2]) or '0') == ARGV[1] then
+                redis.call('HSET', KEYS[1], ARGV[2], ARGV[3])
+                redis.call('EXPIRE', KEYS[1], ARGV[4])
+                return 1
+            end
+            return 0
+            """;
+
+    private final Cache<String, Map<LocalDate, long[]>> cache;
+    private final StringRedisTemplate redisTemplate;
+    private final long expireMinutes;
+
+    public FreeBusyCache(@NotNull Environment env, MeterRegistry meterRegistry, ObjectProvider<StringRedisTemplate> redisTemplateProvider) {
+        long maximumSize = env.getProperty("schedule.free-busy.maximum-size", Long.class, 10000L);
+        this.expireMinutes = env.getProperty("schedule.free-busy.expire-after-write-minutes", Long.class, 30L);
+        String store = env.getProperty("schedule.free-busy.store", "memory");
+        StringRedisTemplate template = "redis".equalsIgnoreCase(store) ? redisTemplateProvider.getIfAvailable() : null;
+        if ("redis".equalsIgnoreCase(store) && template == null) {
+            log.warn("[INIT] 未找到 Redis 连接，空闲忙碌缓存回退为进程内缓存");
+        }
+        this.redisTemplate = template;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "free_busy");
+        log.info("[INIT] 空闲忙碌缓存初始化 | 存储: {} | 最大用户数: {}", redisTemplate == null ? "memory" : "redis", maximumSize);
+    }
+
+    /**
+     * 查询周位图
+     * <p>
+     * 该方法用于一次查询多个用户在指定周的位图，未命中的用户记录在 {@link Lookup#getMisses()} 中，
+     * 由调用方批量计算后通过 {@link #store(Lookup, Map)} 写回。
+     *
+     * @param userUuidList 用户UUID列表
+     * @param weekStart    周开始日期（周一）
+     * @return 查询结果
+     */
+    @NotNull
+    public Lookup lookup(@NotNull Collection<String> userUuidList, @NotNull LocalDate weekStart) {
+        Lookup lookup = new Lookup(weekStart);
+        if (redisTemplate != null) {
+            List<String> userList = new ArrayList<>(userUuidList);
+            String field = weekStart.toString();
+            List<Object> valueList = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                userList.forEach(userUuid -> {
+                    stringConnection.hGet(REDIS_KEY_PREFIX + userUuid, field);
+                    stringConnection.get(REDIS_VERSION_PREFIX + userUuid);
+                });
+                return null;
+            });
+            for (int i = 0; i < userList.size(); i++) {
+                Object value = 2 * i < valueList.size() ? valueList.get(2 * i) : null;
+                Object version = 2 * i + 1 < valueList.size() ? valueList.get(2 * i + 1) : null;
+                if (value instanceof String encoded) {
+                    lookup.hits.put(userList.get(i), decode(encoded));
+                } else {
+                    lookup.misses.add(userList.get(i));
+                    lookup.versions.put(userList.get(i), version instanceof String versionText ? versionText : "0");
+                }
+            }
+            return lookup;
+        }
+        for (String userUuid : userUuidList) {
+            Map<LocalDate, long[]> weeks = cache.get(userUuid, key -> new ConcurrentHashMap<>());
+            long[] bits = weeks.get(weekStart);
+            if (bits != null) {
+                lookup.hits.put(userUuid, bits);
+            } else {
+                lookup.misses.add(userUuid);
+                lookup.containers.put(userUuid, weeks);
+            }
+        }
+        return lookup;
+    }
+
+    /**
+     * 写回周位图
+     *
+     * @param lookup 查询结果
+     * @param built  计算出的未命中用户位图
+     */
+    public void store(@NotNull Lookup lookup, @NotNull Map<String, long[]> built) {
+        if (built.isEmpty()) {
+            return;
+        }
+        if (redisTemplate != null) {
+            String field = lookup.weekStart.toString();
+            String expireSeconds = Long.toString(TimeUnit.MINUTES.toSeconds(expireMinutes));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                built.forEach((userUuid, bits) -> stringConnection.eval(REDIS_STORE_SCRIPT, ReturnType.INTEGER, 2,
+                        REDIS_KEY_PREFIX + userUuid, REDIS_VERSION_PREFIX + userUuid,
+                        lookup.versions.getOrDefault(userUuid, "0"), field, encode(bits), expireSeconds));
+                return null;
+            });
+            return;
+        }
+        built.forEach((userUuid, bits) -> {
+            Map<LocalDate, long[]> weeks = lookup.containers.get(userUuid);
+            if (weeks != null) {
+                weeks.put(lookup.weekStart, bits);
+            }
+        });
+    }
+
+    /**
+     * 失效用户
+     *
+     * @param userUuid 用户UUID
+     */
+    public void invalidateUser(String userUuid) {
+        if (userUuid != null) {
+            this.invalidateUsers(List.of(userUuid));
+        }
+    }
+
+    /**
+     * 批量失效用户
+     *
+     * @param userUuidList 用户UUID列表
+     */
+    public void invalidateUsers(@NotNull Collection<String> userUuidList) {
+        List<String> userList = userUuidList.stream().filter(Objects::nonNull).distinct().toList();
+        if (userList.isEmpty()) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            if (redisTemplate != null) {
+                long expireSeconds = TimeUnit.MINUTES.toSeconds(expireMinutes);
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                    userList.forEach(userUuid -> {
+                        stringConnection.incr(REDIS_VERSION_PREFIX + userUuid);
+                        stringConnection.expire(REDIS_VERSION_PREFIX + userUuid, expireSeconds);
+                        stringConnection.del(REDIS_KEY_PREFIX + userUuid);
+                    });
+                    return null;
+                });
+                return;
+            }
+            cache.invalidateAll(userList);
+        });
+    }
+
+    private static String encode(long @NotNull [] bits) {
+        ByteBuffer buffer = ByteBuffer.allocate(bits.length * Long.BYTES);
+        for (long word : bits) {
+            buffer.putLong(word);
+        }
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    private static long @NotNull [] decode(@NotNull String encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+        long[] bits = new long[buffer.remaining() / Long.BYTES];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = buffer.getLong();
+        }
+        return bits;
+    }
+
+    /**
+     * 查询结果
+     */
+    @Getter
+    public static class Lookup {
+        private final LocalDate weekStart;
+        private final Map<String, long[]> hits = new HashMap<>();
+        private final List<String> misses = new ArrayList<>();
+        private final Map<String, Map<LocalDate, long[]>> containers = new HashMap<>();
+        private final Map<String, String> versions = new HashMap<>();
+
+        private Lookup(LocalDate weekStart) {
+            this.weekStart = weekStart;
+        }
+    }
+}
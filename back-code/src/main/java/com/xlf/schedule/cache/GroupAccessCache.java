@@ -0,0 +1,429 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.xlf.schedule.dao.GroupDAO;
+import com.xlf.schedule.dao.GroupMemberDAO;
+import com.xlf.schedule.model.entity.GroupDO;
+import com.xlf.schedule.model.entity.GroupMemberDO;
+import com.xlf.schedule.util.TransactionUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 小组权限索引
+ * <p>
+ * 该类用于在进程内维护小组到组长与成员集合、用户到所在小组的索引，使日常的小组权限判断无需访问数据库；
+ * 成员集合以驻留后的用户编号（{@code int}）有序数组保存，判断成员关系为一次二分查找，并按相同顺序保存成员UUID，列出成员时无需反查编号；
+ * 用户编号通过 {@link ConcurrentHashMap} 无锁分配，数量以系统中出现过的用户数为上限；
+ * 小组与用户条目在首次访问时各用一两次查询加载，之后由小组创建、修改、删除、转让与成员增删同步更新；
+ * 处于事务中的变更在事务提交后才写入索引，回滚的变更不会被看到；
+ * 其他实例的变更不会通知本实例，条目按 {@code schedule.group-access.expire-after-write-minutes} 过期以限定不一致的时长；
+ * 命中率等指标通过 {@code cache.*{cache=group_access}} 与 {@code cache.*{cache=user_groups}} 暴露；
+ * 该类使用 {@link Component} 注解标记;
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Slf4j
+@Component
+public class GroupAccessCache {
+    private static final int[] EMPTY_IDS = new int[0];
+    private static final String[] EMPTY_UUIDS = new String[0];
+
+    private final GroupDAO groupDAO;
+    private final GroupMemberDAO groupMemberDAO;
+    private final Cache<String, GroupAccess> groupCache;
+    private final Cache<String, Set<String>> userCache;
+    private final Map<String, Integer> idMap = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    public GroupAccessCache(@NotNull Environment env, MeterRegistry meterRegistry, GroupDAO groupDAO, GroupMemberDAO groupMemberDAO) {
+        this.groupDAO = groupDAO;
+        this.groupMemberDAO = groupMemberDAO;
+        long maximumSize = env.getProperty("schedule.group-access.maximum-size", Long.class, 10000L);
+        long expireMinutes = env.getProperty("schedule.group-access.expire-after-write-minutes", Long.class, 10L);
+        this.groupCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, groupCache, "group_access");
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "user_groups");
+        log.info("[INIT] 小组权限索引初始化 | 最大条目数: {} | 过期时间: {} 分钟", maximumSize, expireMinutes);
+    }
+
+    /**
+     * 获取小组权限
+     *
+     * @param groupUuid 小组UUID
+     * @return 小组权限，小组不存在时返回 {@code null}
+     */
+    public GroupAccess get(String groupUuid) {
+        if (groupUuid == null) {
+            return null;
+        }
+        return groupCache.get(groupUuid, this::loadGroup);
+    }
+
+    /**
+     * 批量获取小组权限
+     * <p>
+     * 未命中的小组合并为一次小组查询与一次成员查询。
+     *
+     * @param groupUuidList 小组UUID列表
+     * @return 小组UUID 到小组权限的映射，不存在的小组不在结果中
+     */
+    @NotNull
+    public Map<String, GroupAccess> getAll(@NotNull Collection<String> groupUuidList) {
+        if (groupUuidList.isEmpty()) {
+            return Map.of();
+        }
+        return groupCache.getAll(groupUuidList, this::loadGroups);
+    }
+
+    /**
+     * 获取用户所在的小组
+     * <p>
+     * 包含用户作为成员加入的小组与作为组长的小组。
+     *
+     * @param userUuid 用户UUID
+     * @return 小组UUID集合（只读）
+     */
+    @NotNull
+    public Set<String> getUserGroups(@NotNull String userUuid) {
+        return this.getUserGroups(List.of(userUuid)).getOrDefault(userUuid, Set.of());
+    }
+
+    /**
+     * 批量获取用户所在的小组
+     * <p>
+     * 未命中的用户合并为一次成员查询与一次组长查询。
+     *
+     * @param userUuidList 用户UUID列表
+     * @return 用户UUID 到小组UUID集合（只读）的映射
+     */
+    @NotNull
+    public Map<String, Set<String>> getUserGroups(@NotNull Collection<String> userUuidList) {
+        if (userUuidList.isEmpty()) {
+            return Map.of();
+        }
+        return userCache.getAll(userUuidList, this::loadUserGroups);
+    }
+
+    /**
+     * 写入新小组
+     *
+     * @param groupDO 新创建的小组
+     */
+    public void putGroup(@NotNull GroupDO groupDO) {
+        TransactionUtil.afterCommit(() -> {
+            groupCache.put(groupDO.getGroupUuid(), new GroupAccess(
+                    groupDO.getGroupUuid(), groupDO.getMaster(), Boolean.TRUE.equals(groupDO.getUserAbleAdd()), EMPTY_IDS, EMPTY_UUIDS));
+            userCache.invalidate(groupDO.getMaster());
+        });
+    }
+
+    /**
+     * 更新小组设置
+     * <p>
+     * 该方法用于在修改小组后同步是否允许成员添加日程，已加载的成员集合保持不变。
+     *
+     * @param groupDO 小组
+     */
+    public void updateGroup(@NotNull GroupDO groupDO) {
+        TransactionUtil.afterCommit(() -> groupCache.asMap().computeIfPresent(groupDO.getGroupUuid(), (key, access) ->
+                new GroupAccess(access.groupUuid, access.master, Boolean.TRUE.equals(groupDO.getUserAbleAdd()), access.memberIds, access.memberUuids)));
+    }
+
+    /**
+     * 移除小组
+     *
+     * @param groupUuid    小组UUID
+     * @param userUuidList 受影响的成员与组长
+     */
+    public void removeGroup(@NotNull String groupUuid, @NotNull Collection<String> userUuidList) {
+        List<String> userList = List.copyOf(userUuidList);
+        TransactionUtil.afterCommit(() -> {
+            groupCache.invalidate(groupUuid);
+            userCache.invalidateAll(userList);
+        });
+    }
+
+    /**
+     * 转让组长
+     *
+     * @param groupUuid 小组UUID
+     * @param oldMaster 原组长
+     * @param newMaster 新组长
+     */
+    public void setMaster(@NotNull String groupUuid, @NotNull String oldMaster, @NotNull String newMaster) {
+        TransactionUtil.afterCommit(() -> {
+            groupCache.asMap().computeIfPresent(groupUuid, (key, access) ->
+                    new GroupAccess(access.groupUuid, newMaster, access.userAbleAdd, access.memberIds, access.memberUuids));
+            userCache.invalidateAll(List.of(oldMaster, newMaster));
+        });
+    }
+
+    /**
+     * 添加成员
+     *
+     * @param groupUuid    小组UUID
+     * @param userUuidList 新增的成员
+     */
+    public void addMembers(@NotNull String groupUuid, @NotNull Collection<String> userUuidList) {
+        if (userUuidList.isEmpty()) {
+            return;
+        }
+        List<String> userList = List.copyOf(userUuidList);
+        TransactionUtil.afterCommit(() -> {
+            groupCache.asMap().computeIfPresent(groupUuid, (key, access) -> {
+                List<String> memberList = new ArrayList<>(Arrays.asList(access.memberUuids));
+                memberList.addAll(userList);
+                return this.build(access.groupUuid, access.master, access.userAbleAdd, memberList);
+            });
+            userList.forEach(userUuid -> userCache.asMap().computeIfPresent(userUuid, (key, groups) -> {
+                Set<String> groupSet = new HashSet<>(groups);
+                groupSet.add(groupUuid);
+                return Set.copyOf(groupSet);
+            }));
+        });
+    }
+
+    /**
+     * 移除成员
+     *
+     * @param groupUuid 小组UUID
+     * @param userUuid  被移除的成员
+     */
+    public void removeMember(@NotNull String groupUuid, @NotNull String userUuid) {
+        TransactionUtil.afterCommit(() -> {
+            Integer id = idMap.get(userUuid);
+            if (id != null) {
+                groupCache.asMap().computeIfPresent(groupUuid, (key, access) -> {
+                    int index = Arrays.binarySearch(access.memberIds, id);
+                    if (index < 0) {
+                        return access;
+                    }
+                    int[] memberIds = new int[access.memberIds.length - 1];
+                    String[] memberUuids = new String[memberIds.length];
+                    System.arraycopy(access.memberIds, 0, memberIds, 0, index);
+                    System.arraycopy(access.memberIds, index + 1, memberIds, index, memberIds.length - index);
+                    System.arraycopy(access.memberUuids, 0, memberUuids, 0, index);
+                    System.arraycopy(access.memberUuids, index + 1, memberUuids, index, memberUuids.length - index);
+                    return new GroupAccess(access.groupUuid, access.master, access.userAbleAdd, memberIds, memberUuids);
+                });
+            }
+            // 组长同时是成员时移除成员关系后仍在小组中，直接重新加载
+            userCache.invalidate(userUuid);
+        });
+    }
+
+    /**
+     * 加载小组
+     *
+     * @param groupUuid 小组UUID
+     * @return 小组权限，小组不存在时返回 {@code null}
+     */
+    private GroupAccess loadGroup(@NotNull String groupUuid) {
+        return this.loadGroups(Set.of(groupUuid)).get(groupUuid);
+    }
+
+    /**
+     * 批量加载小组
+     *
+     * @param groupUuidSet 小组UUID集合
+     * @return 小组UUID 到小组权限的映射，不存在的小组不在结果中
+     */
+    @NotNull
+    private Map<String, GroupAccess> loadGroups(@NotNull Set<? extends String> groupUuidSet) {
+        List<GroupDO> groupList = groupDAO.lambdaQuery()
+                .select(GroupDO::getGroupUuid, GroupDO::getMaster, GroupDO::getUserAbleAdd)
+                .in(GroupDO::getGroupUuid, groupUuidSet)
+                .list();
+        if (groupList.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, List<String>> memberMap = new HashMap<>();
+        groupList.forEach(groupDO -> memberMap.put(groupDO.getGroupUuid(), new ArrayList<>()));
+        groupMemberDAO.lambdaQuery()
+                .select(GroupMemberDO::getGroupUuid, GroupMemberDO::getUserUuid)
+                .in(GroupMemberDO::getGroupUuid, memberMap.keySet())
+                .list()
+                .forEach(groupMemberDO -> memberMap.get(groupMemberDO.getGroupUuid()).add(groupMemberDO.getUserUuid()));
+        Map<String, GroupAccess> result = new HashMap<>();
+        groupList.forEach(groupDO -> result.put(groupDO.getGroupUuid(), this.build(groupDO.getGroupUuid(),
+                groupDO.getMaster(), Boolean.TRUE.equals(groupDO.getUserAbleAdd()), memberMap.get(groupDO.getGroupUuid()))));
+        return result;
+    }
+
+    /**
+     * 加载用户所在的小组
+     *
+     * @param userUuidSet 用户UUID集合
+     * @return 用户UUID 到小组UUID集合的映射
+     */
+    @NotNull
+    private Map<String, Set<String>> loadUserGroups(@NotNull Set<? extends String> userUuidSet) {
+        Map<String, Set<String>> groupMap = new HashMap<>();
+        userUuidSet.forEach(userUuid -> groupMap.put(userUuid, new HashSet<>()));
+        groupMemberDAO.lambdaQuery()
+                .select(GroupMemberDO::getGroupUuid, GroupMemberDO::getUserUuid)
+                .in(GroupMemberDO::getUserUuid, userUuidSet)
+                .list()
+                .forEach(groupMemberDO -> groupMap.get(groupMemberDO.getUserUuid()).add(groupMemberDO.getGroupUuid()));
+        groupDAO.lambdaQuery()
+                .select(GroupDO::getGroupUuid, GroupDO::getMaster)
+                .in(GroupDO::getMaster, userUuidSet)
+                .list()
+                .forEach(groupDO -> groupMap.get(groupDO.getMaster()).add(groupDO.getGroupUuid()));
+        Map<String, Set<String>> result = new HashMap<>();
+        groupMap.forEach((userUuid, groupSet) -> result.put(userUuid, Set.copyOf(groupSet)));
+        return result;
+    }
+
+    /**
+     * 驻留用户UUID
+     * <p>
+     * 同一用户在进程内始终对应同一编号，编号从 0 开始递增分配。
+     *
+     * @param userUuid 用户UUID
+     * @return 用户编号
+     */
+    private int intern(@NotNull String userUuid) {
+        Integer id = idMap.get(userUuid);
+        return id != null ? id : idMap.computeIfAbsent(userUuid, key -> nextId.getAndIncrement());
+    }
+
+    /**
+     * 构建小组权限
+     * <p>
+     * 成员按编号排序并去重，成员UUID数组与编号数组一一对应。
+     *
+     * @param groupUuid   小组UUID
+     * @param master      组长
+     * @param userAbleAdd 是否允许成员添加日程
+     * @param memberList  成员UUID
+     * @return 小组权限
+     */
+    @NotNull
+    private GroupAccess build(String groupUuid, String master, boolean userAbleAdd, @NotNull Collection<String> memberList) {
+        TreeMap<Integer, String> sorted = new TreeMap<>();
+        memberList.forEach(userUuid -> sorted.put(this.intern(userUuid), userUuid));
+        int[] memberIds = sorted.keySet().stream().mapToInt(Integer::intValue).toArray();
+        String[] memberUuids = sorted.values().toArray(EMPTY_UUIDS);
+        return new GroupAccess(groupUuid, master, userAbleAdd, memberIds, memberUuids);
+    }
+
+    /**
+     * 小组权限
+     * <p>
+     * 不可变对象，变更时整体替换。
+     */
+    @AllArgsConstructor
+    public class GroupAccess {
+        @Getter
+        private final String groupUuid;
+        @Getter
+        private final String master;
+        @Getter
+        private final boolean userAbleAdd;
+        private final int[] memberIds;
+        private final String[] memberUuids;
+
+        /**
+         * 是否为组长
+         *
+         * @param userUuid 用户UUID
+         * @return 是否为组长
+         */
+        public boolean isMaster(String userUuid) {
+            return master.equals(userUuid);
+        }
+
+        /**
+         * 是否为成员
+         * <p>
+         * 只判断成员关系，不包含组长。
+         *
+         * @param userUuid 用户UUID
+         * @return 是否为成员
+         */
+        public boolean isMember(String userUuid) {
+            Integer id = userUuid == null ? null : idMap.get(userUuid);
+            return id != null && Arrays.binarySearch(memberIds, id) >= 0;
+        }
+
+        /**
+         * 是否可以访问
+         *
+         * @param userUuid 用户UUID
+         * @return 是否为组长或成员
+         */
+        public boolean canAccess(String userUuid) {
+            return this.isMaster(userUuid) || this.isMember(userUuid);
+        }
+
+        /**
+         * 获取成员与组长
+         *
+         * @return 用户UUID列表，组长在首位
+         */
+        @NotNull
+        public List<String> getUserUuids() {
+            List<String> userList = new ArrayList<>(memberIds.length + 1);
+            userList.add(master);
+            for (String userUuid : memberUuids) {
+                if (!userUuid.equals(master)) {
+                    userList.add(userUuid);
+                }
+            }
+            return userList;
+        }
+    }
+}
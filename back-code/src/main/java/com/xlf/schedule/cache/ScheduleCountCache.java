@@ -0,0 +1,119 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.xlf.schedule.util.TransactionUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 日程数量缓存
+ * <p>
+ * 该类用于按用户、搜索关键字缓存日程列表的近似总数，使游标分页在需要总数时不必每页执行 {@code count(*)}；
+ * 每个用户最多保留配置数量的关键字，超出时淘汰最久未使用的关键字；
+ * 条目写入后在配置的秒数内有效，用户自己的日程增删会在事务提交后主动失效，其余变化在过期后体现；
+ * 命中率等指标通过 {@code cache.*{cache=schedule_count}} 暴露；
+ * 该类使用 {@link Component} 注解标记;
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Slf4j
+@Component
+public class ScheduleCountCache {
+    private final Cache<String, Map<String, Long>> cache;
+    private final int maximumFilters;
+
+    public ScheduleCountCache(@NotNull Environment env, MeterRegistry meterRegistry) {
+        long maximumSize = env.getProperty("schedule.count-cache.maximum-size", Long.class, 10000L);
+        long expireSeconds = env.getProperty("schedule.count-cache.expire-after-write-seconds", Long.class, 60L);
+        this.maximumFilters = env.getProperty("schedule.count-cache.maximum-filters-per-user", Integer.class, 32);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "schedule_count");
+        log.info("[INIT] 日程数量缓存初始化 | 最大用户数: {} | 每用户最大关键字数: {}", maximumSize, maximumFilters);
+    }
+
+    /**
+     * 获取数量
+     * <p>
+     * 该方法用于获取用户在指定搜索关键字下的日程数量，未命中时调用 {@code counter} 统计并缓存。
+     *
+     * @param userUuid 用户UUID
+     * @param search   搜索关键字
+     * @param counter  数量统计器
+     * @return 日程数量
+     */
+    public long get(@NotNull String userUuid, @NotNull String search, @NotNull LongSupplier counter) {
+        Map<String, Long> counts = cache.get(userUuid, key -> Collections.synchronizedMap(new FilterMap(maximumFilters)));
+        Long count = counts.get(search);
+        if (count == null) {
+            // 统计在锁外执行，同一用户的不同关键字互不阻塞
+            count = counter.getAsLong();
+            counts.put(search, count);
+        }
+        return count;
+    }
+
+    /**
+     * 失效用户
+     *
+     * @param userUuid 用户UUID
+     */
+    public void invalidateUser(String userUuid) {
+        if (userUuid != null) {
+            TransactionUtil.afterCommit(() -> cache.invalidate(userUuid));
+        }
+    }
+
+    /**
+     * 按访问顺序淘汰的关键字映射
+     */
+    private static class FilterMap extends LinkedHashMap<String, Long> {
+        private final int maximumFilters;
+
+        private FilterMap(int maximumFilters) {
+            super(16, 0.75f, true);
+            this.maximumFilters = maximumFilters;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return this.size() > maximumFilters;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.xlf.schedule.util.TimelineUtil;
+import com.xlf.schedule.util.TransactionUtil;
+import com.xlf.utility.ErrorCode;
+import com.xlf.utility.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 日程优先级视图缓存
+ * <p>
+ * 该类用于按用户、时间线缓存日程优先级列表的响应体（已序列化的字节）；
+ * 每条视图记录所属周期的开始日期，跨越日、周、月、年边界后自动视为未命中；
+ * 日程增删改与小组成员变更时，需要失效所有受影响用户的视图，事务中的失效在提交后执行；
+ * 失效会整体替换用户的视图容器，正在计算中的旧结果只会写入已被丢弃的容器，不会覆盖新数据；
+ * 命中率等指标通过 {@code cache.*{cache=schedule_priority}} 暴露；
+ * 该类使用 {@link Component} 注解标记;
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Slf4j
+@Component
+public class SchedulePriorityCache {
+    private final Cache<String, UserViews> cache;
+    private final ObjectMapper objectMapper;
+
+    public SchedulePriorityCache(@NotNull Environment env, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        long maximumSize = env.getProperty("schedule.priority-cache.maximum-size", Long.class, 10000L);
+        long expireMinutes = env.getProperty("schedule.priority-cache.expire-after-access-minutes", Long.class, 30L);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "schedule_priority");
+        log.info("[INIT] 日程优先级视图缓存初始化 | 最大用户数: {}", maximumSize);
+    }
+
+    /**
+     * 获取视图
+     * <p>
+     * 该方法用于获取用户在当前周期的优先级视图响应体，未命中时调用 {@code loader} 生成响应对象并序列化后缓存。
+     *
+     * @param userUuid 用户UUID
+     * @param timeline 时间线
+     * @param loader   响应对象生成器
+     * @return 序列化后的响应体
+     */
+    public byte[] get(@NotNull String userUuid, @NotNull String timeline, @NotNull Supplier<?> loader) {
+        LocalDate periodStart = TimelineUtil.getPeriodStart(timeline, LocalDate.now());
+        UserViews userViews = cache.get(userUuid, key -> new UserViews());
+        View view = userViews.getViews().get(timeline);
+        if (view != null && view.getPeriodStart().equals(periodStart)) {
+            return view.getBody();
+        }
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(loader.get());
+            userViews.getViews().put(timeline, new View(periodStart, body));
+            return body;
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("响应序列化失败: " + e.getMessage(), ErrorCode.SERVER_INTERNAL_ERROR);
+        }
+    }
+
+    /**
+     * 失效用户
+     *
+     * @param userUuid 用户UUID
+     */
+    public void invalidateUser(String userUuid) {
+        if (userUuid != null) {
+            TransactionUtil.afterCommit(() -> cache.invalidate(userUuid));
+        }
+    }
+
+    /**
+     * 失效多个用户
+     *
+     * @param userUuidList 用户UUID列表
+     */
+    public void invalidateUsers(@NotNull Collection<String> userUuidList) {
+        List<String> userList = userUuidList.stream().filter(Objects::nonNull).toList();
+        TransactionUtil.afterCommit(() -> cache.invalidateAll(userList));
+    }
+
+    /**
+     * 用户视图容器（时间线 -> 视图）
+     */
+    @Getter
+    private static class UserViews {
+        private final Map<String, View> views = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 视图
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class View {
+        private final LocalDate periodStart;
+        private final byte[] body;
+    }
+}
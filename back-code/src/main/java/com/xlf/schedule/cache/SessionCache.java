@@ -0,0 +1,200 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.xlf.schedule.model.dto.UserDTO;
+import com.xlf.schedule.util.TransactionUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 会话缓存
+ * <p>
+ * 该类用于缓存令牌到用户信息的解析结果，避免每次请求都查询 {@code xf_token}、{@code xf_user}、{@code xf_role}；
+ * 缓存条目在令牌的 {@code expired_at} 到期，同时不超过配置的最大存活时间；
+ * 令牌删除、用户信息变更时需要主动失效对应条目，处于事务中的失效在事务提交后执行，避免提交前的请求以旧数据重新写入缓存；
+ * 另以用户UUID 索引其缓存中的令牌，按用户失效时只处理该用户的条目，条目过期或被淘汰时同步移出索引；
+ * 命中率等指标通过 {@code cache.*{cache=session}} 暴露；
+ * 该类使用 {@link Component} 注解标记;
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Slf4j
+@Component
+public class SessionCache {
+    private final Cache<String, CachedSession> cache;
+    /**
+     * 用户索引（用户UUID -> 令牌）
+     */
+    private final Map<String, Set<String>> userTokens = new ConcurrentHashMap<>();
+
+    public SessionCache(@NotNull Environment env, MeterRegistry meterRegistry) {
+        long maximumSize = env.getProperty("schedule.session-cache.maximum-size", Long.class, 10000L);
+        long maxTtlNanos = TimeUnit.MINUTES.toNanos(env.getProperty("schedule.session-cache.max-ttl-minutes", Long.class, 30L));
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, CachedSession>() {
+                    @Override
+                    public long expireAfterCreate(@NotNull String key, @NotNull CachedSession value, long currentTime) {
+                        long remain = TimeUnit.MILLISECONDS.toNanos(value.getExpiredAt() - System.currentTimeMillis());
+                        return Math.max(0, Math.min(remain, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(@NotNull String key, @NotNull CachedSession value, long currentTime, long currentDuration) {
+                        return this.expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(@NotNull String key, @NotNull CachedSession value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .evictionListener((String token, CachedSession session, RemovalCause cause) -> {
+                    if (token != null && session != null) {
+                        this.unindex(session.getUser().getUuid(), token);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "session");
+        log.info("[INIT] 会话缓存初始化 | 最大条目: {}", maximumSize);
+    }
+
+    /**
+     * 获取会话
+     * <p>
+     * 该方法用于根据令牌获取已解析的用户信息；
+     * 返回的是缓存数据的副本，调用方修改不会影响缓存。
+     *
+     * @param token 令牌
+     * @return {@link UserDTO} 用户信息，未命中返回 {@code null}
+     */
+    public UserDTO get(String token) {
+        CachedSession session = cache.getIfPresent(token);
+        if (session == null) {
+            return null;
+        }
+        UserDTO userDTO = new UserDTO();
+        BeanUtils.copyProperties(session.getUser(), userDTO);
+        return userDTO;
+    }
+
+    /**
+     * 写入会话
+     *
+     * @param token     令牌
+     * @param expiredAt 令牌过期时间（毫秒）
+     * @param userDTO   用户信息
+     */
+    public void put(String token, long expiredAt, UserDTO userDTO) {
+        UserDTO copy = new UserDTO();
+        BeanUtils.copyProperties(userDTO, copy);
+        cache.put(token, new CachedSession(expiredAt, copy));
+        userTokens.computeIfAbsent(copy.getUuid(), key -> ConcurrentHashMap.newKeySet()).add(token);
+    }
+
+    /**
+     * 失效令牌
+     *
+     * @param token 令牌
+     */
+    public void invalidate(String token) {
+        if (token != null) {
+            TransactionUtil.afterCommit(() -> {
+                CachedSession session = cache.asMap().remove(token);
+                if (session != null) {
+                    this.unindex(session.getUser().getUuid(), token);
+                }
+            });
+        }
+    }
+
+    /**
+     * 失效用户
+     * <p>
+     * 该方法用于失效指定用户的所有会话，用于用户信息、状态或密码变更之后；
+     * 通过用户索引取得该用户的令牌，不遍历整个缓存。
+     *
+     * @param userUuid 用户UUID
+     */
+    public void invalidateUser(String userUuid) {
+        if (userUuid != null) {
+            TransactionUtil.afterCommit(() -> {
+                Set<String> tokenSet = userTokens.remove(userUuid);
+                if (tokenSet != null) {
+                    cache.invalidateAll(tokenSet);
+                }
+            });
+        }
+    }
+
+    /**
+     * 失效所有会话
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        userTokens.clear();
+    }
+
+    /**
+     * 移出用户索引
+     *
+     * @param userUuid 用户UUID
+     * @param token    令牌
+     */
+    private void unindex(String userUuid, @NotNull String token) {
+        if (userUuid != null) {
+            userTokens.computeIfPresent(userUuid, (key, tokenSet) -> {
+                tokenSet.remove(token);
+                return tokenSet.isEmpty() ? null : tokenSet;
+            });
+        }
+    }
+
+    /**
+     * 缓存会话
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class CachedSession {
+        private final long expiredAt;
+        private final UserDTO user;
+    }
+}
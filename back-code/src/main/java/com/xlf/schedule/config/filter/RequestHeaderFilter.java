@@ -50,7 +50,7 @@ public class RequestHeaderFilter extends OncePerRequestFilter {
             @NotNull FilterChain filterChain
     ) throws ServletException, IOException {
         String[] noMatchUrls = {"/favicon.ico"};
-        boolean isMatch = false;
+        boolean isMatch = request.getRequestURI().startsWith("/api/v1/calendar/feed/");
         for (String noMatchUrl : noMatchUrls) {
             if (request.getRequestURI().contains(noMatchUrl)) {
                 isMatch = true;
@@ -0,0 +1,84 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.config.handler;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.Array;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 字符串列表类型处理器
+ * <p>
+ * 该类用于在 {@link List}&lt;{@link String}&gt; 与 PostgreSQL {@code text[]} 之间转换，标签等字段直接以数组读写，不再经过 JSON 序列化；
+ * 该类不作为 {@link List} 的全局处理器注册：实体字段通过 {@code @TableField(typeHandler = ...)} 指定，
+ * 自定义查询的数组参数显式声明 {@code typeHandler}，返回实体的自定义查询通过 {@code @ResultMap("mybatis-plus_实体名")} 复用实体的结果映射;
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+public class StringListTypeHandler extends BaseTypeHandler<List<String>> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, List<String> parameter, JdbcType jdbcType) throws SQLException {
+        ps.setArray(i, ps.getConnection().createArrayOf("text", parameter.toArray()));
+    }
+
+    @Override
+    public List<String> getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return this.toList(rs.getArray(columnName));
+    }
+
+    @Override
+    public List<String> getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return this.toList(rs.getArray(columnIndex));
+    }
+
+    @Override
+    public List<String> getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return this.toList(cs.getArray(columnIndex));
+    }
+
+    /**
+     * 转换数组
+     *
+     * @param array 数据库数组
+     * @return 字符串列表，数据库为 {@code null} 时返回 {@code null}
+     */
+    private List<String> toList(Array array) throws SQLException {
+        if (array == null) {
+            return null;
+        }
+        try {
+            return new ArrayList<>(Arrays.asList((String[]) array.getArray()));
+        } finally {
+            array.free();
+        }
+    }
+}
@@ -30,6 +30,7 @@ import com.xlf.schedule.dao.RoleDAO;
 import com.xlf.schedule.dao.TableDAO;
 import com.xlf.schedule.model.entity.ClassTimeMarketDO;
 import com.xlf.schedule.model.vo.ClassTimeVO;
+import com.xlf.schedule.service.RoleService;
 import com.xlf.utility.util.UuidUtil;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -59,6 +60,7 @@ public class Initialize {
     private final TableDAO tableDAO;
     private final InfoDAO infoDAO;
     private final RoleDAO roleDAO;
+    private final RoleService roleService;
     private final JdbcTemplate jdbcTemplate;
     private final Environment environment;
 
@@ -124,6 +126,17 @@ public class Initialize {
         prepare.checkTable("xf_class_grade");
         prepare.checkTable("xf_class");
         prepare.checkTable("xf_schedule");
+        prepare.checkTable("xf_calendar");
+
+        // 已存在的表补齐结构
+        prepare.applyPatch("xf_token_v1");
+        prepare.applyPatch("xf_schedule_v1");
+        prepare.applyPatch("xf_tags_v1");
+        prepare.applyPatch("xf_search_v1");
+        prepare.applyPatch("xf_class_v1");
+        prepare.applyPatch("xf_group_v1");
+        prepare.applyPatch("xf_user_v1");
+        prepare.applyPatch("xf_friend_v1");
     }
 
     /**
@@ -227,6 +240,7 @@ public class Initialize {
 
         prepare.initRole("ADMIN", "管理员", "拥有软件的所有权限，包括用户管理、角色管理、日志管理、信息管理等。");
         prepare.initRole("USER", "用户", "拥有软件的部分权限，包括日志查看、信息查看等。");
+        roleService.refreshRoles();
     }
 
     /**
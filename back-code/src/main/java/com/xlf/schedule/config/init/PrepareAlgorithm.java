@@ -37,6 +37,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 准备算法
@@ -80,6 +82,54 @@ public class PrepareAlgorithm {
         }
     }
 
+    /**
+     * 应用补丁
+     * <p>
+     * 该方法用于对已存在的表执行结构补丁（如新增列、索引）；补丁语句需自身保证幂等（{@code if not exists}），每次启动都会执行。
+     *
+     * @param patchName 补丁名（{@code /templates/sql/patch/} 下的文件名，不含扩展名）
+     */
+    public void applyPatch(String patchName) {
+        ClassPathResource classPathResource = new ClassPathResource("/templates/sql/patch/" + patchName + ".sql");
+        try {
+            String getSql = FileCopyUtils.copyToString(new InputStreamReader(classPathResource.getInputStream(), StandardCharsets.UTF_8));
+            getSql = getSql.replaceAll("(?s)/\\*.*?\\*/", "");
+            for (String sql : this.splitStatements(getSql)) {
+                if (!sql.replaceAll("(?m)^\\s*--.*$", "").isBlank()) {
+                    jdbcTemplate.execute(sql);
+                }
+            }
+            log.debug("[INIT] 应用补丁 | {}", patchName);
+        } catch (IOException e) {
+            log.error("[INIT] 读取补丁文件失败 | {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 拆分语句
+     * <p>
+     * 该方法用于按 {@code ;} 拆分 SQL 脚本，{@code $$} 包裹的函数体、{@code do} 块内部的分号不作为语句结束。
+     *
+     * @param script SQL 脚本
+     * @return 语句列表
+     */
+    private List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        boolean inDollarQuote = false;
+        int start = 0;
+        for (int i = 0; i < script.length(); i++) {
+            if (script.startsWith("$$", i)) {
+                inDollarQuote = !inDollarQuote;
+                i++;
+            } else if (script.charAt(i) == ';' && !inDollarQuote) {
+                statements.add(script.substring(start, i));
+                start = i + 1;
+            }
+        }
+        statements.add(script.substring(start));
+        return statements;
+    }
+
     /**
      * 检查信息表字段
      * <p>
@@ -38,4 +38,7 @@ public class PatternConstant {
     public static final String UUID = "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[1-5][0-9a-fA-F]{3}-[89abAB][0-9a-fA-F]{3}-[0-9a-fA-F]{12}$";
     public static final String NO_DASH_UUID = "^[a-f0-9]{32}$";
     public static final String DATE_FORMAT = "^\\d{4}-\\d{2}-\\d{2}$";
+    public static final String PHONE = "^(13\\d|14[01456879]|15[0-35-9]|16[2567]|17[0-8]|18\\d|19[0-35-9])\\d{8}$";
+    public static final String EMAIL = "^[\\w.%+-]+@[\\w.-]+\\.[A-Za-z]{2,}$";
+    public static final String USERNAME = "^[a-zA-Z0-9_-]{4,36}$";
 }
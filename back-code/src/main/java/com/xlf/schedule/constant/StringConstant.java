@@ -54,6 +54,8 @@ public class StringConstant {
     public static final String GROUP_UUID_ILLEGAL = "小组标识符有误";
     public static final String DATE_START = " 00:00:00";
     public static final String DATE_END = " 23:59:59";
+    public static final String REQUEST_CURRENT_USER = "schedule.request.current-user";
+    public static final String CURSOR_ILLEGAL = "分页游标非法";
 
     private StringConstant() {
         throw new IllegalStateException("Utility class");
@@ -20,6 +20,7 @@
 
 package com.xlf.schedule.controller.v1;
 
+import com.xlf.schedule.constant.PatternConstant;
 import com.xlf.schedule.model.dto.AuthUserDTO;
 import com.xlf.schedule.model.dto.UserDTO;
 import com.xlf.schedule.model.vo.AuthChangePasswordVO;
@@ -71,22 +72,16 @@ public class AuthController {
      * @return {@link AuthLoginVO} 登录信息
      */
     @PostMapping("/login")
-    @Transactional
     public ResponseEntity<BaseResponse<AuthUserDTO>> login(
             @Validated @RequestBody AuthLoginVO authLoginVO,
             HttpServletRequest request
     ) {
         // 检查用户名输入是否有效
-        if (Pattern.matches("^(13\\d|14[01456879]|15[0-35-9]|16[2567]|17[0-8]|18\\d|19[0-35-9])\\d{8}$", authLoginVO.getUser())
-                || Pattern.matches("^[\\w.%+-]+@[\\w.-]+\\.[A-Za-z]{2,}$", authLoginVO.getUser())
-                || Pattern.matches("^[a-zA-Z0-9_-]{4,36}$", authLoginVO.getUser())
+        if (Pattern.matches(PatternConstant.PHONE, authLoginVO.getUser())
+                || Pattern.matches(PatternConstant.EMAIL, authLoginVO.getUser())
+                || Pattern.matches(PatternConstant.USERNAME, authLoginVO.getUser())
         ) {
-            UserDTO getUserDTO = userService.getUserForThreeType(authLoginVO.getUser());
-            authService.checkUserAndPassword(getUserDTO.getUuid(), authLoginVO.getPassword(), request);
-            String getUserToken = tokenService.createToken(getUserDTO.getUuid(), 12L, request);
-            AuthUserDTO authUserDTO = new AuthUserDTO()
-                    .setUser(getUserDTO)
-                    .setToken(getUserToken);
+            AuthUserDTO authUserDTO = authService.login(authLoginVO.getUser(), authLoginVO.getPassword(), request);
             return ResultUtil.success("登录成功", authUserDTO);
         } else {
             throw new BusinessException("用户名格式不正确", ErrorCode.BODY_ERROR);
@@ -108,7 +103,7 @@ public class AuthController {
     ) {
         String getUserUuid = authService.registerUser(authRegisterVO);
         UserDTO getUserDTO = userService.getUserByUuid(getUserUuid);
-        String getUserToken = tokenService.createToken(getUserUuid, 12L, request);
+        String getUserToken = tokenService.createToken(getUserUuid, getUserDTO.getRole(), 12L, request);
         AuthUserDTO authUserDTO = new AuthUserDTO()
                 .setUser(getUserDTO)
                 .setToken(getUserToken);
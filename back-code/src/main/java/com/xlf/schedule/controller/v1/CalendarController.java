@@ -0,0 +1,121 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.controller.v1;
+
+import com.xlf.schedule.annotations.CurrentUser;
+import com.xlf.schedule.model.dto.UserDTO;
+import com.xlf.schedule.model.entity.CalendarDO;
+import com.xlf.schedule.service.CalendarService;
+import com.xlf.utility.BaseResponse;
+import com.xlf.utility.ErrorCode;
+import com.xlf.utility.ResultUtil;
+import com.xlf.utility.annotations.HasAuthorize;
+import com.xlf.utility.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.regex.Pattern;
+
+/**
+ * 日历订阅控制器
+ * <p>
+ * 该类是日历订阅控制器类，用于实现 iCalendar 订阅相关的控制器方法；
+ * 日历客户端无法携带授权头，订阅地址通过路径中的订阅密钥鉴权。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/calendar")
+@RequiredArgsConstructor
+public class CalendarController {
+    private static final Pattern FEED_KEY = Pattern.compile("^[0-9a-f]{64}$");
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    private final CalendarService calendarService;
+
+    /**
+     * 生成订阅密钥
+     * <p>
+     * 该方法用于生成订阅密钥，重复调用将使原有订阅地址失效
+     *
+     * @return 订阅密钥
+     */
+    @HasAuthorize
+    @PostMapping("/feed-key")
+    public ResponseEntity<BaseResponse<String>> createFeedKey(@CurrentUser UserDTO userDTO) {
+        return ResultUtil.success("订阅密钥已生成", calendarService.createFeedKey(userDTO));
+    }
+
+    /**
+     * 删除订阅密钥
+     * <p>
+     * 该方法用于关闭日历订阅
+     *
+     * @return 删除结果
+     */
+    @HasAuthorize
+    @DeleteMapping("/feed-key")
+    public ResponseEntity<BaseResponse<Void>> deleteFeedKey(@CurrentUser UserDTO userDTO) {
+        calendarService.deleteFeedKey(userDTO);
+        return ResultUtil.success("日历订阅已关闭");
+    }
+
+    /**
+     * 获取日历订阅
+     * <p>
+     * 该方法用于输出 iCalendar 订阅内容；请求头 {@code If-None-Match} 与当前版本一致时返回 {@code 304}，
+     * 否则以流的方式逐行输出日历。
+     *
+     * @param feedKey     订阅密钥
+     * @param ifNoneMatch 客户端缓存的实体标签
+     * @return 日历内容
+     */
+    @GetMapping("/feed/{feed_key}.ics")
+    public ResponseEntity<StreamingResponseBody> getFeed(
+            @PathVariable("feed_key") String feedKey,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (!FEED_KEY.matcher(feedKey).matches()) {
+            throw new BusinessException("日历订阅不存在", ErrorCode.NOT_EXIST);
+        }
+        CalendarDO calendarDO = calendarService.getByFeedKey(feedKey);
+        String eTag = calendarService.getETag(calendarDO);
+        if (ifNoneMatch != null && ifNoneMatch.contains(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        String userUuid = calendarDO.getUserUuid();
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(outputStream -> calendarService.writeFeed(userUuid, outputStream));
+    }
+}
@@ -23,12 +23,14 @@ package com.xlf.schedule.controller.v1;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import com.xlf.schedule.annotations.CurrentUser;
 import com.xlf.schedule.constant.PatternConstant;
 import com.xlf.schedule.constant.StringConstant;
 import com.xlf.schedule.exception.lib.IllegalDataException;
 import com.xlf.schedule.model.CustomPage;
 import com.xlf.schedule.model.dto.ClassGradeDTO;
 import com.xlf.schedule.model.dto.ClassTimeDTO;
+import com.xlf.schedule.model.dto.ConflictDTO;
 import com.xlf.schedule.model.dto.UserDTO;
 import com.xlf.schedule.model.dto.json.ClassTimeAbleDTO;
 import com.xlf.schedule.model.entity.ClassTimeMarketDO;
@@ -36,13 +38,11 @@ import com.xlf.schedule.model.vo.ClassGradeVO;
 import com.xlf.schedule.model.vo.ClassTimeVO;
 import com.xlf.schedule.model.vo.ClassVO;
 import com.xlf.schedule.service.CurriculumService;
-import com.xlf.schedule.service.UserService;
 import com.xlf.schedule.util.CopyUtil;
 import com.xlf.utility.BaseResponse;
 import com.xlf.utility.ErrorCode;
 import com.xlf.utility.ResultUtil;
 import com.xlf.utility.annotations.HasAuthorize;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
@@ -73,7 +73,6 @@ import java.util.regex.Pattern;
 @RequestMapping("/api/v1/curriculum")
 @RequiredArgsConstructor
 public class CurriculumController {
-    private final UserService userService;
     private final CurriculumService curriculumService;
     private final Gson gson;
 
@@ -88,7 +87,7 @@ public class CurriculumController {
     @PostMapping("/grade")
     public ResponseEntity<BaseResponse<ClassGradeDTO>> createClassGrade(
             @RequestBody @Validated ClassGradeVO classGradeVO,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
         try {
             Date startTime = new Date(new SimpleDateFormat(StringConstant.DATE_TIMER).parse(classGradeVO.getSemesterBegin()).getTime());
@@ -100,7 +99,6 @@ public class CurriculumController {
                 log.debug(endTime.toString());
                 throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, "结束时间不能早于开始时间");
             }
-            UserDTO getUser = userService.getUserByToken(request);
             String classGradeUuid = curriculumService.createClassGrade(
                     classGradeVO.getGradeName(),
                     startTime,
@@ -126,12 +124,11 @@ public class CurriculumController {
     @DeleteMapping("/grade/{class_grade_uuid}")
     public ResponseEntity<BaseResponse<Void>> deleteClassGrade(
             @PathVariable("class_grade_uuid") String classGradeUuid,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, classGradeUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, StringConstant.CLASS_SCHEDULES_ILLEGAL);
         }
-        UserDTO getUser = userService.getUserByToken(request);
         curriculumService.deleteClassGrade(getUser, classGradeUuid);
         return ResultUtil.success("操作成功");
     }
@@ -148,13 +145,12 @@ public class CurriculumController {
     public ResponseEntity<BaseResponse<Void>> editClassGrade(
             @PathVariable("class_grade_uuid") String classGradeUuid,
             @RequestBody @Validated @NotNull ClassGradeVO classGradeVO,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, classGradeUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, StringConstant.CLASS_SCHEDULES_ILLEGAL);
         }
         try {
-            UserDTO getUser = userService.getUserByToken(request);
             if (classGradeVO.getSemesterEnd() != null) {
                 curriculumService.editClassGrade(
                         classGradeUuid,
@@ -191,12 +187,11 @@ public class CurriculumController {
     @GetMapping("/grade/{class_grade_uuid}")
     public ResponseEntity<BaseResponse<ClassGradeDTO>> getClassGrade(
             @PathVariable("class_grade_uuid") String classGradeUuid,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, classGradeUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, StringConstant.CLASS_SCHEDULES_ILLEGAL);
         }
-        UserDTO getUser = userService.getUserByToken(request);
         ClassGradeDTO classGrade = curriculumService.getClassGrade(getUser, classGradeUuid);
         return ResultUtil.success("操作成功", classGrade);
     }
@@ -213,9 +208,8 @@ public class CurriculumController {
     @PostMapping("/time")
     public ResponseEntity<BaseResponse<Void>> createClassTime(
             @RequestBody @Validated ClassTimeVO classTimeVO,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
-        UserDTO getUser = userService.getUserByToken(request);
         curriculumService.createClassTime(getUser, classTimeVO);
         return ResultUtil.success("操作成功");
     }
@@ -233,12 +227,11 @@ public class CurriculumController {
     public ResponseEntity<BaseResponse<Void>> editClassTime(
             @PathVariable("class_time_uuid") String classTimeUuid,
             @RequestBody @Validated ClassTimeVO classTimeVO,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, classTimeUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, "课程时间UUID非法");
         }
-        UserDTO getUser = userService.getUserByToken(request);
         curriculumService.editClassTime(getUser, classTimeUuid, classTimeVO);
         return ResultUtil.success("操作成功");
     }
@@ -255,12 +248,11 @@ public class CurriculumController {
     @DeleteMapping("/time/{class_time_uuid}")
     public ResponseEntity<BaseResponse<Void>> deleteClassTime(
             @PathVariable("class_time_uuid") String classTimeUuid,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, classTimeUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, "课程时间UUID非法");
         }
-        UserDTO getUser = userService.getUserByToken(request);
         curriculumService.deleteClassTime(getUser, classTimeUuid);
         return ResultUtil.success("操作成功");
     }
@@ -312,12 +304,11 @@ public class CurriculumController {
     @PostMapping("/my-time/{class_time_market_uuid}")
     public ResponseEntity<BaseResponse<Void>> addMyClassTime(
             @PathVariable("class_time_market_uuid") String classTimeMarketUuid,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, classTimeMarketUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, StringConstant.CLASS_SCHEDULES_TIME_MARKET);
         }
-        UserDTO getUser = userService.getUserByToken(request);
         curriculumService.addMyClassTime(getUser, classTimeMarketUuid);
         return ResultUtil.success("操作成功");
     }
@@ -333,12 +324,11 @@ public class CurriculumController {
     @DeleteMapping("/my-time/{class_time_market_uuid}")
     public ResponseEntity<BaseResponse<Void>> deleteMyClassTime(
             @PathVariable("class_time_market_uuid") String classTimeMarketUuid,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, classTimeMarketUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, StringConstant.CLASS_SCHEDULES_TIME_MARKET);
         }
-        UserDTO getUser = userService.getUserByToken(request);
         curriculumService.deleteMyClassTime(getUser, classTimeMarketUuid);
         return ResultUtil.success("操作成功");
     }
@@ -355,9 +345,8 @@ public class CurriculumController {
     public ResponseEntity<BaseResponse<CustomPage<ClassTimeDTO>>> getMyClassTimeList(
             @RequestParam(value = "page", defaultValue = "1") Integer page,
             @RequestParam(value = "size", defaultValue = "20") Integer size,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
-        UserDTO getUser = userService.getUserByToken(request);
         Page<ClassTimeMarketDO> myClassTimeList = curriculumService.getMyClassTimeList(getUser, page, size);
         return this.classTimeMarkCustomPage(myClassTimeList);
     }
@@ -373,13 +362,11 @@ public class CurriculumController {
     @GetMapping("/my-time/{class_time_market_uuid}")
     public ResponseEntity<BaseResponse<ClassTimeDTO>> getMyClassTime(
             @PathVariable("class_time_market_uuid") String classTimeMarketUuid,
-            @RequestHeader
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, classTimeMarketUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, StringConstant.CLASS_SCHEDULES_TIME_MARKET);
         }
-        UserDTO getUser = userService.getUserByToken(request);
         ClassTimeDTO myClassTime = curriculumService.getMyClassTime(getUser, classTimeMarketUuid);
         return ResultUtil.success("操作成功", myClassTime);
     }
@@ -395,7 +382,7 @@ public class CurriculumController {
     @PostMapping("/class")
     public ResponseEntity<BaseResponse<Void>> addClass(
             @RequestBody @Validated ClassVO classVO,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
         if (classVO.getStartTick() < 0) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, StringConstant.CLASS_TIME_START_TIME);
@@ -403,11 +390,33 @@ public class CurriculumController {
         if (classVO.getEndTick() < 0 || classVO.getEndTick() < classVO.getStartTick()) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, StringConstant.CLASS_TIME_END_TIME);
         }
-        UserDTO getUser = userService.getUserByToken(request);
         curriculumService.addClass(getUser, classVO);
         return ResultUtil.success("操作成功");
     }
 
+    /**
+     * 检查课程冲突
+     * <p>
+     * 用于在添加课程前查看所请求的各周次中与之重叠的已有课程。
+     *
+     * @return {@link ResponseEntity}<{@link BaseResponse}<{@link List}<{@link ConflictDTO}>>>
+     */
+    @HasAuthorize
+    @PostMapping("/class/conflict")
+    public ResponseEntity<BaseResponse<List<ConflictDTO>>> checkClassConflict(
+            @RequestBody @Validated ClassVO classVO,
+            @CurrentUser UserDTO getUser
+    ) {
+        if (classVO.getStartTick() < 0) {
+            throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, StringConstant.CLASS_TIME_START_TIME);
+        }
+        if (classVO.getEndTick() < 0 || classVO.getEndTick() < classVO.getStartTick()) {
+            throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, StringConstant.CLASS_TIME_END_TIME);
+        }
+        List<ConflictDTO> conflictList = curriculumService.checkClassConflict(getUser, classVO);
+        return ResultUtil.success(conflictList.isEmpty() ? "没有冲突" : "存在冲突", conflictList);
+    }
+
     /**
      * 移动课程
      * <p>
@@ -423,7 +432,8 @@ public class CurriculumController {
             @RequestParam(value = "start_tick", defaultValue = "0") Short startTick,
             @RequestParam(value = "end_tick", defaultValue = "0") Short endTick,
             @RequestParam(value = "day_tick", defaultValue = "0") Short dayTick,
-            @NotNull HttpServletRequest request
+            @RequestParam(value = "check_conflict", defaultValue = "false") Boolean checkConflict,
+            @CurrentUser UserDTO getUser
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, classUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, "课程UUID非法");
@@ -440,8 +450,7 @@ public class CurriculumController {
         if (dayTick < 0 || dayTick >= 7) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, "星期数非法");
         }
-        UserDTO getUser = userService.getUserByToken(request);
-        curriculumService.moveClass(getUser, classUuid, week, startTick, endTick, dayTick);
+        curriculumService.moveClass(getUser, classUuid, week, startTick, endTick, dayTick, checkConflict);
         return null;
     }
 
@@ -463,7 +472,7 @@ public class CurriculumController {
             @RequestParam(value = "start_tick", defaultValue = "0") Short startTick,
             @RequestParam(value = "end_tick", defaultValue = "0") Short endTick,
             @RequestParam(value = "day_tick", defaultValue = "0") Short dayTick,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, classGrade)) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, StringConstant.CLASS_SCHEDULES_ILLEGAL);
@@ -489,7 +498,6 @@ public class CurriculumController {
         if (dayTick < 0 || dayTick > 7) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, "星期数非法");
         }
-        UserDTO getUser = userService.getUserByToken(request);
         curriculumService.moveMutiClass(getUser, classGrade, className, originalDayTick, originalStartTick, originalEndTick, startTick, endTick, dayTick);
         return ResultUtil.success("操作成功");
     }
@@ -505,12 +513,11 @@ public class CurriculumController {
     @DeleteMapping("/class/{class_uuid}")
     public ResponseEntity<BaseResponse<Void>> deleteClass(
             @PathVariable("class_uuid") String classUuid,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, classUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, "课程UUID非法");
         }
-        UserDTO getUser = userService.getUserByToken(request);
         curriculumService.deleteClass(getUser, classUuid);
         return ResultUtil.success("操作成功");
     }
@@ -530,7 +537,7 @@ public class CurriculumController {
             @RequestParam(value = "original_start_tick", defaultValue = "0") Short originalStartTick,
             @RequestParam(value = "original_end_tick", defaultValue = "0") Short originalEndTick,
             @RequestParam(value = "original_day_tick", defaultValue = "0") Short originalDayTick,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO getUser
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, classGrade)) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, StringConstant.CLASS_SCHEDULES_ILLEGAL);
@@ -547,7 +554,6 @@ public class CurriculumController {
         if (originalDayTick < 0 || originalDayTick > 7) {
             throw new IllegalDataException(ErrorCode.BODY_ILLEGAL, "原始星期数非法");
         }
-        UserDTO getUser = userService.getUserByToken(request);
         curriculumService.deleteMutiClass(getUser, classGrade, className, originalDayTick, originalStartTick, originalEndTick);
         return ResultUtil.success("操作成功");
     }
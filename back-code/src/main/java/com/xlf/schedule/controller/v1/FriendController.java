@@ -20,24 +20,27 @@
 
 package com.xlf.schedule.controller.v1;
 
+import com.xlf.schedule.annotations.CurrentUser;
 import com.xlf.schedule.constant.PatternConstant;
 import com.xlf.schedule.constant.StringConstant;
 import com.xlf.schedule.exception.lib.IllegalDataException;
+import com.xlf.schedule.model.CursorPage;
+import com.xlf.schedule.model.dto.TimeSlotDTO;
 import com.xlf.schedule.model.dto.UserDTO;
 import com.xlf.schedule.model.dto.UserFriendDTO;
+import com.xlf.schedule.service.FreeBusyService;
 import com.xlf.schedule.service.FriendService;
-import com.xlf.schedule.service.UserService;
 import com.xlf.utility.BaseResponse;
 import com.xlf.utility.ErrorCode;
 import com.xlf.utility.ResultUtil;
 import com.xlf.utility.annotations.HasAuthorize;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jetbrains.annotations.NotNull;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -55,8 +58,8 @@ import java.util.regex.Pattern;
 @RequestMapping("/api/v1/friend")
 @RequiredArgsConstructor
 public class FriendController {
-    private final UserService userService;
     private final FriendService friendService;
+    private final FreeBusyService freeBusyService;
 
     /**
      * 添加好友
@@ -70,12 +73,11 @@ public class FriendController {
     public ResponseEntity<BaseResponse<Void>> addFriend(
             @RequestParam(value = "friend_uuid", defaultValue = "") String friendUuid,
             @RequestParam(value = "remark", defaultValue = "", required = false) String remark,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!Pattern.matches(PatternConstant.UUID, friendUuid)) {
             throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, StringConstant.USER_FORMAT_INCORRECT);
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         friendService.addFriend(userDTO, friendUuid, remark);
         return ResultUtil.success("好友申请已发送");
     }
@@ -91,12 +93,11 @@ public class FriendController {
     @DeleteMapping("/")
     public ResponseEntity<BaseResponse<Void>> deleteFriend(
             @RequestParam(value = "friend_uuid", defaultValue = "") String friendUuid,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!Pattern.matches(PatternConstant.UUID, friendUuid)) {
             throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, StringConstant.USER_FORMAT_INCORRECT);
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         friendService.deleteFriend(userDTO, friendUuid);
         return ResultUtil.success("好友已删除");
     }
@@ -114,12 +115,11 @@ public class FriendController {
             @RequestParam(value = "friend_uuid", defaultValue = "") String friendUuid,
             @RequestParam(value = "allow", defaultValue = "false") Boolean allow,
             @RequestParam(value = "remark", defaultValue = "", required = false) String remark,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!Pattern.matches(PatternConstant.UUID, friendUuid)) {
             throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, StringConstant.USER_FORMAT_INCORRECT);
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         friendService.allowFriend(userDTO, friendUuid, allow, remark);
         return ResultUtil.success("好友已添加");
     }
@@ -135,12 +135,11 @@ public class FriendController {
     @GetMapping("/search")
     public ResponseEntity<BaseResponse<List<UserFriendDTO>>> searchFriend(
             @RequestParam(value = "search", defaultValue = "") String search,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!Pattern.matches("^([0-9A-Za-z-_@]+)$", search)) {
             throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, StringConstant.SEARCH_CONDITION_ILLEGAL);
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         List<UserFriendDTO> userList = friendService.searchFriend(userDTO, search);
         return ResultUtil.success("搜索成功", userList);
     }
@@ -155,9 +154,8 @@ public class FriendController {
     @HasAuthorize
     @GetMapping("/list")
     public ResponseEntity<BaseResponse<List<UserFriendDTO>>> getFriendList(
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
-        UserDTO userDTO = userService.getUserByToken(request);
         List<UserFriendDTO> userList = friendService.getFriendList(userDTO);
         return ResultUtil.success("获取好友列表成功", userList);
     }
@@ -172,9 +170,8 @@ public class FriendController {
     @HasAuthorize
     @GetMapping("/application")
     public ResponseEntity<BaseResponse<List<UserFriendDTO>>> getFriendApplicationList(
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
-        UserDTO userDTO = userService.getUserByToken(request);
         List<UserFriendDTO> userList = friendService.getFriendApplicationList(userDTO);
         return ResultUtil.success("获取好友申请列表成功", userList);
     }
@@ -189,9 +186,8 @@ public class FriendController {
     @HasAuthorize
     @GetMapping("/pending")
     public ResponseEntity<BaseResponse<List<UserFriendDTO>>> getFriendPendingReviewList(
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
-        UserDTO userDTO = userService.getUserByToken(request);
         List<UserFriendDTO> userList = friendService.getFriendPendingReviewList(userDTO);
         return ResultUtil.success("获取好友待审核列表成功", userList);
     }
@@ -206,10 +202,59 @@ public class FriendController {
     @HasAuthorize
     @GetMapping("/denied")
     public ResponseEntity<BaseResponse<List<UserFriendDTO>>> getFriendDeniedList(
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
-        UserDTO userDTO = userService.getUserByToken(request);
         List<UserFriendDTO> userList = friendService.getFriendDeniedList(userDTO);
         return ResultUtil.success("获取好友拒绝列表成功", userList);
     }
+
+    /**
+     * 按游标获取好友相关列表
+     * <p>
+     * 该方法用于以键集分页的方式获取好友（{@code friend}）、好友申请（{@code application}）、待审核（{@code pending}）
+     * 或已拒绝（{@code denied}）列表；将上一页返回的 {@code next_cursor} 原样传入即可获取下一页
+     *
+     * @return 获取好友列表结果
+     */
+    @HasAuthorize
+    @GetMapping("/list/cursor")
+    public ResponseEntity<BaseResponse<CursorPage<UserFriendDTO>>> getFriendListByCursor(
+            @RequestParam(value = "type", defaultValue = "friend") String type,
+            @RequestParam(value = "cursor", defaultValue = "") String cursor,
+            @RequestParam(value = "size", defaultValue = "20") Integer size,
+            @CurrentUser UserDTO userDTO
+    ) {
+        CursorPage<UserFriendDTO> cursorPage = friendService.getFriendListByCursor(userDTO, type, cursor, size);
+        return ResultUtil.success("获取好友列表成功", cursorPage);
+    }
+
+    /**
+     * 获取好友忙碌时间
+     * <p>
+     * 该方法用于获取好友在日期范围内的忙碌时间段，不返回课程与日程的具体内容
+     *
+     * @return 忙碌时间段
+     */
+    @HasAuthorize
+    @GetMapping("/busy")
+    public ResponseEntity<BaseResponse<List<TimeSlotDTO>>> getFriendBusy(
+            @RequestParam(value = "friend_uuid", defaultValue = "") String friendUuid,
+            @RequestParam("start_date") String startDate,
+            @RequestParam("end_date") String endDate,
+            @CurrentUser UserDTO userDTO
+    ) {
+        if (!Pattern.matches(PatternConstant.UUID, friendUuid)) {
+            throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, StringConstant.USER_FORMAT_INCORRECT);
+        }
+        if (!Pattern.matches(PatternConstant.DATE_FORMAT, startDate) || !Pattern.matches(PatternConstant.DATE_FORMAT, endDate)) {
+            throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, "日期格式应为 yyyy-MM-dd");
+        }
+        try {
+            List<TimeSlotDTO> busyList = freeBusyService.getFriendBusy(
+                    userDTO, friendUuid, LocalDate.parse(startDate), LocalDate.parse(endDate));
+            return ResultUtil.success("获取成功", busyList);
+        } catch (DateTimeParseException e) {
+            throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, "日期格式有误");
+        }
+    }
 }
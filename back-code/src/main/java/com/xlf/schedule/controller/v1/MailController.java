@@ -20,18 +20,17 @@
 
 package com.xlf.schedule.controller.v1;
 
+import com.xlf.schedule.annotations.CurrentUser;
 import com.xlf.schedule.model.dto.UserDTO;
 import com.xlf.schedule.model.entity.MailCodeDO;
 import com.xlf.schedule.model.vo.MailSendVO;
 import com.xlf.schedule.service.MailService;
-import com.xlf.schedule.service.UserService;
 import com.xlf.utility.BaseResponse;
 import com.xlf.utility.ErrorCode;
 import com.xlf.utility.ResultUtil;
 import com.xlf.utility.annotations.HasAuthorize;
 import com.xlf.utility.exception.BusinessException;
 import com.xlf.utility.util.RandomUtil;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.http.ResponseEntity;
@@ -54,7 +53,6 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class MailController {
     private final MailService mailService;
-    private final UserService userService;
 
     /**
      * 发送邮件
@@ -91,8 +89,7 @@ public class MailController {
      */
     @HasAuthorize
     @GetMapping("/verify")
-    public ResponseEntity<BaseResponse<Boolean>> isVerify(HttpServletRequest request) {
-        UserDTO getUser = userService.getUserByToken(request);
+    public ResponseEntity<BaseResponse<Boolean>> isVerify(@CurrentUser UserDTO getUser) {
         assert getUser != null;
         return ResultUtil.success("获取成功", getUser.getEmailVerify());
     }
@@ -21,37 +21,50 @@
 package com.xlf.schedule.controller.v1;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
-import com.google.gson.Gson;
+import com.xlf.schedule.annotations.CurrentUser;
+import com.xlf.schedule.cache.SchedulePriorityCache;
 import com.xlf.schedule.constant.PatternConstant;
 import com.xlf.schedule.constant.StringConstant;
 import com.xlf.schedule.exception.lib.IllegalDataException;
+import com.xlf.schedule.model.CursorPage;
 import com.xlf.schedule.model.CustomPage;
+import com.xlf.schedule.model.dto.ConflictDTO;
 import com.xlf.schedule.model.dto.GroupDTO;
+import com.xlf.schedule.model.dto.GroupMemberImportDTO;
+import com.xlf.schedule.model.dto.ScheduleBatchDTO;
 import com.xlf.schedule.model.dto.ScheduleDTO;
-import com.xlf.schedule.model.dto.SchedulePriorityDTO;
+import com.xlf.schedule.model.dto.ScheduleImportDTO;
+import com.xlf.schedule.model.dto.TagFacetDTO;
+import com.xlf.schedule.model.dto.TimeSlotDTO;
 import com.xlf.schedule.model.dto.UserDTO;
 import com.xlf.schedule.model.entity.GroupDO;
 import com.xlf.schedule.model.entity.ScheduleDO;
 import com.xlf.schedule.model.vo.GroupMemberAddVO;
 import com.xlf.schedule.model.vo.GroupVO;
 import com.xlf.schedule.model.vo.ScheduleAddVO;
+import com.xlf.schedule.model.vo.ScheduleBatchVO;
+import com.xlf.schedule.model.vo.ScheduleConflictVO;
 import com.xlf.schedule.model.vo.ScheduleEditVO;
+import com.xlf.schedule.service.FreeBusyService;
 import com.xlf.schedule.service.ScheduleService;
-import com.xlf.schedule.service.UserService;
 import com.xlf.schedule.util.CopyUtil;
 import com.xlf.utility.BaseResponse;
 import com.xlf.utility.ErrorCode;
 import com.xlf.utility.ResultUtil;
 import com.xlf.utility.annotations.HasAuthorize;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jetbrains.annotations.NotNull;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -70,9 +83,9 @@ import java.util.regex.Pattern;
 @RequestMapping("/api/v1/schedule")
 @RequiredArgsConstructor
 public class ScheduleController {
-    private final UserService userService;
     private final ScheduleService scheduleService;
-    private final Gson gson;
+    private final FreeBusyService freeBusyService;
+    private final SchedulePriorityCache schedulePriorityCache;
 
     /**
      * 创建日程小组
@@ -85,9 +98,8 @@ public class ScheduleController {
     @PostMapping("/group")
     public ResponseEntity<BaseResponse<Void>> createGroup(
             @RequestBody @Validated GroupVO groupVO,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
-        UserDTO userDTO = userService.getUserByToken(request);
         String groupUuid = scheduleService.createGroup(userDTO, groupVO);
         scheduleService.addGroupMember(userDTO, groupUuid, userDTO.getUuid());
         return ResultUtil.success("创建小组成功");
@@ -105,12 +117,11 @@ public class ScheduleController {
     public ResponseEntity<BaseResponse<Void>> editGroup(
             @PathVariable("group_uuid") String groupUuid,
             @RequestBody @Validated GroupVO groupVO,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, groupUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_INVALID, "小组标识有误");
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         scheduleService.editGroup(userDTO, groupUuid, groupVO);
         return ResultUtil.success("编辑小组成功");
     }
@@ -126,12 +137,11 @@ public class ScheduleController {
     @DeleteMapping("/group/{group_uuid}")
     public ResponseEntity<BaseResponse<Void>> deleteGroup(
             @PathVariable("group_uuid") String groupUuid,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, groupUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_INVALID, "小组标识有误");
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         scheduleService.deleteGroup(userDTO, groupUuid);
         return ResultUtil.success("删除小组成功");
     }
@@ -148,7 +158,7 @@ public class ScheduleController {
     public ResponseEntity<BaseResponse<Void>> transferMaster(
             @PathVariable("group_uuid") String groupUuid,
             @RequestParam("new_master") String newMaster,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, groupUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_INVALID, StringConstant.GROUP_UUID_ILLEGAL);
@@ -156,7 +166,6 @@ public class ScheduleController {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, newMaster)) {
             throw new IllegalDataException(ErrorCode.BODY_INVALID, "新队长标识有误");
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         scheduleService.transferMaster(userDTO, groupUuid, newMaster);
         return ResultUtil.success("转让队长成功");
     }
@@ -175,21 +184,14 @@ public class ScheduleController {
             @RequestParam(value = "size", defaultValue = "20") Integer size,
             @RequestParam(value = "search", defaultValue = "") String search,
             @RequestParam(value = "type", defaultValue = "master") String type,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!"master".equalsIgnoreCase(type) && !"all".equalsIgnoreCase(type) && !"join".equalsIgnoreCase(type)) {
             throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, "类型有误");
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         Page<GroupDO> groupList = scheduleService.getGroupList(userDTO, type, page, size, search);
         CustomPage<GroupDTO> pageDTO = new CustomPage<>();
         CopyUtil.pageDoCopyToDTO(groupList, pageDTO, GroupDTO.class);
-        groupList.getRecords().forEach(groupDO -> pageDTO.getRecords().forEach(groupDTO -> {
-            if (groupDO.getGroupUuid().equals(groupDTO.getGroupUuid())) {
-                String[] strings = gson.fromJson(groupDO.getTags(), String[].class);
-                groupDTO.setTags(new ArrayList<>(Arrays.asList(strings)));
-            }
-        }));
         return ResultUtil.success("获取成功", pageDTO);
     }
 
@@ -204,16 +206,53 @@ public class ScheduleController {
     @GetMapping("/group/{group_uuid}")
     public ResponseEntity<BaseResponse<GroupDTO>> getGroup(
             @PathVariable("group_uuid") String groupUuid,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, groupUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_INVALID, StringConstant.GROUP_UUID_ILLEGAL);
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         GroupDTO groupDTO = scheduleService.getGroup(userDTO, groupUuid);
         return ResultUtil.success("获取成功", groupDTO);
     }
 
+    /**
+     * 获取小组共同空闲时间
+     * <p>
+     * 该方法用于计算小组全部成员在日期范围内都没有课程与日程的时间段，只返回时长不少于 {@code min_minutes} 且在每天
+     * {@code day_start} 至 {@code day_end} 之间的时间段
+     *
+     * @return 空闲时间段
+     */
+    @HasAuthorize
+    @GetMapping("/group/{group_uuid}/free-time")
+    public ResponseEntity<BaseResponse<List<TimeSlotDTO>>> getGroupFreeTime(
+            @PathVariable("group_uuid") String groupUuid,
+            @RequestParam("start_date") String startDate,
+            @RequestParam("end_date") String endDate,
+            @RequestParam(value = "min_minutes", defaultValue = "30") Integer minMinutes,
+            @RequestParam(value = "day_start", defaultValue = "08:00") String dayStart,
+            @RequestParam(value = "day_end", defaultValue = "22:00") String dayEnd,
+            @CurrentUser UserDTO userDTO
+    ) {
+        if (!Pattern.matches(PatternConstant.NO_DASH_UUID, groupUuid)) {
+            throw new IllegalDataException(ErrorCode.BODY_INVALID, StringConstant.GROUP_UUID_ILLEGAL);
+        }
+        if (!Pattern.matches(PatternConstant.DATE_FORMAT, startDate) || !Pattern.matches(PatternConstant.DATE_FORMAT, endDate)) {
+            throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, "日期格式应为 yyyy-MM-dd");
+        }
+        if (minMinutes < 0 || minMinutes > 24 * 60) {
+            throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, "最短时长需在 0 到 1440 分钟之间");
+        }
+        try {
+            List<TimeSlotDTO> freeSlotList = freeBusyService.getGroupFreeTime(
+                    userDTO, groupUuid, LocalDate.parse(startDate), LocalDate.parse(endDate),
+                    minMinutes, LocalTime.parse(dayStart), LocalTime.parse(dayEnd));
+            return ResultUtil.success("获取成功", freeSlotList);
+        } catch (DateTimeParseException e) {
+            throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, "日期或时间格式有误");
+        }
+    }
+
     /**
      * 批量添加日程小组成员
      * <p>
@@ -223,13 +262,43 @@ public class ScheduleController {
      */
     @HasAuthorize
     @PostMapping("/group/member")
-    public ResponseEntity<BaseResponse<Void>> addGroupMemberList(
+    public ResponseEntity<BaseResponse<GroupMemberImportDTO>> addGroupMemberList(
             @RequestBody @Validated GroupMemberAddVO groupMemberAddVO,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
-        UserDTO userDTO = userService.getUserByToken(request);
-        scheduleService.addGroupMemberList(userDTO, groupMemberAddVO.getGroupUuid(), groupMemberAddVO.getUserUuid());
-        return ResultUtil.success("添加成员成功");
+        GroupMemberImportDTO groupMemberImportDTO = scheduleService.addGroupMemberList(
+                userDTO, groupMemberAddVO.getGroupUuid(), groupMemberAddVO.getUserUuid());
+        return ResultUtil.success("添加成员成功", groupMemberImportDTO);
+    }
+
+    /**
+     * 导入日程小组成员
+     * <p>
+     * 该方法用于上传 CSV 文件批量添加日程小组成员，文件需包含 {@code user_uuid} 列或每行一个用户UUID，
+     * 返回新增、已在小组中与未知用户的数量
+     *
+     * @return 导入结果
+     */
+    @HasAuthorize
+    @PostMapping(value = "/group/{group_uuid}/member/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BaseResponse<GroupMemberImportDTO>> importGroupMember(
+            @PathVariable("group_uuid") String groupUuid,
+            @RequestParam("file") MultipartFile file,
+            @CurrentUser UserDTO userDTO
+    ) {
+        if (!Pattern.matches(PatternConstant.NO_DASH_UUID, groupUuid)) {
+            throw new IllegalDataException(ErrorCode.BODY_INVALID, StringConstant.GROUP_UUID_ILLEGAL);
+        }
+        String filename = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase();
+        if (!filename.endsWith(".csv") && !filename.endsWith(".txt")) {
+            throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, "仅支持 .csv 或 .txt 文件");
+        }
+        try (InputStream inputStream = file.getInputStream()) {
+            GroupMemberImportDTO groupMemberImportDTO = scheduleService.importGroupMember(userDTO, groupUuid, inputStream);
+            return ResultUtil.success("导入完成", groupMemberImportDTO);
+        } catch (IOException e) {
+            throw new IllegalDataException(ErrorCode.BODY_ERROR, "导入文件读取失败");
+        }
     }
 
     /**
@@ -244,7 +313,7 @@ public class ScheduleController {
     public ResponseEntity<BaseResponse<Void>> addGroupMember(
             @PathVariable("group_uuid") String groupUuid,
             @PathVariable("member_uuid") String memberUuid,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, groupUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_INVALID, "小组标识符有有误");
@@ -252,7 +321,6 @@ public class ScheduleController {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, memberUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_INVALID, "成员标识符有误");
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         scheduleService.addGroupMember(userDTO, groupUuid, memberUuid);
         return ResultUtil.success("添加成员成功");
     }
@@ -269,7 +337,7 @@ public class ScheduleController {
     public ResponseEntity<BaseResponse<Void>> deleteGroupMember(
             @PathVariable("group_uuid") String groupUuid,
             @PathVariable("member_uuid") String memberUuid,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, groupUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_INVALID, "小组标识符有有误");
@@ -277,7 +345,6 @@ public class ScheduleController {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, memberUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_INVALID, "成员标识符有误");
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         scheduleService.deleteGroupMember(userDTO, groupUuid, memberUuid);
         return ResultUtil.success("删除成员成功");
     }
@@ -293,13 +360,80 @@ public class ScheduleController {
     @PostMapping("/")
     public ResponseEntity<BaseResponse<Void>> addSchedule(
             @RequestBody @Validated ScheduleAddVO scheduleAddVO,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
-        UserDTO userDTO = userService.getUserByToken(request);
         scheduleService.addSchedule(userDTO, scheduleAddVO);
         return ResultUtil.success("添加日程成功");
     }
 
+    /**
+     * 检查日程冲突
+     * <p>
+     * 该方法用于在添加或编辑日程前查看与其时间重叠的已有日程与课程
+     *
+     * @return 冲突列表
+     */
+    @HasAuthorize
+    @PostMapping("/conflict")
+    public ResponseEntity<BaseResponse<List<ConflictDTO>>> checkScheduleConflict(
+            @RequestBody @Validated ScheduleConflictVO scheduleConflictVO,
+            @CurrentUser UserDTO userDTO
+    ) {
+        List<ConflictDTO> conflictList = scheduleService.checkScheduleConflict(userDTO, scheduleConflictVO);
+        return ResultUtil.success(conflictList.isEmpty() ? "没有冲突" : "存在冲突", conflictList);
+    }
+
+    /**
+     * 批量操作日程
+     * <p>
+     * 该方法用于在一次请求中执行多个新增、更新与删除日程的操作
+     *
+     * @return 每个操作的执行结果
+     */
+    @HasAuthorize
+    @PostMapping("/batch")
+    public ResponseEntity<BaseResponse<ScheduleBatchDTO>> batchSchedule(
+            @RequestBody @Validated ScheduleBatchVO scheduleBatchVO,
+            @CurrentUser UserDTO userDTO
+    ) {
+        ScheduleBatchDTO scheduleBatchDTO = scheduleService.batchSchedule(userDTO, scheduleBatchVO);
+        return ResultUtil.success("批量操作完成", scheduleBatchDTO);
+    }
+
+    /**
+     * 导入日程
+     * <p>
+     * 该方法用于上传 iCalendar（.ics）或 CSV（.csv）文件批量导入日程，返回逐行的导入结果
+     *
+     * @return 导入结果
+     */
+    @HasAuthorize
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BaseResponse<ScheduleImportDTO>> importSchedule(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "group_uuid", required = false) String groupUuid,
+            @CurrentUser UserDTO userDTO
+    ) {
+        if (groupUuid != null && !groupUuid.isBlank() && !Pattern.matches(PatternConstant.NO_DASH_UUID, groupUuid)) {
+            throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, StringConstant.GROUP_UUID_ILLEGAL);
+        }
+        String filename = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase();
+        String format;
+        if (filename.endsWith(".ics") || filename.endsWith(".ical")) {
+            format = "ics";
+        } else if (filename.endsWith(".csv")) {
+            format = "csv";
+        } else {
+            throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, "仅支持 .ics 或 .csv 文件");
+        }
+        try (InputStream inputStream = file.getInputStream()) {
+            ScheduleImportDTO scheduleImportDTO = scheduleService.importSchedule(userDTO, inputStream, format, groupUuid);
+            return ResultUtil.success("导入完成", scheduleImportDTO);
+        } catch (IOException e) {
+            throw new IllegalDataException(ErrorCode.BODY_ERROR, "导入文件读取失败");
+        }
+    }
+
     /**
      * 编辑日程
      * <p>
@@ -312,12 +446,11 @@ public class ScheduleController {
     public ResponseEntity<BaseResponse<Void>> editSchedule(
             @RequestParam("schedule_uuid") String scheduleUuid,
             @RequestBody @Validated ScheduleEditVO scheduleEditVO,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, scheduleUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_INVALID, StringConstant.SCHEDULE_UUID_ILLEGAL);
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         scheduleService.editSchedule(userDTO, scheduleUuid, scheduleEditVO);
         return ResultUtil.success("编辑日程成功");
     }
@@ -333,13 +466,12 @@ public class ScheduleController {
     @DeleteMapping("/")
     public ResponseEntity<BaseResponse<Void>> deleteSchedule(
             @RequestParam("schedule_uuid") String scheduleUuid,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, scheduleUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_INVALID, StringConstant.SCHEDULE_UUID_ILLEGAL);
         }
 
-        UserDTO userDTO = userService.getUserByToken(request);
         scheduleService.deleteSchedule(userDTO, scheduleUuid);
         return ResultUtil.success("删除日程成功");
     }
@@ -355,12 +487,11 @@ public class ScheduleController {
     @GetMapping("/{schedule_uuid}")
     public ResponseEntity<BaseResponse<ScheduleDTO>> getSchedule(
             @PathVariable("schedule_uuid") String scheduleUuid,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!Pattern.matches(PatternConstant.NO_DASH_UUID, scheduleUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_INVALID, StringConstant.SCHEDULE_UUID_ILLEGAL);
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         ScheduleDTO scheduleDTO = scheduleService.getSchedule(userDTO, scheduleUuid);
         return ResultUtil.success("获取日程成功", scheduleDTO);
     }
@@ -378,35 +509,73 @@ public class ScheduleController {
             @RequestParam(value = "page", defaultValue = "1") Integer page,
             @RequestParam(value = "size", defaultValue = "20") Integer size,
             @RequestParam(value = "search", defaultValue = "") String search,
-            @NotNull HttpServletRequest request
+            @RequestParam(value = "tag", required = false) String tag,
+            @CurrentUser UserDTO userDTO
     ) {
-        UserDTO userDTO = userService.getUserByToken(request);
-        Page<ScheduleDO> scheduleList = scheduleService.getScheduleList(userDTO, page, size, search);
+        Page<ScheduleDO> scheduleList = scheduleService.getScheduleList(userDTO, page, size, search, tag);
         CustomPage<ScheduleDTO> pageDTO = new CustomPage<>();
         CopyUtil.pageDoCopyToDTO(scheduleList, pageDTO, ScheduleDTO.class);
         return ResultUtil.success("获取成功", pageDTO);
     }
 
+    /**
+     * 按游标获取日程列表
+     * <p>
+     * 该方法用于以键集分页的方式获取日程列表，适用于无限滚动；将上一页返回的 {@code next_cursor} 原样传入即可获取下一页，
+     * 翻页深度不影响查询性能；{@code with_total} 为真时返回短时间缓存的近似总数
+     *
+     * @return 获取日程列表结果
+     */
+    @HasAuthorize
+    @GetMapping("/list/cursor")
+    public ResponseEntity<BaseResponse<CursorPage<ScheduleDTO>>> getScheduleListByCursor(
+            @RequestParam(value = "cursor", defaultValue = "") String cursor,
+            @RequestParam(value = "size", defaultValue = "20") Integer size,
+            @RequestParam(value = "search", defaultValue = "") String search,
+            @RequestParam(value = "tag", required = false) String tag,
+            @RequestParam(value = "with_total", defaultValue = "false") Boolean withTotal,
+            @CurrentUser UserDTO userDTO
+    ) {
+        CursorPage<ScheduleDTO> cursorPage = scheduleService.getScheduleListByCursor(userDTO, cursor, size, search, tag, withTotal);
+        return ResultUtil.success("获取成功", cursorPage);
+    }
+
+    /**
+     * 获取标签统计
+     * <p>
+     * 该方法用于获取当前用户个人日程与所在小组的标签及其数量，按数量倒序
+     *
+     * @return 获取标签统计结果
+     */
+    @HasAuthorize
+    @GetMapping("/tags/facet")
+    public ResponseEntity<BaseResponse<TagFacetDTO>> getTagFacet(@CurrentUser UserDTO userDTO) {
+        TagFacetDTO tagFacetDTO = scheduleService.getTagFacet(userDTO);
+        return ResultUtil.success("获取成功", tagFacetDTO);
+    }
+
     /**
      * 获取日程优先级列表
      * <p>
-     * 该方法用于获取日程优先级列表
+     * 该方法用于获取日程优先级列表；响应体按用户、时间线缓存为序列化后的字节，日程或小组成员变更时失效
      *
      * @return 获取日程优先级列表结果
      */
     @HasAuthorize
     @GetMapping("/list/priority")
-    public ResponseEntity<BaseResponse<SchedulePriorityDTO>> getSchedulePriorityList(
+    public ResponseEntity<byte[]> getSchedulePriorityList(
             @RequestParam(defaultValue = "week", required = false, value = "time_line") String timeline,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         String[] allowedTimeline = {"today", "week", "month", "year"};
         if (!Arrays.asList(allowedTimeline).contains(timeline)) {
             throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, "时间线有误");
         }
-        UserDTO userDTO = userService.getUserByToken(request);
-        SchedulePriorityDTO scheduleList = scheduleService.getSchedulePriorityList(userDTO, timeline);
-        return ResultUtil.success("获取成功", scheduleList);
+        byte[] body = schedulePriorityCache.get(userDTO.getUuid(), timeline,
+                () -> ResultUtil.success("获取成功", scheduleService.getSchedulePriorityList(userDTO, timeline)).getBody());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     /**
@@ -422,7 +591,7 @@ public class ScheduleController {
             @RequestParam(value = "group_uuid", required = false) String groupUuid,
             @RequestParam("start_time") String startTime,
             @RequestParam("end_time") String endTime,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (groupUuid != null && !Pattern.matches(PatternConstant.NO_DASH_UUID, groupUuid)) {
             throw new IllegalDataException(ErrorCode.BODY_INVALID, StringConstant.GROUP_UUID_ILLEGAL);
@@ -433,7 +602,6 @@ public class ScheduleController {
         if (!Pattern.matches(PatternConstant.DATE_FORMAT, endTime)) {
             throw new IllegalDataException(ErrorCode.BODY_INVALID, "结束时间有误");
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         List<ScheduleDTO> scheduleList = scheduleService.getScheduleListMaybeGroup(userDTO, groupUuid, startTime, endTime);
         return ResultUtil.success("获取成功", scheduleList);
     }
@@ -20,6 +20,7 @@
 
 package com.xlf.schedule.controller.v1;
 
+import com.xlf.schedule.annotations.CurrentUser;
 import com.xlf.schedule.constant.StringConstant;
 import com.xlf.schedule.exception.lib.IllegalDataException;
 import com.xlf.schedule.model.dto.ListCurriculumDTO;
@@ -27,15 +28,12 @@ import com.xlf.schedule.model.dto.ListCurriculumTimeDTO;
 import com.xlf.schedule.model.dto.ListUserDTO;
 import com.xlf.schedule.model.dto.UserDTO;
 import com.xlf.schedule.service.SelectListService;
-import com.xlf.schedule.service.UserService;
 import com.xlf.utility.BaseResponse;
 import com.xlf.utility.ErrorCode;
 import com.xlf.utility.ResultUtil;
 import com.xlf.utility.annotations.HasAuthorize;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jetbrains.annotations.NotNull;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -60,7 +58,6 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 public class SelectListController {
     private final SelectListService selectListService;
-    private final UserService userService;
 
     /**
      * 查询用户列表
@@ -92,12 +89,11 @@ public class SelectListController {
     @GetMapping("/curriculum")
     public ResponseEntity<BaseResponse<List<ListCurriculumDTO>>> selectCurriculumList(
             @RequestParam(value = "search", defaultValue = "") String search,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (search == null) {
             throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, StringConstant.SEARCH_CONDITION_ILLEGAL);
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         List<ListCurriculumDTO> listCurriculum = selectListService.selectCurriculumList(userDTO, search);
         return ResultUtil.success("获取成功",  listCurriculum);
     }
@@ -113,12 +109,11 @@ public class SelectListController {
     @GetMapping("/curriculum-my-time")
     public ResponseEntity<BaseResponse<List<ListCurriculumTimeDTO>>> selectCurriculumTimeList(
             @RequestParam(value = "search", defaultValue = "") String search,
-            @NotNull HttpServletRequest request
+            @CurrentUser UserDTO userDTO
     ) {
         if (!Pattern.matches("^(|[0-9A-Za-z-_@]+)$", search)) {
             throw new IllegalDataException(ErrorCode.PARAMETER_ILLEGAL, StringConstant.SEARCH_CONDITION_ILLEGAL);
         }
-        UserDTO userDTO = userService.getUserByToken(request);
         List<ListCurriculumTimeDTO> listCurriculumTime = selectListService.selectCurriculumTimeList(userDTO, search);
         return ResultUtil.success("获取成功",  listCurriculumTime);
     }
@@ -0,0 +1,80 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.dao;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.xlf.schedule.mapper.CalendarMapper;
+import com.xlf.schedule.model.entity.CalendarDO;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 日历订阅数据访问对象
+ * <p>
+ * 该类用于定义日历订阅数据访问对象;
+ * 该类使用 {@link Repository} 注解标记;
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Repository
+public class CalendarDAO extends ServiceImpl<CalendarMapper, CalendarDO> implements IService<CalendarDO> {
+
+    /**
+     * 递增变更版本
+     * <p>
+     * 该方法用于在日程、课程变更后使受影响用户的订阅 ETag 失效。
+     *
+     * @param userUuidList 用户UUID列表
+     */
+    public void bumpVersion(@NotNull Collection<String> userUuidList) {
+        List<String> distinct = userUuidList.stream().filter(Objects::nonNull).distinct().toList();
+        if (!distinct.isEmpty()) {
+            this.baseMapper.bumpVersion(distinct);
+        }
+    }
+
+    /**
+     * 递增变更版本
+     *
+     * @param userUuid 用户UUID
+     */
+    public void bumpVersion(String userUuid) {
+        if (userUuid != null) {
+            this.baseMapper.bumpVersion(List.of(userUuid));
+        }
+    }
+
+    /**
+     * 递增使用指定课程时间的用户的变更版本
+     *
+     * @param classTimeUuid 课程时间UUID
+     */
+    public void bumpVersionByClassTime(@NotNull String classTimeUuid) {
+        this.baseMapper.bumpVersionByClassTime(classTimeUuid);
+    }
+}
@@ -24,8 +24,15 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xlf.schedule.mapper.ClassMapper;
 import com.xlf.schedule.model.entity.ClassDO;
+import org.apache.ibatis.cursor.Cursor;
+import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 班级表数据访问对象
  * <p>
@@ -38,4 +45,31 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public class ClassDAO extends ServiceImpl<ClassMapper, ClassDO> implements IService<ClassDO> {
+
+    /**
+     * 游标获取用户订阅课程
+     * <p>
+     * 需要在事务内消费。
+     *
+     * @param userUuid 用户UUID
+     * @return 课程游标
+     */
+    public Cursor<Map<String, Object>> cursorFeedByUser(@NotNull String userUuid) {
+        return this.baseMapper.cursorFeedByUser(userUuid);
+    }
+
+    /**
+     * 获取多个用户日期范围内的课程
+     *
+     * @param userUuidList 用户UUID列表
+     * @param startDate    开始日期（包含）
+     * @param endDate      结束日期（包含）
+     * @return 课程（列名与数据库一致，另含 {@code user_uuid}）
+     */
+    public List<Map<String, Object>> listSessionByUsers(@NotNull List<String> userUuidList, @NotNull LocalDate startDate, @NotNull LocalDate endDate) {
+        if (userUuidList.isEmpty()) {
+            return List.of();
+        }
+        return this.baseMapper.listSessionByUsers(userUuidList, Date.valueOf(startDate), Date.valueOf(endDate));
+    }
 }
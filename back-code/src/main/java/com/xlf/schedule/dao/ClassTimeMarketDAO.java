@@ -23,9 +23,18 @@ package com.xlf.schedule.dao;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xlf.schedule.mapper.ClassTimeMarketMapper;
+import com.xlf.schedule.model.dto.json.ClassTimeAbleDTO;
 import com.xlf.schedule.model.entity.ClassTimeMarketDO;
+import com.xlf.schedule.util.ClassSessionUtil;
+import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 /**
  * 课表时间市场数据访问对象
  * <p>
@@ -38,4 +47,27 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public class ClassTimeMarketDAO extends ServiceImpl<ClassTimeMarketMapper, ClassTimeMarketDO> implements IService<ClassTimeMarketDO> {
+
+    /**
+     * 批量获取课程时间表
+     * <p>
+     * 该方法用于一次查询获取多个课程时间并解析时间表，避免逐行查询；无法解析的时间表不包含在结果中。
+     *
+     * @param classTimeUuidList 课程时间UUID列表
+     * @return 课程时间UUID 到课程时间表的映射
+     */
+    public Map<String, List<ClassTimeAbleDTO>> mapTimetableByIds(@NotNull Collection<String> classTimeUuidList) {
+        Map<String, List<ClassTimeAbleDTO>> timetableMap = new HashMap<>();
+        List<String> distinct = classTimeUuidList.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.isEmpty()) {
+            return timetableMap;
+        }
+        for (ClassTimeMarketDO classTimeMarketDO : this.listByIds(distinct)) {
+            List<ClassTimeAbleDTO> timetable = ClassSessionUtil.parseTimetable(classTimeMarketDO.getTimetable());
+            if (timetable != null) {
+                timetableMap.put(classTimeMarketDO.getClassTimeMarketUuid(), timetable);
+            }
+        }
+        return timetableMap;
+    }
 }
@@ -23,9 +23,13 @@ package com.xlf.schedule.dao;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xlf.schedule.mapper.FriendMapper;
+import com.xlf.schedule.model.dto.UserFriendDTO;
 import com.xlf.schedule.model.entity.FriendDO;
+import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * 朋友表数据访问对象
  * <p>
@@ -38,4 +42,24 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public class FriendDAO extends ServiceImpl<FriendMapper, FriendDO> implements IService<FriendDO> {
+
+    /**
+     * 获取好友关系的对方用户
+     *
+     * @param userUuid  当前用户UUID
+     * @param direction 关系方向（{@code sent}、{@code received} 或 {@code both}）
+     * @param status    好友状态
+     * @param afterUuid 游标位置的用户UUID，为空时从第一条开始
+     * @param limit     获取条数，为空时不限制
+     * @return 对方用户列表
+     */
+    public List<UserFriendDTO> listCounterpart(
+            @NotNull String userUuid,
+            @NotNull String direction,
+            int status,
+            String afterUuid,
+            Integer limit
+    ) {
+        return this.baseMapper.listCounterpart(userUuid, direction, status, afterUuid, limit);
+    }
 }
@@ -20,10 +20,13 @@
 
 package com.xlf.schedule.dao;
 
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xlf.schedule.mapper.GroupMapper;
 import com.xlf.schedule.model.entity.GroupDO;
+import com.xlf.schedule.util.SearchUtil;
+import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -37,4 +40,33 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public class GroupDAO extends ServiceImpl<GroupMapper, GroupDO> implements IService<GroupDO> {
+
+    /**
+     * 搜索用户小组
+     * <p>
+     * 结果按相关度排序。
+     *
+     * @param page     分页
+     * @param userUuid 用户UUID
+     * @param type     小组类型（master、join、all）
+     * @param keyword  规范化后的关键字
+     * @return 小组分页
+     */
+    public Page<GroupDO> searchByUser(@NotNull Page<GroupDO> page, @NotNull String userUuid, @NotNull String type, @NotNull String keyword) {
+        this.baseMapper.searchByUser(page, userUuid, type, keyword, SearchUtil.toLikePattern(keyword));
+        return page;
+    }
+
+    /**
+     * 分页获取用户所在小组
+     *
+     * @param page          分页
+     * @param userUuid      用户UUID
+     * @param excludeMaster 是否排除自己创建的小组
+     * @return 小组分页
+     */
+    public Page<GroupDO> pageByMember(@NotNull Page<GroupDO> page, @NotNull String userUuid, boolean excludeMaster) {
+        this.baseMapper.pageByMember(page, userUuid, excludeMaster);
+        return page;
+    }
 }
@@ -24,8 +24,12 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xlf.schedule.mapper.GroupMemberMapper;
 import com.xlf.schedule.model.entity.GroupMemberDO;
+import com.xlf.utility.util.UuidUtil;
+import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * 小组成员DAO
  * <p>
@@ -37,4 +41,23 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public class GroupMemberDAO extends ServiceImpl<GroupMemberMapper, GroupMemberDO> implements IService<GroupMemberDO> {
+
+    /**
+     * 批量添加成员
+     * <p>
+     * 已在小组中的成员跳过，不影响其余成员。
+     *
+     * @param groupUuid    小组UUID
+     * @param userUuidList 用户UUID列表
+     * @return 实际添加的成员数
+     */
+    public int insertIgnore(@NotNull String groupUuid, @NotNull List<String> userUuidList) {
+        if (userUuidList.isEmpty()) {
+            return 0;
+        }
+        List<String> groupMemberUuidList = userUuidList.stream()
+                .map(userUuid -> UuidUtil.generateUuidNoDash())
+                .toList();
+        return this.baseMapper.insertIgnore(groupUuid, groupMemberUuidList, userUuidList);
+    }
 }
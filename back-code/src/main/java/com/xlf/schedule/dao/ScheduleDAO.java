@@ -20,12 +20,20 @@
 
 package com.xlf.schedule.dao;
 
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xlf.schedule.mapper.ScheduleMapper;
 import com.xlf.schedule.model.entity.ScheduleDO;
+import com.xlf.schedule.util.SearchUtil;
+import org.apache.ibatis.cursor.Cursor;
+import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 日程数据访问对象
  * <p>
@@ -37,4 +45,134 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public class ScheduleDAO extends ServiceImpl<ScheduleMapper, ScheduleDO> implements IService<ScheduleDO> {
+
+    /**
+     * 获取用户窗口内日程
+     * <p>
+     * 包含个人日程与用户所在小组的日程，按优先级、开始时间排序。
+     *
+     * @param userUuid    用户UUID
+     * @param windowStart 窗口开始
+     * @param windowEnd   窗口结束
+     * @return 日程列表
+     */
+    public List<ScheduleDO> listWindowByUser(@NotNull String userUuid, @NotNull Timestamp windowStart, @NotNull Timestamp windowEnd) {
+        return this.baseMapper.listWindowByUser(userUuid, windowStart, windowEnd);
+    }
+
+    /**
+     * 获取小组窗口内日程
+     *
+     * @param groupUuid   小组UUID
+     * @param windowStart 窗口开始
+     * @param windowEnd   窗口结束
+     * @return 日程列表
+     */
+    public List<ScheduleDO> listWindowByGroup(@NotNull String groupUuid, @NotNull Timestamp windowStart, @NotNull Timestamp windowEnd) {
+        return this.baseMapper.listWindowByGroup(groupUuid, windowStart, windowEnd);
+    }
+
+    /**
+     * 按游标获取用户日程
+     *
+     * @param userUuid          用户UUID
+     * @param keyword           规范化后的关键字，为空时不过滤
+     * @param tag               标签，为空时不过滤
+     * @param afterStartTime    游标位置的开始时间，为空时从第一条开始
+     * @param afterScheduleUuid 游标位置的日程UUID
+     * @param limit             获取条数
+     * @return 日程列表
+     */
+    public List<ScheduleDO> listByCursor(
+            @NotNull String userUuid,
+            @NotNull String keyword,
+            String tag,
+            Timestamp afterStartTime,
+            String afterScheduleUuid,
+            int limit
+    ) {
+        String pattern = keyword.isEmpty() ? null : SearchUtil.toLikePattern(keyword);
+        return this.baseMapper.listByCursor(userUuid, pattern, tag, afterStartTime, afterScheduleUuid, limit);
+    }
+
+    /**
+     * 搜索用户日程
+     * <p>
+     * 结果按相关度排序。
+     *
+     * @param page     分页
+     * @param userUuid 用户UUID
+     * @param keyword  规范化后的关键字
+     * @param tag      标签，为空时不过滤
+     * @return 日程分页
+     */
+    public Page<ScheduleDO> searchByUser(@NotNull Page<ScheduleDO> page, @NotNull String userUuid, @NotNull String keyword, String tag) {
+        this.baseMapper.searchByUser(page, userUuid, keyword, SearchUtil.toLikePattern(keyword), tag);
+        return page;
+    }
+
+    /**
+     * 统计用户日程数量
+     *
+     * @param userUuid 用户UUID
+     * @param keyword  规范化后的关键字，为空时不过滤
+     * @param tag      标签，为空时不过滤
+     * @return 日程数量
+     */
+    public long countByUser(@NotNull String userUuid, @NotNull String keyword, String tag) {
+        String pattern = keyword.isEmpty() ? null : SearchUtil.toLikePattern(keyword);
+        return this.baseMapper.countByUser(userUuid, pattern, tag);
+    }
+
+    /**
+     * 统计用户标签
+     *
+     * @param userUuid 用户UUID
+     * @return 标签统计（{@code source}、{@code tag}、{@code total}）
+     */
+    public List<Map<String, Object>> countTagsByUser(@NotNull String userUuid) {
+        return this.baseMapper.countTagsByUser(userUuid);
+    }
+
+    /**
+     * 游标获取用户订阅日程
+     * <p>
+     * 包含个人日程与用户所在小组的日程，需要在事务内消费。
+     *
+     * @param userUuid 用户UUID
+     * @return 日程游标
+     */
+    public Cursor<ScheduleDO> cursorFeedByUser(@NotNull String userUuid) {
+        return this.baseMapper.cursorFeedByUser(userUuid);
+    }
+
+    /**
+     * 获取多个用户窗口内的个人日程
+     *
+     * @param userUuidList 用户UUID列表
+     * @param windowStart  窗口开始
+     * @param windowEnd    窗口结束
+     * @return 日程列表
+     */
+    public List<ScheduleDO> listWindowByUsers(@NotNull List<String> userUuidList, @NotNull Timestamp windowStart, @NotNull Timestamp windowEnd) {
+        if (userUuidList.isEmpty()) {
+            return List.of();
+        }
+        return this.baseMapper.listWindowByUsers(userUuidList, windowStart, windowEnd);
+    }
+
+    /**
+     * 获取多个小组窗口内的日程
+     *
+     * @param groupUuidList 小组UUID列表
+     * @param windowStart   窗口开始
+     * @param windowEnd     窗口结束
+     * @return 日程列表
+     */
+    public List<ScheduleDO> listWindowByGroups(@NotNull List<String> groupUuidList, @NotNull Timestamp windowStart, @NotNull Timestamp windowEnd) {
+        if (groupUuidList.isEmpty()) {
+            return List.of();
+        }
+        return this.baseMapper.listWindowByGroups(groupUuidList, windowStart, windowEnd);
+    }
 }
@@ -24,8 +24,12 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xlf.schedule.mapper.TokenMapper;
 import com.xlf.schedule.model.entity.TokenDO;
+import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.List;
+
 /**
  * 令牌表数据访问对象
  * <p>
@@ -38,4 +42,29 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public class TokenDAO extends ServiceImpl<TokenMapper, TokenDO> implements IService<TokenDO> {
+
+    /**
+     * 裁剪会话
+     * <p>
+     * 保留 {@code keepUuid} 与用户最新的其余令牌共 {@code keep} 个，其余令牌在同一条语句中删除。
+     *
+     * @param userUuid 用户UUID
+     * @param keepUuid 必须保留的令牌UUID
+     * @param keep     保留数量
+     * @return 被删除的令牌
+     */
+    public List<TokenDO> trimSessions(@NotNull String userUuid, @NotNull String keepUuid, int keep) {
+        return this.baseMapper.trimSessions(userUuid, keepUuid, keep);
+    }
+
+    /**
+     * 删除过期令牌
+     *
+     * @param now   当前时间
+     * @param limit 单批最多删除数量
+     * @return 删除数量
+     */
+    public int deleteExpired(@NotNull Timestamp now, int limit) {
+        return this.baseMapper.deleteExpired(now, limit);
+    }
 }
@@ -23,9 +23,16 @@ package com.xlf.schedule.dao;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xlf.schedule.mapper.UserMapper;
+import com.xlf.schedule.model.dto.UserFriendDTO;
 import com.xlf.schedule.model.entity.UserDO;
+import com.xlf.schedule.util.SearchUtil;
+import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Repository;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * 用户表数据访问对象
  * <p>
@@ -38,4 +45,30 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public class UserDAO extends ServiceImpl<UserMapper, UserDO> implements IService<UserDO> {
+
+    /**
+     * 获取存在的用户UUID
+     *
+     * @param uuidList 用户UUID列表
+     * @return 存在的用户UUID
+     */
+    public Set<String> listExistingUuid(@NotNull List<String> uuidList) {
+        if (uuidList.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(this.baseMapper.listExistingUuid(uuidList));
+    }
+
+    /**
+     * 搜索可添加的用户
+     *
+     * @param userUuid 当前用户UUID
+     * @param keyword  关键字
+     * @param limit    最大返回条数
+     * @return 未与当前用户建立好友关系的用户
+     */
+    public List<UserFriendDTO> searchStranger(@NotNull String userUuid, @NotNull String keyword, int limit) {
+        return this.baseMapper.searchStranger(
+                userUuid, keyword, SearchUtil.toLikePattern(keyword), SearchUtil.toPrefixPattern(keyword), limit);
+    }
 }
@@ -21,16 +21,23 @@
 package com.xlf.schedule.exception;
 
 import com.xlf.schedule.exception.lib.IllegalDataException;
+import com.xlf.schedule.exception.lib.ScheduleConflictException;
+import com.xlf.schedule.exception.lib.ServiceBusyException;
+import com.xlf.schedule.model.dto.ConflictDTO;
 import com.xlf.utility.BaseResponse;
 import com.xlf.utility.ErrorCode;
 import com.xlf.utility.ResultUtil;
 import com.xlf.utility.exception.PublicExceptionHandlerAbstract;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.util.List;
+
 /**
  * 公共异常处理器
  * <p>
@@ -58,6 +65,37 @@ public class PublicExceptionHandler extends PublicExceptionHandlerAbstract {
         return ResultUtil.error(e.getErrorCode(), e.getMessage(), null);
     }
 
+    /**
+     * 处理服务繁忙异常
+     * <p>
+     * 该方法用于处理服务繁忙异常，返回 {@code 503} 并携带 {@code Retry-After} 头;
+     * 该方法使用 {@link ExceptionHandler} 注解标记;
+     *
+     * @param e 服务繁忙异常
+     * @return {@link ResponseEntity}
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<BaseResponse<Void>> handleServiceBusyException(@NotNull ServiceBusyException e) {
+        ResponseEntity<BaseResponse<Void>> response = ResultUtil.error(ErrorCode.OPERATION_FAILED, e.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    /**
+     * 处理时间冲突异常
+     * <p>
+     * 该方法用于处理时间冲突异常，响应数据为冲突列表;
+     * 该方法使用 {@link ExceptionHandler} 注解标记;
+     *
+     * @param e 时间冲突异常
+     * @return {@link ResponseEntity}
+     */
+    @ExceptionHandler(ScheduleConflictException.class)
+    public ResponseEntity<BaseResponse<List<ConflictDTO>>> handleScheduleConflictException(@NotNull ScheduleConflictException e) {
+        return ResultUtil.error(ErrorCode.OPERATION_FAILED, e.getMessage(), e.getConflicts());
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<BaseResponse<Void>> handleHttpMessageNotReadableException(@NotNull HttpMessageNotReadableException ignored) {
         return ResultUtil.error(ErrorCode.BODY_ERROR, "消息不可读", null);
@@ -0,0 +1,54 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.exception.lib;
+
+import com.xlf.schedule.model.dto.ConflictDTO;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 时间冲突异常
+ * <p>
+ * 该类用于定义时间冲突异常，在请求要求检查冲突且待写入的日程或课程与已有项目重叠时抛出;
+ * 该异常由 {@link com.xlf.schedule.exception.PublicExceptionHandler} 转换为错误响应并携带冲突列表;
+ * 该类继承自 {@link RuntimeException} 类;
+ * 该类使用 {@link Getter} 注解标记;
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Getter
+public class ScheduleConflictException extends RuntimeException {
+    private final transient List<ConflictDTO> conflicts;
+
+    /**
+     * 构造函数
+     *
+     * @param message   错误信息
+     * @param conflicts 冲突列表
+     */
+    public ScheduleConflictException(String message, List<ConflictDTO> conflicts) {
+        super(message);
+        this.conflicts = conflicts;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.exception.lib;
+
+import lombok.Getter;
+
+/**
+ * 服务繁忙异常
+ * <p>
+ * 该类用于定义服务繁忙异常，在有界执行器饱和或等待超时时抛出;
+ * 该异常由 {@link com.xlf.schedule.exception.PublicExceptionHandler} 转换为 {@code 503} 响应并携带 {@code Retry-After} 头;
+ * 该类继承自 {@link RuntimeException} 类;
+ * 该类使用 {@link Getter} 注解标记;
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Getter
+public class ServiceBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    /**
+     * 构造函数
+     *
+     * @param message           错误信息
+     * @param retryAfterSeconds 建议重试间隔（秒）
+     */
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
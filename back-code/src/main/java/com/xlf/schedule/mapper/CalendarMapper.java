@@ -0,0 +1,73 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.xlf.schedule.model.entity.CalendarDO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Collection;
+
+/**
+ * 日历订阅Mapper
+ * <p>
+ * 该接口用于定义日历订阅相关的数据库操作。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Mapper
+public interface CalendarMapper extends BaseMapper<CalendarDO> {
+
+    /**
+     * 递增变更版本
+     * <p>
+     * 只更新已开启订阅的用户，未开启订阅的用户没有记录，不产生写入。
+     *
+     * @param userUuidList 用户UUID列表
+     * @return 更新行数
+     */
+    @Update("""
+            <script>
+            UPDATE xf_calendar SET version = version + 1, updated_at = now()
+            WHERE user_uuid IN
+            <foreach collection="userUuidList" item="userUuid" open="(" separator="," close=")">
+              #{userUuid}
+            </foreach>
+            </script>
+            """)
+    int bumpVersion(@Param("userUuidList") Collection<String> userUuidList);
+
+    /**
+     * 递增使用指定课程时间的用户的变更版本
+     *
+     * @param classTimeUuid 课程时间UUID
+     * @return 更新行数
+     */
+    @Update("""
+            UPDATE xf_calendar SET version = version + 1, updated_at = now()
+            WHERE user_uuid IN (SELECT user_uuid FROM xf_class_grade WHERE class_time_uuid = #{classTimeUuid})
+            """)
+    int bumpVersionByClassTime(@Param("classTimeUuid") String classTimeUuid);
+}
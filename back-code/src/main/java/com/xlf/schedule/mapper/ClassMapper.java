@@ -23,6 +23,15 @@ package com.xlf.schedule.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.xlf.schedule.model.entity.ClassDO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 课程表映射器
@@ -35,4 +44,47 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface ClassMapper extends BaseMapper<ClassDO> {
+
+    /**
+     * 游标获取用户订阅课程
+     * <p>
+     * 该方法用于日历订阅，以数据库游标逐批读取用户所有学年的课程，并附带学期开始日期与课程时间UUID；
+     * 需要在事务内消费。
+     *
+     * @param userUuid 用户UUID
+     * @return 课程游标（列名与数据库一致）
+     */
+    @Select("""
+            SELECT c.class_uuid, c.name, c.day_tick, c.start_tick, c.end_tick, c.week, c.teacher, c.location,
+                   g.semester_begin, g.class_time_uuid
+            FROM xf_class c
+                     JOIN xf_class_grade g ON g.class_grade_uuid = c.class_grade_uuid
+            WHERE g.user_uuid = #{userUuid}
+            """)
+    @Options(fetchSize = 500, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<Map<String, Object>> cursorFeedByUser(@Param("userUuid") String userUuid);
+
+    /**
+     * 获取多个用户日期范围内的课程
+     * <p>
+     * 该方法用于空闲时间计算与冲突检查，按学期开始日期换算出上课日期后在数据库中过滤日期范围。
+     *
+     * @param userUuidList 用户UUID列表
+     * @param startDate    开始日期（包含）
+     * @param endDate      结束日期（包含）
+     * @return 课程（列名与数据库一致，另含 {@code user_uuid}）
+     */
+    @Select("""
+            SELECT g.user_uuid, c.class_uuid, c.name, c.day_tick, c.start_tick, c.end_tick, c.week, g.semester_begin, g.class_time_uuid
+            FROM xf_class c
+                     JOIN xf_class_grade g ON g.class_grade_uuid = c.class_grade_uuid
+            WHERE g.user_uuid = ANY(#{userUuidList, typeHandler=com.xlf.schedule.config.handler.StringListTypeHandler})
+              AND g.semester_begin <= #{endDate}
+              AND g.semester_begin + ((c.week - 1) * 7 + c.day_tick - 1) BETWEEN #{startDate} AND #{endDate}
+            """)
+    List<Map<String, Object>> listSessionByUsers(
+            @Param("userUuidList") List<String> userUuidList,
+            @Param("startDate") Date startDate,
+            @Param("endDate") Date endDate
+    );
 }
@@ -21,8 +21,13 @@
 package com.xlf.schedule.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.xlf.schedule.model.dto.UserFriendDTO;
 import com.xlf.schedule.model.entity.FriendDO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * 朋友表Mapper
@@ -35,4 +40,55 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface FriendMapper extends BaseMapper<FriendDO> {
+
+    /**
+     * 获取好友关系的对方用户
+     * <p>
+     * 该方法用于一次查出指定状态的好友关系对应的对方用户，只查询好友列表所需的列；
+     * {@code direction} 为 {@code sent} 时取自己发出的关系，{@code received} 时取自己收到的关系，{@code both} 时两者都取，
+     * 两个方向分别走 {@code (sender_user_uuid, allower_user_uuid)} 与 {@code (allower_user_uuid, sender_user_uuid)} 索引；
+     * 结果按对方用户UUID 排序，{@code afterUuid} 不为空时从该用户之后开始（键集分页）。
+     *
+     * @param userUuid  当前用户UUID
+     * @param direction 关系方向
+     * @param status    好友状态（0: 等待审核, 1: 好友, 2: 被拒绝）
+     * @param afterUuid 游标位置的用户UUID，为空时从第一条开始
+     * @param limit     获取条数，为空时不限制
+     * @return 对方用户列表
+     */
+    @Select("""
+            <script>
+            SELECT u.uuid, u.username, u.phone, u.email, u.enable, u.banned_at FROM (
+              <if test="direction != 'received'">
+                SELECT allower_user_uuid AS user_uuid FROM xf_friend
+                WHERE sender_user_uuid = #{userUuid} AND is_friend = #{status}
+                <if test="afterUuid != null">
+                  AND allower_user_uuid &gt; #{afterUuid}
+                </if>
+              </if>
+              <if test="direction == 'both'">
+                UNION ALL
+              </if>
+              <if test="direction != 'sent'">
+                SELECT sender_user_uuid AS user_uuid FROM xf_friend
+                WHERE allower_user_uuid = #{userUuid} AND is_friend = #{status}
+                <if test="afterUuid != null">
+                  AND sender_user_uuid &gt; #{afterUuid}
+                </if>
+              </if>
+            ) r
+            JOIN xf_user u ON u.uuid = r.user_uuid
+            ORDER BY u.uuid
+            <if test="limit != null">
+              LIMIT #{limit}
+            </if>
+            </script>
+            """)
+    List<UserFriendDTO> listCounterpart(
+            @Param("userUuid") String userUuid,
+            @Param("direction") String direction,
+            @Param("status") int status,
+            @Param("afterUuid") String afterUuid,
+            @Param("limit") Integer limit
+    );
 }
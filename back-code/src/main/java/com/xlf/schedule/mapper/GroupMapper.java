@@ -21,8 +21,12 @@
 package com.xlf.schedule.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.xlf.schedule.model.entity.GroupDO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultMap;
+import org.apache.ibatis.annotations.Select;
 
 /**
  * 小组Mapper
@@ -35,4 +39,77 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface GroupMapper extends BaseMapper<GroupDO> {
+
+    /**
+     * 搜索用户小组
+     * <p>
+     * 该方法用于按关键字搜索用户相关的小组，名称与 {@code xf_tags_text(tags)} 均建有 {@code gin_trgm_ops} 索引；
+     * 结果名称完全相同优先，其后按关键字与名称、标签的词相似度加权排序；
+     * {@code type} 为 {@code master} 时搜索自己创建的小组，{@code join} 时搜索加入的他人小组，{@code all} 时搜索所有所在小组。
+     *
+     * @param page     分页
+     * @param userUuid 用户UUID
+     * @param type     小组类型
+     * @param keyword  规范化后的关键字
+     * @param pattern  搜索匹配模式
+     * @return 小组分页
+     */
+    @Select("""
+            <script>
+            SELECT * FROM xf_group
+            WHERE (name ILIKE #{pattern} OR xf_tags_text(tags) ILIKE #{pattern})
+            <choose>
+              <when test="type == 'master'">
+                AND master = #{userUuid}
+              </when>
+              <when test="type == 'join'">
+                AND group_uuid IN (SELECT group_uuid FROM xf_group_member WHERE user_uuid = #{userUuid})
+                AND master &lt;&gt; #{userUuid}
+              </when>
+              <otherwise>
+                AND group_uuid IN (SELECT group_uuid FROM xf_group_member WHERE user_uuid = #{userUuid})
+              </otherwise>
+            </choose>
+            ORDER BY (CASE WHEN lower(name) = lower(#{keyword}) THEN 8 ELSE 0 END
+                      + word_similarity(#{keyword}, name) * 4
+                      + word_similarity(#{keyword}, xf_tags_text(tags)) * 2) DESC, created_at DESC
+            </script>
+            """)
+    @ResultMap("mybatis-plus_GroupDO")
+    IPage<GroupDO> searchByUser(
+            IPage<GroupDO> page,
+            @Param("userUuid") String userUuid,
+            @Param("type") String type,
+            @Param("keyword") String keyword,
+            @Param("pattern") String pattern
+    );
+
+    /**
+     * 分页获取用户所在小组
+     * <p>
+     * 该方法用于通过 {@code xf_group_member} 与 {@code xf_group} 的连接一次查出用户所在的小组，分页由数据库完成；
+     * {@code excludeMaster} 为 {@code true} 时排除自己创建的小组。
+     *
+     * @param page          分页
+     * @param userUuid      用户UUID
+     * @param excludeMaster 是否排除自己创建的小组
+     * @return 小组分页
+     */
+    @Select("""
+            <script>
+            SELECT g.* FROM xf_group_member m
+                JOIN xf_group g ON g.group_uuid = m.group_uuid
+            WHERE m.user_uuid = #{userUuid}
+            <if test="excludeMaster">
+              AND g.master &lt;&gt; #{userUuid}
+            </if>
+            ORDER BY g.created_at DESC, g.group_uuid
+            </script>
+            """)
+    @ResultMap("mybatis-plus_GroupDO")
+    IPage<GroupDO> pageByMember(
+            IPage<GroupDO> page,
+            @Param("userUuid") String userUuid,
+            @Param("excludeMaster") boolean excludeMaster
+    );
 }
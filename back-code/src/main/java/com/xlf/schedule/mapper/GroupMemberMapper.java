@@ -22,7 +22,11 @@ package com.xlf.schedule.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.xlf.schedule.model.entity.GroupMemberDO;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 小组成员Mapper
@@ -35,4 +39,28 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface GroupMemberMapper extends BaseMapper<GroupMemberDO> {
+
+    /**
+     * 批量添加成员
+     * <p>
+     * 该方法用于以一条语句写入多名成员，已在小组中的成员由唯一索引 {@code (group_uuid, user_uuid)} 跳过。
+     *
+     * @param groupUuid           小组UUID
+     * @param groupMemberUuidList 小组成员主键列表
+     * @param userUuidList        用户UUID列表（与主键一一对应）
+     * @return 实际写入的行数
+     */
+    @Insert("""
+            INSERT INTO xf_group_member (group_member_uuid, group_uuid, user_uuid, status)
+            SELECT t.group_member_uuid, #{groupUuid}, t.user_uuid, 1
+            FROM unnest(#{groupMemberUuidList, typeHandler=com.xlf.schedule.config.handler.StringListTypeHandler},
+                        #{userUuidList, typeHandler=com.xlf.schedule.config.handler.StringListTypeHandler})
+                     AS t(group_member_uuid, user_uuid)
+            ON CONFLICT (group_uuid, user_uuid) DO NOTHING
+            """)
+    int insertIgnore(
+            @Param("groupUuid") String groupUuid,
+            @Param("groupMemberUuidList") List<String> groupMemberUuidList,
+            @Param("userUuidList") List<String> userUuidList
+    );
 }
@@ -21,8 +21,19 @@
 package com.xlf.schedule.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.xlf.schedule.model.entity.ScheduleDO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultMap;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 日程数据访问接口
@@ -35,4 +46,278 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface ScheduleMapper extends BaseMapper<ScheduleDO> {
+
+    /**
+     * 时间窗口条件
+     * <p>
+     * 单次任务与一日任务通过 {@code period && tsrange(窗口)} 判断与窗口是否相交（与用户或小组条件一起命中 {@code btree_gist} 组合索引 {@code (user_uuid, period)} 或 {@code (group_uuid, period)}，跨越窗口边界的日程同样返回）；
+     * 循环任务只需在窗口结束前开始，由业务层展开。
+     */
+    String WINDOW_CONDITION = """
+              AND ((type = 1 AND start_time <= #{windowEnd})
+                   OR (type <> 1 AND period && tsrange(#{windowStart}, #{windowEnd}, '[]')))
+            """;
+
+    /**
+     * 搜索条件
+     * <p>
+     * 名称、描述、标签任一包含关键字即命中；名称、描述与 {@code xf_tags_text(tags)} 均建有 {@code gin_trgm_ops} 索引，{@code ILIKE} 由位图合并后的索引扫描完成；
+     * {@code pattern} 需由 {@link com.xlf.schedule.util.SearchUtil#toLikePattern(String)} 生成。
+     */
+    String SEARCH_CONDITION = """
+              AND (name ILIKE #{pattern} OR description ILIKE #{pattern} OR xf_tags_text(tags) ILIKE #{pattern})
+            """;
+
+    /**
+     * 标签条件
+     * <p>
+     * 标签完全匹配，通过 {@code tags} 的 GIN 索引以 {@code @>} 查找。
+     */
+    String TAG_CONDITION = """
+              AND tags @> ARRAY[#{tag}]::text[]
+            """;
+
+    /**
+     * 搜索排序
+     * <p>
+     * 名称完全相同优先，其后按关键字与名称、标签、描述的词相似度加权排序。
+     */
+    String SEARCH_RANK = """
+            (CASE WHEN lower(name) = lower(#{keyword}) THEN 8 ELSE 0 END
+             + word_similarity(#{keyword}, name) * 4
+             + word_similarity(#{keyword}, xf_tags_text(tags)) * 2
+             + word_similarity(#{keyword}, coalesce(description, '')))
+            """;
+
+    /**
+     * 获取用户窗口内日程
+     * <p>
+     * 该方法用于在一次查询中获取用户个人日程与所在小组的日程，按优先级、开始时间排序；
+     * 两个分支分别命中 {@code (user_uuid, type, start_time)} 与 {@code (group_uuid, type, start_time)} 索引。
+     *
+     * @param userUuid    用户UUID
+     * @param windowStart 窗口开始
+     * @param windowEnd   窗口结束
+     * @return 日程列表
+     */
+    @Select("""
+            SELECT * FROM xf_schedule
+            WHERE user_uuid = #{userUuid}
+            """ + WINDOW_CONDITION + """
+            UNION ALL
+            SELECT * FROM xf_schedule
+            WHERE group_uuid IN (SELECT group_uuid FROM xf_group_member WHERE user_uuid = #{userUuid})
+              AND (user_uuid IS NULL OR user_uuid <> #{userUuid})
+            """ + WINDOW_CONDITION + """
+            ORDER BY priority, start_time
+            """)
+    @ResultMap("mybatis-plus_ScheduleDO")
+    List<ScheduleDO> listWindowByUser(
+            @Param("userUuid") String userUuid,
+            @Param("windowStart") Timestamp windowStart,
+            @Param("windowEnd") Timestamp windowEnd
+    );
+
+    /**
+     * 获取多个用户窗口内的个人日程
+     * <p>
+     * 该方法用于空闲时间计算，一次查询获取多个用户的个人日程；用户列表以数组参数传入。
+     *
+     * @param userUuidList 用户UUID列表
+     * @param windowStart  窗口开始
+     * @param windowEnd    窗口结束
+     * @return 日程列表
+     */
+    @Select("""
+            SELECT * FROM xf_schedule
+            WHERE user_uuid = ANY(#{userUuidList, typeHandler=com.xlf.schedule.config.handler.StringListTypeHandler})
+            """ + WINDOW_CONDITION)
+    @ResultMap("mybatis-plus_ScheduleDO")
+    List<ScheduleDO> listWindowByUsers(
+            @Param("userUuidList") List<String> userUuidList,
+            @Param("windowStart") Timestamp windowStart,
+            @Param("windowEnd") Timestamp windowEnd
+    );
+
+    /**
+     * 获取多个小组窗口内的日程
+     *
+     * @param groupUuidList 小组UUID列表
+     * @param windowStart   窗口开始
+     * @param windowEnd     窗口结束
+     * @return 日程列表
+     */
+    @Select("""
+            SELECT * FROM xf_schedule
+            WHERE group_uuid = ANY(#{groupUuidList, typeHandler=com.xlf.schedule.config.handler.StringListTypeHandler})
+            """ + WINDOW_CONDITION)
+    @ResultMap("mybatis-plus_ScheduleDO")
+    List<ScheduleDO> listWindowByGroups(
+            @Param("groupUuidList") List<String> groupUuidList,
+            @Param("windowStart") Timestamp windowStart,
+            @Param("windowEnd") Timestamp windowEnd
+    );
+
+    /**
+     * 获取小组窗口内日程
+     *
+     * @param groupUuid   小组UUID
+     * @param windowStart 窗口开始
+     * @param windowEnd   窗口结束
+     * @return 日程列表
+     */
+    @Select("""
+            SELECT * FROM xf_schedule
+            WHERE group_uuid = #{groupUuid}
+            """ + WINDOW_CONDITION + """
+            ORDER BY priority, start_time
+            """)
+    @ResultMap("mybatis-plus_ScheduleDO")
+    List<ScheduleDO> listWindowByGroup(
+            @Param("groupUuid") String groupUuid,
+            @Param("windowStart") Timestamp windowStart,
+            @Param("windowEnd") Timestamp windowEnd
+    );
+
+    /**
+     * 按游标获取用户日程
+     * <p>
+     * 该方法用于键集分页：按 {@code (start_time, schedule_uuid)} 排序，从游标位置之后直接定位，
+     * 命中 {@code (user_uuid, start_time, schedule_uuid)} 索引，查询代价与翻页深度无关。
+     *
+     * @param userUuid          用户UUID
+     * @param pattern           搜索匹配模式，为空时不过滤
+     * @param tag               标签，为空时不过滤
+     * @param afterStartTime    游标位置的开始时间，为空时从第一条开始
+     * @param afterScheduleUuid 游标位置的日程UUID
+     * @param limit             获取条数
+     * @return 日程列表
+     */
+    @Select("""
+            <script>
+            SELECT * FROM xf_schedule
+            WHERE user_uuid = #{userUuid}
+            <if test="pattern != null">
+            """ + SEARCH_CONDITION + """
+            </if>
+            <if test="tag != null">
+            """ + TAG_CONDITION + """
+            </if>
+            <if test="afterStartTime != null">
+              AND (start_time, schedule_uuid) &gt; (#{afterStartTime}, #{afterScheduleUuid})
+            </if>
+            ORDER BY start_time, schedule_uuid
+            LIMIT #{limit}
+            </script>
+            """)
+    @ResultMap("mybatis-plus_ScheduleDO")
+    List<ScheduleDO> listByCursor(
+            @Param("userUuid") String userUuid,
+            @Param("pattern") String pattern,
+            @Param("tag") String tag,
+            @Param("afterStartTime") Timestamp afterStartTime,
+            @Param("afterScheduleUuid") String afterScheduleUuid,
+            @Param("limit") int limit
+    );
+
+    /**
+     * 搜索用户日程
+     * <p>
+     * 该方法用于在用户个人日程中按关键字搜索，结果按相关度排序，相关度相同时按开始时间倒序。
+     *
+     * @param page     分页
+     * @param userUuid 用户UUID
+     * @param keyword  规范化后的关键字
+     * @param pattern  搜索匹配模式
+     * @param tag      标签，为空时不过滤
+     * @return 日程分页
+     */
+    @Select("""
+            <script>
+            SELECT * FROM xf_schedule
+            WHERE user_uuid = #{userUuid}
+            """ + SEARCH_CONDITION + """
+            <if test="tag != null">
+            """ + TAG_CONDITION + """
+            </if>
+            ORDER BY
+            """ + SEARCH_RANK + """
+            DESC, start_time DESC
+            </script>
+            """)
+    @ResultMap("mybatis-plus_ScheduleDO")
+    IPage<ScheduleDO> searchByUser(
+            IPage<ScheduleDO> page,
+            @Param("userUuid") String userUuid,
+            @Param("keyword") String keyword,
+            @Param("pattern") String pattern,
+            @Param("tag") String tag
+    );
+
+    /**
+     * 统计用户日程数量
+     *
+     * @param userUuid 用户UUID
+     * @param pattern  搜索匹配模式，为空时不过滤
+     * @param tag      标签，为空时不过滤
+     * @return 日程数量
+     */
+    @Select("""
+            <script>
+            SELECT count(*) FROM xf_schedule
+            WHERE user_uuid = #{userUuid}
+            <if test="pattern != null">
+            """ + SEARCH_CONDITION + """
+            </if>
+            <if test="tag != null">
+            """ + TAG_CONDITION + """
+            </if>
+            </script>
+            """)
+    long countByUser(@Param("userUuid") String userUuid, @Param("pattern") String pattern, @Param("tag") String tag);
+
+    /**
+     * 统计用户标签
+     * <p>
+     * 该方法用于在一次聚合中统计用户个人日程与所在（含创建）小组的标签数量，{@code source} 为 {@code schedule} 或 {@code group}；
+     * 两个分支分别命中 {@code user_uuid} 与小组成员索引，结果按数量倒序。
+     *
+     * @param userUuid 用户UUID
+     * @return 标签统计（{@code source}、{@code tag}、{@code total}）
+     */
+    @Select("""
+            SELECT 'schedule' AS source, tag, count(*) AS total
+            FROM xf_schedule, unnest(tags) AS tag
+            WHERE user_uuid = #{userUuid}
+            GROUP BY tag
+            UNION ALL
+            SELECT 'group' AS source, tag, count(*) AS total
+            FROM xf_group, unnest(tags) AS tag
+            WHERE master = #{userUuid}
+               OR group_uuid IN (SELECT group_uuid FROM xf_group_member WHERE user_uuid = #{userUuid})
+            GROUP BY tag
+            ORDER BY total DESC, tag
+            """)
+    List<Map<String, Object>> countTagsByUser(@Param("userUuid") String userUuid);
+
+    /**
+     * 游标获取用户订阅日程
+     * <p>
+     * 该方法用于日历订阅，以数据库游标逐批读取用户个人日程与所在小组的日程，不在内存中构建完整列表；
+     * 需要在事务内消费。
+     *
+     * @param userUuid 用户UUID
+     * @return 日程游标
+     */
+    @Select("""
+            SELECT * FROM xf_schedule
+            WHERE user_uuid = #{userUuid}
+            UNION ALL
+            SELECT * FROM xf_schedule
+            WHERE group_uuid IN (SELECT group_uuid FROM xf_group_member WHERE user_uuid = #{userUuid})
+              AND (user_uuid IS NULL OR user_uuid <> #{userUuid})
+            """)
+    @Options(fetchSize = 500, resultSetType = ResultSetType.FORWARD_ONLY)
+    @ResultMap("mybatis-plus_ScheduleDO")
+    Cursor<ScheduleDO> cursorFeedByUser(@Param("userUuid") String userUuid);
 }
@@ -22,7 +22,14 @@ package com.xlf.schedule.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.xlf.schedule.model.entity.TokenDO;
+import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.sql.Timestamp;
+import java.util.List;
 
 /**
  * 令牌表映射器
@@ -35,4 +42,47 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface TokenMapper extends BaseMapper<TokenDO> {
+
+    /**
+     * 裁剪会话
+     * <p>
+     * 该方法用于在一条语句中删除用户除 {@code keepUuid} 与最新 {@code keep - 1} 个以外的全部令牌，并返回被删除的令牌；
+     * 刚签发的令牌始终保留，{@code created_at} 相同时按 {@code token_uuid} 排序保证结果确定；
+     * DELETE ... RETURNING 需要以查询方式取回结果，显式刷新缓存以保持写语句的语义。
+     *
+     * @param userUuid 用户UUID
+     * @param keepUuid 必须保留的令牌UUID（刚签发的令牌）
+     * @param keep     保留数量（含 {@code keepUuid}）
+     * @return 被删除的令牌
+     */
+    @Select("""
+            DELETE FROM xf_token
+            WHERE user_uuid = #{userUuid}
+              AND token_uuid <> #{keepUuid}
+              AND token_uuid NOT IN (
+                  SELECT token_uuid FROM xf_token
+                  WHERE user_uuid = #{userUuid}
+                    AND token_uuid <> #{keepUuid}
+                  ORDER BY created_at DESC, token_uuid DESC
+                  LIMIT #{keep} - 1
+              )
+            RETURNING token_uuid, user_uuid, expired_at
+            """)
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    List<TokenDO> trimSessions(@Param("userUuid") String userUuid, @Param("keepUuid") String keepUuid, @Param("keep") int keep);
+
+    /**
+     * 删除过期令牌
+     * <p>
+     * 该方法用于删除最多 {@code limit} 个在 {@code now} 之前过期的令牌。
+     *
+     * @param now   当前时间
+     * @param limit 单批最多删除数量
+     * @return 删除数量
+     */
+    @Delete("""
+            DELETE FROM xf_token
+            WHERE token_uuid IN (SELECT token_uuid FROM xf_token WHERE expired_at < #{now} LIMIT #{limit})
+            """)
+    int deleteExpired(@Param("now") Timestamp now, @Param("limit") int limit);
 }
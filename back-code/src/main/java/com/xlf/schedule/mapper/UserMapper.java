@@ -21,8 +21,13 @@
 package com.xlf.schedule.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.xlf.schedule.model.dto.UserFriendDTO;
 import com.xlf.schedule.model.entity.UserDO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * 用户表映射器
@@ -35,4 +40,58 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface UserMapper extends BaseMapper<UserDO> {
+
+    /**
+     * 获取存在的用户UUID
+     * <p>
+     * 该方法用于批量校验用户是否存在，一次查询返回列表中存在的用户UUID。
+     *
+     * @param uuidList 用户UUID列表
+     * @return 存在的用户UUID
+     */
+    @Select("""
+            SELECT uuid FROM xf_user
+            WHERE uuid = ANY(#{uuidList, typeHandler=com.xlf.schedule.config.handler.StringListTypeHandler})
+            """)
+    List<String> listExistingUuid(@Param("uuidList") List<String> uuidList);
+
+    /**
+     * 搜索可添加的用户
+     * <p>
+     * 该方法用于按关键字搜索用户名、手机号、邮箱与UUID，四列均建有 {@code gin_trgm_ops} 索引；
+     * 与当前用户已存在好友关系（任一方向、任一状态）的用户以及当前用户自己通过反连接排除，只查询好友列表所需的列；
+     * 结果按完全匹配、前缀匹配、包含匹配排序，同级按用户名排序，最多返回 {@code limit} 条。
+     *
+     * @param userUuid      当前用户UUID
+     * @param keyword       关键字
+     * @param pattern       包含匹配模式
+     * @param prefixPattern 前缀匹配模式
+     * @param limit         最大返回条数
+     * @return 用户列表
+     */
+    @Select("""
+            SELECT u.uuid, u.username, u.phone, u.email, u.enable, u.banned_at FROM xf_user u
+            WHERE (u.username ILIKE #{pattern} OR u.phone ILIKE #{pattern}
+                   OR u.email ILIKE #{pattern} OR u.uuid ILIKE #{pattern})
+              AND u.uuid <> #{userUuid}
+              AND NOT EXISTS (SELECT 1 FROM xf_friend f
+                              WHERE f.sender_user_uuid = #{userUuid} AND f.allower_user_uuid = u.uuid)
+              AND NOT EXISTS (SELECT 1 FROM xf_friend f
+                              WHERE f.sender_user_uuid = u.uuid AND f.allower_user_uuid = #{userUuid})
+            ORDER BY CASE
+                         WHEN lower(u.username) = lower(#{keyword}) OR u.phone = #{keyword}
+                              OR lower(u.email) = lower(#{keyword}) OR lower(u.uuid) = lower(#{keyword}) THEN 0
+                         WHEN u.username ILIKE #{prefixPattern} OR u.phone ILIKE #{prefixPattern}
+                              OR u.email ILIKE #{prefixPattern} OR u.uuid ILIKE #{prefixPattern} THEN 1
+                         ELSE 2
+                     END, u.username, u.uuid
+            LIMIT #{limit}
+            """)
+    List<UserFriendDTO> searchStranger(
+            @Param("userUuid") String userUuid,
+            @Param("keyword") String keyword,
+            @Param("pattern") String pattern,
+            @Param("prefixPattern") String prefixPattern,
+            @Param("limit") int limit
+    );
 }
@@ -0,0 +1,57 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * 游标分页
+ * <p>
+ * 该类用于定义键集（游标）分页；
+ * 该类包含以下字段：
+ * <ul>
+ *     <li>{@link List<T>} records</li>
+ *     <li>{@link String} nextCursor：下一页游标，没有更多数据时为 {@code null}</li>
+ *     <li>{@link Long} size</li>
+ *     <li>{@link Long} total：近似总数，仅在请求时返回，可能有短暂延迟</li>
+ * </ul>
+ * 该类用于无限滚动等按游标连续获取数据的场景。
+ *
+ * @param <T> 分页数据类型
+ * @version v1.0.0
+ * @since v1.0.0
+ * @author xiao_lfeng
+ */
+@Data
+@Accessors(chain = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> records;
+    private String nextCursor;
+    private Long size;
+    private Long total;
+}
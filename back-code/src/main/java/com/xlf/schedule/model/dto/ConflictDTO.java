@@ -0,0 +1,51 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.model.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.sql.Timestamp;
+
+/**
+ * 时间冲突数据传输对象
+ * <p>
+ * 该类用于定义时间冲突数据传输对象，描述与待写入日程或课程重叠的已有日程或课程;
+ * {@code type} 为 {@code schedule} 时 {@code uuid} 为日程UUID，为 {@code class} 时为课程UUID；
+ * 时间为首次重叠的那一次发生，课程之间的冲突只给出周次与节次。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class ConflictDTO {
+    private String type;
+    private String uuid;
+    private String name;
+    private Timestamp startTime;
+    private Timestamp endTime;
+    private Short week;
+    private Short dayTick;
+    private Short startTick;
+    private Short endTick;
+}
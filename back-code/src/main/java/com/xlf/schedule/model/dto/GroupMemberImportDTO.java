@@ -0,0 +1,50 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 小组成员导入结果数据传输对象
+ * <p>
+ * 该类用于定义小组成员导入结果数据传输对象;
+ * {@code total} 为去重后的用户数，等于 {@code added + present + unknown}；
+ * 未知用户列表只保留前若干个，超过上限的只计入数量。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Data
+@Accessors(chain = true)
+@NoArgsConstructor
+public class GroupMemberImportDTO {
+    private Integer total = 0;
+    private Integer added = 0;
+    private Integer present = 0;
+    private Integer unknown = 0;
+    private List<String> unknownUuids = new ArrayList<>();
+}
@@ -21,14 +21,17 @@
 package com.xlf.schedule.model.entity;
 
 import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
+import com.xlf.schedule.config.handler.StringListTypeHandler;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 
 import java.sql.Timestamp;
+import java.util.List;
 
 /**
  * 分组实体
@@ -40,7 +43,7 @@ import java.sql.Timestamp;
  * @since v1.0.0
  */
 @Data
-@TableName("xf_group")
+@TableName(value = "xf_group", autoResultMap = true)
 @Accessors(chain = true)
 @NoArgsConstructor
 @AllArgsConstructor
@@ -64,7 +67,8 @@ public class GroupDO {
     /**
      * 类型（自定义输入，便于区分）
      */
-    private String tags;
+    @TableField(typeHandler = StringListTypeHandler.class)
+    private List<String> tags;
 
     /**
      * 小组成员允许添加日程
@@ -21,14 +21,17 @@
 package com.xlf.schedule.model.entity;
 
 import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
+import com.xlf.schedule.config.handler.StringListTypeHandler;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 
 import java.sql.Timestamp;
+import java.util.List;
 
 /**
  * 日程表实体
@@ -40,7 +43,7 @@ import java.sql.Timestamp;
  * @since v1.0.0
  */
 @Data
-@TableName("xf_schedule")
+@TableName(value = "xf_schedule", autoResultMap = true)
 @Accessors(chain = true)
 @NoArgsConstructor
 @AllArgsConstructor
@@ -99,7 +102,8 @@ public class ScheduleDO {
     /**
      * 标签
      */
-    private String tags;
+    @TableField(typeHandler = StringListTypeHandler.class)
+    private List<String> tags;
 
     /**
      * 优先级(1,2,3,4: 较低，低，中，高）
@@ -55,4 +55,8 @@ public class ClassVO {
     private List<Short> weeks;
     private String teacher;
     private String location;
+    /**
+     * 是否检查时间冲突，存在冲突时不写入并返回冲突列表
+     */
+    private Boolean checkConflict;
 }
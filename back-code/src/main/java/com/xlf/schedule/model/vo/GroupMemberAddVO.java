@@ -22,7 +22,9 @@ package com.xlf.schedule.model.vo;
 
 import com.xlf.schedule.constant.PatternConstant;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.Getter;
 
 import java.util.List;
@@ -42,7 +44,7 @@ public class GroupMemberAddVO {
     @NotBlank(message = "小组标识符不能为空")
     @Pattern(regexp = PatternConstant.NO_DASH_UUID, message = "小组标识符格式错误")
     private String groupUuid;
-    @NotBlank(message = "用户标识符不能为空")
-    @Pattern(regexp = PatternConstant.NO_DASH_UUID, message = "用户标识符格式错误")
+    @NotEmpty(message = "用户标识符不能为空")
+    @Size(max = 20000, message = "单次最多添加 20000 名成员")
     private List<String> userUuid;
 }
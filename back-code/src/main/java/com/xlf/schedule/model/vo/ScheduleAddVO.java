@@ -57,4 +57,8 @@ public class ScheduleAddVO {
     @NotNull(message = "优先级不能为空")
     private Short priority;
     private List<String> resources;
+    /**
+     * 是否检查时间冲突，存在冲突时不写入并返回冲突列表
+     */
+    private Boolean checkConflict;
 }
@@ -0,0 +1,75 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.model.vo;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 日程批量操作值对象
+ * <p>
+ * 该类用于定义日程批量操作值对象;
+ * 新增操作的字段含义与 {@link ScheduleAddVO} 一致；更新操作只修改不为空的字段，不改变日程所属的个人或小组；
+ * 删除操作只需要日程主键。
+ *
+ * @version v1.0.0
+ * @since v1.0.0
+ * @author xiao_lfeng
+ */
+@Getter
+@SuppressWarnings("unused")
+public class ScheduleBatchVO {
+    /**
+     * 任一操作失败时是否放弃全部操作
+     */
+    private Boolean atomic = false;
+    @NotEmpty(message = "操作列表不能为空")
+    @Size(max = 200, message = "单次最多 200 个操作")
+    private List<@Valid @NotNull Operation> operations;
+
+    /**
+     * 单个操作
+     */
+    @Getter
+    @SuppressWarnings("unused")
+    public static class Operation {
+        @NotNull(message = "操作类型不能为空")
+        @Pattern(regexp = "^(create|update|delete)$", message = "操作类型只能为 create、update 或 delete")
+        private String op;
+        private String scheduleUuid;
+        private String groupUuid;
+        private String name;
+        private String description;
+        private Long startTime;
+        private Long endTime;
+        private Short type;
+        private Short loopType;
+        private Integer customLoop;
+        private List<String> tags;
+        private Short priority;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.model.vo;
+
+import com.xlf.schedule.constant.PatternConstant;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Getter;
+
+/**
+ * 日程冲突检查值对象
+ * <p>
+ * 该类用于定义日程冲突检查值对象，时间为毫秒时间戳；编辑已有日程前检查时传入 {@code scheduleUuid} 以排除日程自身;
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Getter
+@SuppressWarnings("unused")
+public class ScheduleConflictVO {
+    @Pattern(regexp = PatternConstant.NO_DASH_UUID, message = "日程UUID格式错误")
+    private String scheduleUuid;
+    @NotNull(message = "开始时间不能为空")
+    private Long startTime;
+    private Long endTime;
+    @NotNull(message = "日程类型不能为空")
+    private Short type;
+    private Short loopType;
+    private Integer customLoop;
+}
@@ -60,4 +60,8 @@ public class ScheduleEditVO {
     private Short priority;
     private List<String> addResources;
     private List<String> deleteResources;
+    /**
+     * 是否检查时间冲突，存在冲突时不写入并返回冲突列表
+     */
+    private Boolean checkConflict;
 }
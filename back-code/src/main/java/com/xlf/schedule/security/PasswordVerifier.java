@@ -0,0 +1,119 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.security;
+
+import com.xlf.schedule.exception.lib.ServiceBusyException;
+import com.xlf.utility.util.PasswordUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 密码校验器
+ * <p>
+ * 该类用于在独立的有界线程池中执行 bcrypt 密码校验，避免占用请求线程持有的数据库连接;
+ * 线程池满载或等待超时时抛出 {@link ServiceBusyException}，由异常处理器返回 {@code 503};
+ * 队列深度、活跃线程等指标通过 {@code executor.*{name=login}} 暴露;
+ * 该类使用 {@link Component} 注解标记;
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Slf4j
+@Component
+public class PasswordVerifier {
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    public PasswordVerifier(@NotNull Environment env, MeterRegistry meterRegistry) {
+        int threads = env.getProperty("schedule.login.threads", Integer.class, Runtime.getRuntime().availableProcessors());
+        int queueCapacity = env.getProperty("schedule.login.queue-capacity", Integer.class, 64);
+        this.timeoutMillis = env.getProperty("schedule.login.timeout-millis", Long.class, 3000L);
+        this.retryAfterSeconds = env.getProperty("schedule.login.retry-after-seconds", Long.class, 2L);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-verify-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        new ExecutorServiceMetrics(executor, "login", Tags.empty()).bindTo(meterRegistry);
+        log.info("[INIT] 密码校验线程池初始化 | 线程: {} | 队列: {}", threads, queueCapacity);
+    }
+
+    /**
+     * 校验密码
+     * <p>
+     * 该方法用于在密码校验线程池中校验明文密码与哈希是否匹配，调用方不应持有事务。
+     *
+     * @param password       明文密码
+     * @param hashedPassword 哈希密码
+     * @return 是否匹配
+     */
+    public boolean verify(String password, String hashedPassword) {
+        Future<Boolean> future;
+        try {
+            future = executor.submit(() -> PasswordUtil.verify(password, hashedPassword));
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("登录请求过多，请稍后重试", retryAfterSeconds);
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceBusyException("登录请求过多，请稍后重试", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceBusyException("登录请求被中断，请稍后重试", retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
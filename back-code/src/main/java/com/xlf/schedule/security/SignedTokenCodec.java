@@ -0,0 +1,170 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 签名令牌编解码器
+ * <p>
+ * 该类用于签发与校验 HMAC-SHA256 签名的访问令牌;
+ * 令牌格式为 {@code base64url(载荷).base64url(签名)}，载荷携带令牌UUID、用户UUID、角色名称与过期时间;
+ * 校验令牌不需要访问数据库，{@code xf_token} 仍作为会话台账保存令牌UUID;
+ * 该类使用 {@link Component} 注解标记;
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Component
+public class SignedTokenCodec {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Getter
+    private final boolean enabled;
+    private final ThreadLocal<Mac> mac;
+
+    public SignedTokenCodec(@NotNull Environment env) {
+        this.enabled = env.getProperty("schedule.token.signed.enabled", Boolean.class, false);
+        String secret = env.getProperty("schedule.token.signed.secret", "");
+        byte[] key;
+        if (secret.isBlank()) {
+            // 随机密钥签发的令牌在重启或其他节点上全部失效，开启签名令牌时必须显式配置密钥
+            if (enabled) {
+                throw new IllegalStateException("已开启签名令牌，但未配置 schedule.token.signed.secret");
+            }
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        SecretKeySpec keySpec = new SecretKeySpec(key, ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac newMac = Mac.getInstance(ALGORITHM);
+                newMac.init(keySpec);
+                return newMac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("无法初始化令牌签名算法", e);
+            }
+        });
+    }
+
+    /**
+     * 签发令牌
+     *
+     * @param tokenUuid 令牌UUID（{@code xf_token} 主键）
+     * @param userUuid  用户UUID
+     * @param role      角色名称
+     * @param expiredAt 过期时间（毫秒）
+     * @return {@link String} 签名令牌
+     */
+    public String sign(String tokenUuid, String userUuid, String role, long expiredAt) {
+        String payload = String.join(SEPARATOR, VERSION, tokenUuid, userUuid, role, Long.toString(expiredAt));
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(mac.get().doFinal(payloadBytes));
+    }
+
+    /**
+     * 校验令牌
+     * <p>
+     * 该方法用于校验令牌签名与过期时间，不访问数据库；
+     * 格式错误、签名不匹配或已过期时返回 {@code null}。
+     *
+     * @param token 签名令牌
+     * @return {@link SignedToken} 令牌载荷
+     */
+    @Nullable
+    public SignedToken parse(@NotNull String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, mac.get().doFinal(payloadBytes))) {
+                return null;
+            }
+            String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split("\\" + SEPARATOR);
+            if (fields.length != 5 || !VERSION.equals(fields[0])) {
+                return null;
+            }
+            long expiredAt = Long.parseLong(fields[4]);
+            if (expiredAt < System.currentTimeMillis()) {
+                return null;
+            }
+            return new SignedToken(fields[1], fields[2], fields[3], expiredAt);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 获取请求令牌
+     * <p>
+     * 该方法用于读取请求头 {@code Authorization} 中的令牌原文。
+     *
+     * @param request 请求
+     * @return {@link String} 令牌原文，不存在时返回 {@code null}
+     */
+    @Nullable
+    public String extract(@NotNull HttpServletRequest request) {
+        String authorization = request.getHeader("Authorization");
+        if (authorization == null || authorization.isBlank()) {
+            return null;
+        }
+        if (authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return authorization.substring(7).trim();
+        }
+        return authorization.trim();
+    }
+
+    /**
+     * 签名令牌载荷
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SignedToken {
+        private final String tokenUuid;
+        private final String userUuid;
+        private final String role;
+        private final long expiredAt;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 令牌吊销过滤器
+ * <p>
+ * 该类用于记录已吊销但尚未过期的签名令牌;
+ * 查询时先经过布隆过滤器，绝大多数未吊销令牌在此直接放行，命中后再由精确吊销表确认;
+ * 布隆过滤器不支持删除，{@link #compact()} 会清理已过期的吊销记录并重建过滤器;
+ * 吊销记录由 {@code schedule.token.signed.revocation-store} 决定是否共享：{@code redis}（默认）同时写入 Redis 有序集合
+ * {@code token_revoked}（成员为 {@code 令牌UUID:过期时间}，分值为吊销时间），启动时全量加载，
+ * 之后每 {@code schedule.token.signed.revocation-sync-millis} 增量拉取其他节点的吊销记录，重启或其他节点吊销的令牌同样失效;
+ * {@code memory} 仅保存在本进程，只适用于单节点部署;
+ * Redis 中的记录在 {@code schedule.token.signed.revocation-retention-hours} 后清理，该值需不小于令牌的最长有效期;
+ * 该类使用 {@link Component} 注解标记;
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Slf4j
+@Component
+public class TokenRevocationFilter {
+    /**
+     * 布隆过滤器位数（约 10 万条记录时误判率约 1%）
+     */
+    private static final int BLOOM_BITS = 1 << 20;
+    private static final int BLOOM_HASHES = 7;
+    private static final String REDIS_KEY = "token_revoked";
+    /**
+     * 增量拉取时回看的时间，覆盖节点间的时钟偏差
+     */
+    private static final long SYNC_OVERLAP_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * 精确吊销表（令牌UUID -> 过期时间）
+     */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile AtomicLongArray bloom = new AtomicLongArray(BLOOM_BITS / 64);
+    private final StringRedisTemplate redisTemplate;
+    private final long retentionMillis;
+    /**
+     * 上次增量拉取的时间（毫秒），{@code 0} 表示尚未加载
+     */
+    private volatile long lastSyncAt;
+
+    public TokenRevocationFilter(@NotNull Environment env, MeterRegistry meterRegistry, ObjectProvider<StringRedisTemplate> redisTemplateProvider) {
+        boolean enabled = env.getProperty("schedule.token.signed.enabled", Boolean.class, false);
+        String store = env.getProperty("schedule.token.signed.revocation-store", "redis");
+        this.retentionMillis = TimeUnit.HOURS.toMillis(env.getProperty("schedule.token.signed.revocation-retention-hours", Long.class, 24L));
+        StringRedisTemplate template = enabled && "redis".equalsIgnoreCase(store) ? redisTemplateProvider.getIfAvailable() : null;
+        if (enabled && "redis".equalsIgnoreCase(store) && template == null) {
+            log.warn("[INIT] 未找到 Redis 连接，令牌吊销表仅在本进程内生效");
+        }
+        this.redisTemplate = template;
+        Gauge.builder("schedule.token.revoked", revoked, Map::size)
+                .description("已吊销且未过期的签名令牌数量")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 吊销令牌
+     * <p>
+     * 吊销与压缩互斥，保证重建过滤器期间不会丢失新的吊销记录；
+     * 共享存储写入失败时抛出异常，由调用方的事务回滚令牌删除。
+     *
+     * @param tokenUuid 令牌UUID
+     * @param expiredAt 令牌过期时间（毫秒），过期后吊销记录可被清理
+     */
+    public synchronized void revoke(@NotNull String tokenUuid, long expiredAt) {
+        long now = System.currentTimeMillis();
+        if (expiredAt < now) {
+            return;
+        }
+        revoked.put(tokenUuid, expiredAt);
+        this.bloomAdd(bloom, tokenUuid);
+        if (redisTemplate != null) {
+            redisTemplate.opsForZSet().add(REDIS_KEY, tokenUuid + ":" + expiredAt, now);
+        }
+    }
+
+    /**
+     * 加载共享吊销记录
+     * <p>
+     * 应用启动完成后全量加载 Redis 中的吊销记录，重启前吊销的令牌不会重新生效；加载失败时由定时同步重试全量加载。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            log.info("[INIT] 令牌吊销表加载完成 | 加载: {}", this.sync());
+        } catch (Exception e) {
+            log.error("[INIT] 令牌吊销表加载失败，等待定时同步重试", e);
+        }
+    }
+
+    /**
+     * 增量同步共享吊销记录
+     * <p>
+     * 拉取上次同步后（回看 {@link #SYNC_OVERLAP_MILLIS}）写入的吊销记录，尚未成功加载过时拉取全部记录；
+     * 重复拉取的记录覆盖写入，不影响结果。
+     */
+    @Scheduled(fixedDelayString = "${schedule.token.signed.revocation-sync-millis:1000}")
+    public void scheduledSync() {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            this.sync();
+        } catch (Exception e) {
+            log.warn("[SERV] 令牌吊销表同步失败，稍后重试 | {}", e.getMessage());
+        }
+    }
+
+    private synchronized int sync() {
+        long now = System.currentTimeMillis();
+        double from = lastSyncAt == 0 ? Double.NEGATIVE_INFINITY : lastSyncAt - SYNC_OVERLAP_MILLIS;
+        Set<ZSetOperations.TypedTuple<String>> tupleSet = redisTemplate.opsForZSet()
+                .rangeByScoreWithScores(REDIS_KEY, from, Double.POSITIVE_INFINITY);
+        int loaded = 0;
+        if (tupleSet != null) {
+            for (ZSetOperations.TypedTuple<String> tuple : tupleSet) {
+                String member = tuple.getValue();
+                int split = member == null ? -1 : member.lastIndexOf(':');
+                if (split <= 0) {
+                    continue;
+                }
+                long expiredAt = Long.parseLong(member.substring(split + 1));
+                if (expiredAt >= now) {
+                    this.addLocal(member.substring(0, split), expiredAt);
+                    loaded++;
+                }
+            }
+        }
+        lastSyncAt = now;
+        return loaded;
+    }
+
+    private void addLocal(@NotNull String tokenUuid, long expiredAt) {
+        if (revoked.put(tokenUuid, expiredAt) == null) {
+            this.bloomAdd(bloom, tokenUuid);
+        }
+    }
+
+    /**
+     * 检查令牌是否被吊销
+     *
+     * @param tokenUuid 令牌UUID
+     * @return {@link Boolean} 是否被吊销
+     */
+    public boolean isRevoked(@NotNull String tokenUuid) {
+        return this.bloomMightContain(bloom, tokenUuid) && revoked.containsKey(tokenUuid);
+    }
+
+    /**
+     * 压缩吊销表
+     * <p>
+     * 该方法用于移除已过期的吊销记录并重建布隆过滤器，同时清理 Redis 中超过保留时间的记录。
+     */
+    public synchronized void compact() {
+        long now = System.currentTimeMillis();
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.opsForZSet().removeRangeByScore(REDIS_KEY, Double.NEGATIVE_INFINITY, now - retentionMillis);
+            } catch (Exception e) {
+                log.warn("[SERV] 清理 Redis 令牌吊销记录失败 | {}", e.getMessage());
+            }
+        }
+        revoked.values().removeIf(expiredAt -> expiredAt < now);
+        AtomicLongArray newBloom = new AtomicLongArray(BLOOM_BITS / 64);
+        revoked.keySet().forEach(tokenUuid -> this.bloomAdd(newBloom, tokenUuid));
+        bloom = newBloom;
+        log.debug("[SERV] 令牌吊销表压缩完成 | 剩余 {} 条", revoked.size());
+    }
+
+    private void bloomAdd(AtomicLongArray bits, @NotNull String key) {
+        long hash = this.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % BLOOM_BITS;
+            long mask = 1L << (bit & 63);
+            bits.getAndUpdate(bit >>> 6, word -> word | mask);
+        }
+    }
+
+    private boolean bloomMightContain(AtomicLongArray bits, @NotNull String key) {
+        long hash = this.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % BLOOM_BITS;
+            if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a 64 位哈希
+     */
+    private long hash64(@NotNull String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -20,6 +20,7 @@
 
 package com.xlf.schedule.service;
 
+import com.xlf.schedule.model.dto.AuthUserDTO;
 import com.xlf.schedule.model.vo.AuthRegisterVO;
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -34,6 +35,20 @@ import jakarta.servlet.http.HttpServletRequest;
  */
 public interface AuthService {
 
+    /**
+     * 登录
+     * <p>
+     * 该方法用于登录；用户可查询条件有三种 {@code 手机号}、{@code 邮箱}、{@code 用户名}；
+     * 用户信息与密码哈希通过一次查询取得，密码校验在独立线程池中进行且不持有事务，
+     * 校验通过后在短事务中写入会话令牌。
+     *
+     * @param user     用户（手机号、邮箱或用户名）
+     * @param password 密码
+     * @param request  请求
+     * @return {@link AuthUserDTO} 用户与令牌
+     */
+    AuthUserDTO login(String user, String password, HttpServletRequest request);
+
     /**
      * 检查用户和密码
      * <p>
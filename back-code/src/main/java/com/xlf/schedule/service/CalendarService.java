@@ -0,0 +1,89 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.service;
+
+import com.xlf.schedule.model.dto.UserDTO;
+import com.xlf.schedule.model.entity.CalendarDO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 日历订阅服务接口
+ * <p>
+ * 该接口是日历订阅服务接口，用于定义 iCalendar 订阅相关的服务方法
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+public interface CalendarService {
+
+    /**
+     * 生成订阅密钥
+     * <p>
+     * 该方法用于生成（或重新生成）用户的订阅密钥，原有订阅地址随之失效
+     *
+     * @param userDTO 用户信息
+     * @return 订阅密钥
+     */
+    String createFeedKey(UserDTO userDTO);
+
+    /**
+     * 删除订阅密钥
+     * <p>
+     * 该方法用于关闭用户的日历订阅
+     *
+     * @param userDTO 用户信息
+     */
+    void deleteFeedKey(UserDTO userDTO);
+
+    /**
+     * 获取订阅
+     * <p>
+     * 该方法用于根据订阅密钥获取订阅信息
+     *
+     * @param feedKey 订阅密钥
+     * @return 订阅信息
+     */
+    CalendarDO getByFeedKey(String feedKey);
+
+    /**
+     * 获取实体标签
+     * <p>
+     * 该方法用于根据订阅的变更版本生成 {@code ETag}，日程或课程变更后版本递增，标签随之改变
+     *
+     * @param calendarDO 订阅信息
+     * @return 实体标签
+     */
+    String getETag(CalendarDO calendarDO);
+
+    /**
+     * 输出日历
+     * <p>
+     * 该方法用于将用户的日程与课程以 iCalendar 格式逐行写入输出流
+     *
+     * @param userUuid     用户UUID
+     * @param outputStream 输出流
+     * @throws IOException 写出失败
+     */
+    void writeFeed(String userUuid, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,72 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.service;
+
+import com.xlf.schedule.model.dto.ConflictDTO;
+import com.xlf.schedule.model.entity.ScheduleDO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 时间冲突服务接口
+ * <p>
+ * 该接口是时间冲突服务接口，用于定义检查日程与课程时间重叠的服务方法
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+public interface ConflictService {
+
+    /**
+     * 检查日程冲突
+     * <p>
+     * 该方法用于查找与待写入日程重叠的用户已有日程（含所在小组的日程）与课程，日程自身（按日程UUID）不计入
+     *
+     * @param userUuid 用户uuid
+     * @param schedule 待写入的日程
+     * @return 冲突列表
+     */
+    List<ConflictDTO> checkScheduleConflict(String userUuid, ScheduleDO schedule);
+
+    /**
+     * 检查课程冲突
+     * <p>
+     * 该方法用于查找同一课程表中与待写入课程在任一周次重叠的已有课程
+     *
+     * @param classGradeUuid   课程表uuid
+     * @param weeks            周次
+     * @param dayTick          星期
+     * @param startTick        开始节次
+     * @param endTick          结束节次（不包含）
+     * @param excludeClassUuid 不计入的课程uuid
+     * @return 冲突列表
+     */
+    List<ConflictDTO> checkClassConflict(
+            String classGradeUuid,
+            Collection<Short> weeks,
+            short dayTick,
+            short startTick,
+            short endTick,
+            String excludeClassUuid
+    );
+}
@@ -24,12 +24,14 @@ package com.xlf.schedule.service;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.xlf.schedule.model.dto.ClassGradeDTO;
 import com.xlf.schedule.model.dto.ClassTimeDTO;
+import com.xlf.schedule.model.dto.ConflictDTO;
 import com.xlf.schedule.model.dto.UserDTO;
 import com.xlf.schedule.model.entity.ClassTimeMarketDO;
 import com.xlf.schedule.model.vo.ClassTimeVO;
 import com.xlf.schedule.model.vo.ClassVO;
 
 import java.util.Date;
+import java.util.List;
 
 /**
  * 课程表服务
@@ -244,19 +246,31 @@ public interface CurriculumService {
      */
     void addClass(UserDTO userDTO, ClassVO classVO);
 
+    /**
+     * 检查课程冲突
+     * <p>
+     * 该方法用于在添加课程前检查同一课程表中所请求的各周次是否已有重叠的课程
+     *
+     * @param userDTO 用户信息
+     * @param classVO 课程值对象
+     * @return 冲突列表
+     */
+    List<ConflictDTO> checkClassConflict(UserDTO userDTO, ClassVO classVO);
+
     /**
      * 删除课程
      * <p>
      * 该方法用于删除课程；删除课程时，需要提供 {@code 用户信息}、{@code 课程UUID}、{@code 第几周}、{@code 第几节}、{@code 第几节}、{@code 第几天}。
      *
-     * @param userDTO   用户信息
-     * @param classUuid 课程UUID
-     * @param week      移动周数
-     * @param startTick 第几节
-     * @param endTick   第几节
-     * @param dayTick   第几天
+     * @param userDTO       用户信息
+     * @param classUuid     课程UUID
+     * @param week          移动周数
+     * @param startTick     第几节
+     * @param endTick       第几节
+     * @param dayTick       第几天
+     * @param checkConflict 是否检查时间冲突
      */
-    void moveClass(UserDTO userDTO, String classUuid, Short week, Short startTick, Short endTick, Short dayTick);
+    void moveClass(UserDTO userDTO, String classUuid, Short week, Short startTick, Short endTick, Short dayTick, boolean checkConflict);
 
     /**
      * 删除课程
@@ -0,0 +1,82 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.service;
+
+import com.xlf.schedule.model.dto.TimeSlotDTO;
+import com.xlf.schedule.model.dto.UserDTO;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * 空闲忙碌服务接口
+ * <p>
+ * 该接口是空闲忙碌服务接口，用于定义基于课程与日程计算空闲时间的服务方法
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+public interface FreeBusyService {
+
+    /**
+     * 获取小组共同空闲时间
+     * <p>
+     * 该方法用于计算小组全部成员（含组长）在日期范围内都没有课程与日程的时间段
+     *
+     * @param userDTO    用户信息
+     * @param groupUuid  小组uuid
+     * @param startDate  开始日期（包含）
+     * @param endDate    结束日期（包含）
+     * @param minMinutes 最短时长（分钟）
+     * @param dayStart   每天可用的开始时间
+     * @param dayEnd     每天可用的结束时间
+     * @return 空闲时间段
+     */
+    List<TimeSlotDTO> getGroupFreeTime(
+            UserDTO userDTO,
+            String groupUuid,
+            LocalDate startDate,
+            LocalDate endDate,
+            int minMinutes,
+            LocalTime dayStart,
+            LocalTime dayEnd
+    );
+
+    /**
+     * 获取好友忙碌时间
+     * <p>
+     * 该方法用于获取好友在日期范围内的忙碌时间段，只包含时间，不包含课程或日程的任何内容
+     *
+     * @param userDTO    用户信息
+     * @param friendUuid 好友uuid
+     * @param startDate  开始日期（包含）
+     * @param endDate    结束日期（包含）
+     * @return 忙碌时间段
+     */
+    List<TimeSlotDTO> getFriendBusy(
+            UserDTO userDTO,
+            String friendUuid,
+            LocalDate startDate,
+            LocalDate endDate
+    );
+}
@@ -20,6 +20,7 @@
 
 package com.xlf.schedule.service;
 
+import com.xlf.schedule.model.CursorPage;
 import com.xlf.schedule.model.dto.UserDTO;
 import com.xlf.schedule.model.dto.UserFriendDTO;
 
@@ -72,10 +73,12 @@ public interface FriendService {
     /**
      * 查询好友
      * <p>
-     * 该方法用于查询用户还没有添加为好友用于查询好友的操作
+     * 该方法用于查询用户还没有添加为好友用于查询好友的操作；
+     * 已存在好友关系（包括待审核与被拒绝）的用户不会返回，完全匹配与前缀匹配优先，最多返回 20 个用户
      *
      * @param userDTO 用户信息
      * @param search  搜索关键字
+     * @return 用户列表
      */
     List<UserFriendDTO> searchFriend(UserDTO userDTO, String search);
 
@@ -114,4 +117,17 @@ public interface FriendService {
      * @param userDTO 用户信息
      */
     List<UserFriendDTO> getFriendDeniedList(UserDTO userDTO);
+
+    /**
+     * 按游标获取好友相关列表
+     * <p>
+     * 该方法用于以键集分页的方式获取好友、好友申请、待审核或已拒绝列表，按对方用户UUID 排序，适用于好友数量较多的用户
+     *
+     * @param userDTO 用户信息
+     * @param type    列表类型（{@code friend}、{@code application}、{@code pending}、{@code denied}）
+     * @param cursor  上一页返回的游标，为空时从第一页开始
+     * @param size    每页条数
+     * @return 游标分页
+     */
+    CursorPage<UserFriendDTO> getFriendListByCursor(UserDTO userDTO, String type, String cursor, Integer size);
 }
@@ -36,9 +36,41 @@ public interface RoleService {
      * 检查角色是否有管理员
      * <p>
      * 该方法用于检查角色是否有管理员；
-     * 如果有管理员，则抛出异常。
+     * 参数可以是角色UUID，也可以是角色名称（{@link com.xlf.schedule.model.dto.UserDTO#getRole()}）；
+     * 角色不存在时视为非管理员，不会触发角色表刷新。
      *
      * @param roleUuid 角色UUID
+     * @return {@link Boolean} 是否为管理员
      */
     boolean checkRoleHasAdmin(String roleUuid);
+
+    /**
+     * 获取角色名称
+     * <p>
+     * 该方法用于从角色表快照中获取角色名称；
+     * 角色不存在时抛出异常。
+     *
+     * @param roleUuid 角色UUID
+     * @return {@link String} 角色名称
+     */
+    String getRoleName(String roleUuid);
+
+    /**
+     * 获取角色UUID
+     * <p>
+     * 该方法用于从角色表快照中根据角色名称获取角色UUID；
+     * 角色不存在时抛出异常。
+     *
+     * @param roleName 角色名称
+     * @return {@link String} 角色UUID
+     */
+    String getRoleUuid(String roleName);
+
+    /**
+     * 刷新角色表
+     * <p>
+     * 该方法用于从数据库重新加载角色表快照；
+     * 角色在初始化时写入后基本不会改变，角色发生变更后需要调用该方法；查询不存在的角色不会自动刷新。
+     */
+    void refreshRoles();
 }
@@ -21,17 +21,26 @@
 package com.xlf.schedule.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.xlf.schedule.model.CursorPage;
+import com.xlf.schedule.model.dto.ConflictDTO;
 import com.xlf.schedule.model.dto.GroupDTO;
+import com.xlf.schedule.model.dto.GroupMemberImportDTO;
+import com.xlf.schedule.model.dto.ScheduleBatchDTO;
 import com.xlf.schedule.model.dto.ScheduleDTO;
+import com.xlf.schedule.model.dto.ScheduleImportDTO;
 import com.xlf.schedule.model.dto.SchedulePriorityDTO;
+import com.xlf.schedule.model.dto.TagFacetDTO;
 import com.xlf.schedule.model.dto.UserDTO;
 import com.xlf.schedule.model.entity.GroupDO;
 import com.xlf.schedule.model.entity.ScheduleDO;
 import com.xlf.schedule.model.vo.GroupVO;
 import com.xlf.schedule.model.vo.ScheduleAddVO;
+import com.xlf.schedule.model.vo.ScheduleBatchVO;
+import com.xlf.schedule.model.vo.ScheduleConflictVO;
 import com.xlf.schedule.model.vo.ScheduleEditVO;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -127,13 +136,26 @@ public interface ScheduleService {
     /**
      * 添加小组成员列表
      * <p>
-     * 该方法用于添加小组成员列表
+     * 该方法用于添加小组成员列表，用户存在性一次批量校验，已在小组中的成员与不存在的用户跳过而不影响其余成员
      *
      * @param userDTO        用户信息
      * @param groupUuid      小组uuid
      * @param memberUuidList 成员uuid列表
+     * @return 导入结果
      */
-    void addGroupMemberList(UserDTO userDTO, String groupUuid, List<String> memberUuidList);
+    GroupMemberImportDTO addGroupMemberList(UserDTO userDTO, String groupUuid, List<String> memberUuidList);
+
+    /**
+     * 导入小组成员
+     * <p>
+     * 该方法用于按流读取 CSV 文件中的用户UUID并分批添加为小组成员，规则同 {@link #addGroupMemberList}
+     *
+     * @param userDTO     用户信息
+     * @param groupUuid   小组uuid
+     * @param inputStream 文件内容
+     * @return 导入结果
+     */
+    GroupMemberImportDTO importGroupMember(UserDTO userDTO, String groupUuid, InputStream inputStream);
 
     /**
      * 删除小组成员
@@ -156,6 +178,30 @@ public interface ScheduleService {
      */
     void addSchedule(UserDTO userDTO, ScheduleAddVO scheduleAddVO);
 
+    /**
+     * 导入日程
+     * <p>
+     * 该方法用于按流解析 iCalendar 或 CSV 文件并批量写入日程，校验失败的行记录在导入结果中，不影响其余行
+     *
+     * @param userDTO     用户信息
+     * @param inputStream 文件内容
+     * @param format      文件格式（ics 或 csv）
+     * @param groupUuid   默认导入的小组，为空时导入为个人日程
+     * @return 导入结果
+     */
+    ScheduleImportDTO importSchedule(UserDTO userDTO, InputStream inputStream, String format, String groupUuid);
+
+    /**
+     * 批量操作日程
+     * <p>
+     * 该方法用于在一个事务中执行多个新增、更新与删除操作，引用的日程与小组各通过一次查询加载，权限在内存中校验
+     *
+     * @param userDTO         用户信息
+     * @param scheduleBatchVO 批量操作请求参数
+     * @return 每个操作的执行结果
+     */
+    ScheduleBatchDTO batchSchedule(UserDTO userDTO, ScheduleBatchVO scheduleBatchVO);
+
     /**
      * 编辑日程
      * <p>
@@ -167,6 +213,17 @@ public interface ScheduleService {
      */
     void editSchedule(UserDTO userDTO, String scheduleUuid, ScheduleEditVO scheduleEditVO);
 
+    /**
+     * 检查日程冲突
+     * <p>
+     * 该方法用于在写入前检查日程与用户已有日程、所在小组日程及课程是否重叠
+     *
+     * @param userDTO            用户信息
+     * @param scheduleConflictVO 冲突检查请求参数
+     * @return 冲突列表
+     */
+    List<ConflictDTO> checkScheduleConflict(UserDTO userDTO, ScheduleConflictVO scheduleConflictVO);
+
     /**
      * 删除日程
      * <p>
@@ -197,14 +254,41 @@ public interface ScheduleService {
      * @param page    页码
      * @param size    每页大小
      * @param search  搜索关键字
+     * @param tag     标签（完全匹配），为空时不过滤
      * @return 日程列表
      */
-    Page<ScheduleDO> getScheduleList(UserDTO userDTO, Integer page, Integer size, String search);
+    Page<ScheduleDO> getScheduleList(UserDTO userDTO, Integer page, Integer size, String search, String tag);
+
+    /**
+     * 按游标获取日程列表
+     * <p>
+     * 该方法用于以键集分页的方式获取日程列表，按开始时间、日程UUID排序；
+     * 游标为空时从第一条开始，返回的 {@code nextCursor} 为空表示没有更多数据。
+     *
+     * @param userDTO   用户信息
+     * @param cursor    游标
+     * @param size      每页大小
+     * @param search    搜索关键字
+     * @param tag       标签（完全匹配），为空时不过滤
+     * @param withTotal 是否返回近似总数
+     * @return 日程列表
+     */
+    CursorPage<ScheduleDTO> getScheduleListByCursor(UserDTO userDTO, String cursor, Integer size, String search, String tag, boolean withTotal);
+
+    /**
+     * 获取标签统计
+     * <p>
+     * 该方法用于统计用户个人日程与所在小组的标签及其数量。
+     *
+     * @param userDTO 用户信息
+     * @return 标签统计
+     */
+    TagFacetDTO getTagFacet(UserDTO userDTO);
 
     /**
      * 获取日程优先级列表
      * <p>
-     * 该方法用于获取日程优先级列表
+     * 该方法用于获取日程优先级列表；循环日程按时间线窗口展开为窗口内的每一次发生
      *
      * @param userDTO  用户信息
      * @param timeline 时间线
@@ -215,7 +299,7 @@ public interface ScheduleService {
     /**
      * 获取日程列表
      * <p>
-     * 该方法用于获取日程列表
+     * 该方法用于获取日程列表；循环日程按 {@code [startTime, endTime]} 窗口展开为窗口内的每一次发生
      *
      * @param userDTO 用户信息
      * @param groupUuid 小组uuid
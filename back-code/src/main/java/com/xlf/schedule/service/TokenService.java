@@ -21,6 +21,7 @@
 package com.xlf.schedule.service;
 
 import com.xlf.schedule.model.entity.TokenDO;
+import com.xlf.schedule.security.SignedTokenCodec;
 import jakarta.servlet.http.HttpServletRequest;
 
 import java.util.List;
@@ -39,14 +40,16 @@ public interface TokenService {
     /**
      * 创建令牌
      * <p>
-     * 该方法用于创建令牌。
+     * 该方法用于创建令牌；
+     * 角色由调用方从已加载的用户信息传入，用于确定会话上限与签名令牌中的角色，创建令牌时不再查询用户表。
      *
      * @param userUuid        用户UUID
+     * @param roleUuid        用户角色UUID
      * @param expiredHourTime 有效时间（小时）
      * @param request         请求
      * @return {@link String} 令牌
      */
-    String createToken(String userUuid, Long expiredHourTime, HttpServletRequest request);
+    String createToken(String userUuid, String roleUuid, Long expiredHourTime, HttpServletRequest request);
 
     /**
      * 检查令牌
@@ -71,7 +74,8 @@ public interface TokenService {
      * 清除令牌
      * <p>
      * 该方法用于清除令牌，即删除令牌；
-     * 当执行该方法时，将删除指定用户的所有令牌，即清除所有令牌。
+     * 当执行该方法时，将删除指定用户的所有令牌，即清除所有令牌；
+     * 签名令牌模式下同时吊销这些令牌，修改密码、封禁与禁用用户时调用。
      *
      * @param userUuid 用户UUID
      * @return {@link Boolean} 是否成功
@@ -99,4 +103,27 @@ public interface TokenService {
      * @return {@link List<TokenDO>} 令牌列表
      */
     List<TokenDO> list(String userUuid);
+
+    /**
+     * 解析请求令牌
+     * <p>
+     * 该方法用于从请求头中解析令牌UUID（{@code xf_token} 主键）；
+     * 签名令牌模式下，签名令牌在内存中完成签名、过期与吊销校验，不访问数据库；
+     * 令牌无效时返回 {@code null}。
+     *
+     * @param request 请求
+     * @return {@link String} 令牌UUID
+     */
+    String resolveTokenUuid(HttpServletRequest request);
+
+    /**
+     * 解析签名令牌
+     * <p>
+     * 该方法用于在签名令牌模式下校验请求中的签名令牌，签名、载荷中的过期时间与吊销表均在内存中校验，不访问数据库；
+     * 未开启签名令牌、请求携带旧式令牌或令牌无效时返回 {@code null}。
+     *
+     * @param request 请求
+     * @return {@link SignedTokenCodec.SignedToken} 已校验的令牌载荷
+     */
+    SignedTokenCodec.SignedToken resolveSignedToken(HttpServletRequest request);
 }
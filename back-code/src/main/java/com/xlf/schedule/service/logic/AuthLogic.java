@@ -20,13 +20,18 @@
 
 package com.xlf.schedule.service.logic;
 
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.xlf.schedule.constant.PatternConstant;
 import com.xlf.schedule.constant.StringConstant;
-import com.xlf.schedule.dao.RoleDAO;
 import com.xlf.schedule.dao.UserDAO;
-import com.xlf.schedule.model.entity.RoleDO;
+import com.xlf.schedule.model.dto.AuthUserDTO;
+import com.xlf.schedule.model.dto.UserDTO;
 import com.xlf.schedule.model.entity.UserDO;
 import com.xlf.schedule.model.vo.AuthRegisterVO;
+import com.xlf.schedule.security.PasswordVerifier;
 import com.xlf.schedule.service.AuthService;
+import com.xlf.schedule.service.RoleService;
+import com.xlf.schedule.service.TokenService;
 import com.xlf.utility.ErrorCode;
 import com.xlf.utility.exception.BusinessException;
 import com.xlf.utility.exception.library.UserAuthenticationException;
@@ -35,7 +40,11 @@ import com.xlf.utility.util.UuidUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.regex.Pattern;
 
 /**
  * 授权逻辑
@@ -57,17 +66,62 @@ public class AuthLogic implements AuthService {
      */
     private final UserDAO userDAO;
     /**
-     * 角色数据访问对象
+     * 角色服务
+     */
+    private final RoleService roleService;
+    /**
+     * 令牌服务
+     */
+    private final TokenService tokenService;
+    /**
+     * 密码校验器
      */
-    private final RoleDAO roleDAO;
+    private final PasswordVerifier passwordVerifier;
+
+    @Override
+    public AuthUserDTO login(String user, String password, HttpServletRequest request) {
+        SFunction<UserDO, String> column;
+        if (Pattern.matches(PatternConstant.PHONE, user)) {
+            column = UserDO::getPhone;
+        } else if (Pattern.matches(PatternConstant.EMAIL, user)) {
+            column = UserDO::getEmail;
+        } else if (Pattern.matches(PatternConstant.USERNAME, user)) {
+            column = UserDO::getUsername;
+        } else {
+            throw new BusinessException(StringConstant.USER_NOT_EXIST, ErrorCode.NOT_EXIST);
+        }
+        // 一次查询取得用户信息与密码哈希，不读取旧密码
+        UserDO getUserDO = userDAO.lambdaQuery()
+                .select(UserDO::getUuid, UserDO::getUsername, UserDO::getPhone, UserDO::getEmail,
+                        UserDO::getEmailVerify, UserDO::getPassword, UserDO::getRole, UserDO::getCreatedAt,
+                        UserDO::getUpdatedAt, UserDO::getEnable, UserDO::getBannedAt)
+                .eq(column, user)
+                .one();
+        if (getUserDO == null) {
+            throw new BusinessException(StringConstant.USER_NOT_EXIST, ErrorCode.NOT_EXIST);
+        }
+        if (!passwordVerifier.verify(password, getUserDO.getPassword())) {
+            throw new UserAuthenticationException(UserAuthenticationException.ErrorType.WRONG_PASSWORD, request);
+        }
+        // 令牌写入在 TokenService 的短事务中完成
+        String getUserToken = tokenService.createToken(getUserDO.getUuid(), getUserDO.getRole(), 12L, request);
+        UserDTO userDTO = new UserDTO();
+        BeanUtils.copyProperties(getUserDO, userDTO);
+        return new AuthUserDTO()
+                .setUser(userDTO)
+                .setToken(getUserToken);
+    }
 
     @Override
     public void checkUserAndPassword(String userUuid, String password, HttpServletRequest request) {
-        UserDO getUserDO = userDAO.lambdaQuery().eq(UserDO::getUuid, userUuid).one();
+        UserDO getUserDO = userDAO.lambdaQuery()
+                .select(UserDO::getUuid, UserDO::getPassword)
+                .eq(UserDO::getUuid, userUuid)
+                .one();
         if (getUserDO == null) {
             throw new UserAuthenticationException(UserAuthenticationException.ErrorType.USER_NOT_EXIST, request);
         }
-        if (!PasswordUtil.verify(password, getUserDO.getPassword())) {
+        if (!passwordVerifier.verify(password, getUserDO.getPassword())) {
             throw new UserAuthenticationException(UserAuthenticationException.ErrorType.WRONG_PASSWORD, request);
         }
     }
@@ -84,19 +138,19 @@ public class AuthLogic implements AuthService {
         }
         // 注册用户
         String newUserUuid = UuidUtil.generateStringUuid();
-        RoleDO getUseRole = roleDAO.lambdaQuery().eq(RoleDO::getName, "USER").one();
         UserDO userDO = new UserDO()
                 .setUuid(newUserUuid)
                 .setUsername(authRegisterVO.getUsername())
                 .setPhone(authRegisterVO.getPhone())
                 .setEmail(authRegisterVO.getEmail())
-                .setRole(getUseRole.getRoleUuid())
+                .setRole(roleService.getRoleUuid("USER"))
                 .setPassword(PasswordUtil.encrypt(authRegisterVO.getPassword()));
         userDAO.save(userDO);
         return newUserUuid;
     }
 
     @Override
+    @Transactional
     public void changePassword(String userUuid, String password) {
         UserDO userDO = userDAO.lambdaQuery().eq(UserDO::getUuid, userUuid).one();
         if (userDO == null) {
@@ -106,5 +160,7 @@ public class AuthLogic implements AuthService {
                 .setOldPassword(userDO.getPassword())
                 .setPassword(PasswordUtil.encrypt(password));
         userDAO.lambdaUpdate().eq(UserDO::getUuid, userUuid).update(userDO);
+        // 修改密码后吊销并删除该用户的全部令牌
+        tokenService.clearToken(userUuid);
     }
 }
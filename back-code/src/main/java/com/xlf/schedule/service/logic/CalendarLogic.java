@@ -0,0 +1,349 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.service.logic;
+
+import com.xlf.schedule.dao.CalendarDAO;
+import com.xlf.schedule.dao.ClassDAO;
+import com.xlf.schedule.dao.ClassGradeDAO;
+import com.xlf.schedule.dao.ClassTimeMarketDAO;
+import com.xlf.schedule.dao.ScheduleDAO;
+import com.xlf.schedule.model.dto.UserDTO;
+import com.xlf.schedule.model.dto.json.ClassTimeAbleDTO;
+import com.xlf.schedule.model.entity.CalendarDO;
+import com.xlf.schedule.model.entity.ClassGradeDO;
+import com.xlf.schedule.model.entity.ScheduleDO;
+import com.xlf.schedule.service.CalendarService;
+import com.xlf.schedule.util.ClassSessionUtil;
+import com.xlf.schedule.util.IcsUtil;
+import com.xlf.schedule.util.RecurrenceUtil;
+import com.xlf.utility.ErrorCode;
+import com.xlf.utility.exception.BusinessException;
+import com.xlf.utility.util.UuidUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 日历订阅逻辑
+ * <p>
+ * 该类用于定义日历订阅逻辑;
+ * 日程与课程通过数据库游标逐行读取，在限时只读事务内写入有界缓冲（超出内存上限后落盘为临时文件），
+ * 事务结束、连接归还后再写入响应流，避免缓慢的订阅客户端长时间占用连接池；
+ * 循环日程输出为带 {@code RRULE} 的单个事件，由客户端展开。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CalendarLogic implements CalendarService {
+    private static final String PRODID = "-//XiaoLFeng//Schedule Planning Platform//CN";
+    private static final String CALENDAR_NAME = "日程规划";
+    private static final int FEED_TIMEOUT_SECONDS = 30;
+    private static final int FEED_MEMORY_BYTES = 1 << 20;
+
+    private final CalendarDAO calendarDAO;
+    private final ScheduleDAO scheduleDAO;
+    private final ClassDAO classDAO;
+    private final ClassGradeDAO classGradeDAO;
+    private final ClassTimeMarketDAO classTimeMarketDAO;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public String createFeedKey(@NotNull UserDTO userDTO) {
+        String feedKey = UuidUtil.generateUuidNoDash() + UuidUtil.generateUuidNoDash();
+        CalendarDO calendarDO = calendarDAO.lambdaQuery()
+                .eq(CalendarDO::getUserUuid, userDTO.getUuid())
+                .oneOpt()
+                .orElse(null);
+        if (calendarDO == null) {
+            calendarDAO.save(new CalendarDO()
+                    .setUserUuid(userDTO.getUuid())
+                    .setFeedKey(feedKey));
+        } else {
+            calendarDO
+                    .setFeedKey(feedKey)
+                    .setUpdatedAt(new Timestamp(System.currentTimeMillis()));
+            calendarDAO.updateById(calendarDO);
+        }
+        return feedKey;
+    }
+
+    @Override
+    public void deleteFeedKey(@NotNull UserDTO userDTO) {
+        calendarDAO.lambdaUpdate()
+                .eq(CalendarDO::getUserUuid, userDTO.getUuid())
+                .remove();
+    }
+
+    @Override
+    public CalendarDO getByFeedKey(String feedKey) {
+        return calendarDAO.lambdaQuery()
+                .eq(CalendarDO::getFeedKey, feedKey)
+                .oneOpt()
+                .orElseThrow(() -> new BusinessException("日历订阅不存在", ErrorCode.NOT_EXIST));
+    }
+
+    @Override
+    public String getETag(@NotNull CalendarDO calendarDO) {
+        return "\"" + calendarDO.getFeedKey().substring(0, 8) + "-" + calendarDO.getVersion() + "\"";
+    }
+
+    @Override
+    public void writeFeed(String userUuid, OutputStream outputStream) throws IOException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setTimeout(FEED_TIMEOUT_SECONDS);
+        try (SpillBuffer buffer = new SpillBuffer(FEED_MEMORY_BYTES)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    this.renderFeed(userUuid, buffer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            buffer.transferTo(outputStream);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 渲染日历订阅
+     * <p>
+     * 该方法需在只读事务内调用，游标读取完毕即返回，不依赖客户端的读取速度。
+     *
+     * @param userUuid     用户主键
+     * @param outputStream 缓冲输出
+     * @throws IOException 写出失败
+     */
+    private void renderFeed(String userUuid, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 8192);
+        String stamp = IcsUtil.formatUtc(Instant.now());
+        IcsUtil.writeLine(writer, "BEGIN", "VCALENDAR");
+        IcsUtil.writeLine(writer, "VERSION", "2.0");
+        IcsUtil.writeLine(writer, "PRODID", PRODID);
+        IcsUtil.writeLine(writer, "CALSCALE", "GREGORIAN");
+        IcsUtil.writeLine(writer, "METHOD", "PUBLISH");
+        IcsUtil.writeText(writer, "X-WR-CALNAME", CALENDAR_NAME);
+        try (Cursor<ScheduleDO> cursor = scheduleDAO.cursorFeedByUser(userUuid)) {
+            for (ScheduleDO scheduleDO : cursor) {
+                this.writeSchedule(writer, scheduleDO, stamp);
+            }
+        }
+        Map<String, List<ClassTimeAbleDTO>> timetableMap = classTimeMarketDAO.mapTimetableByIds(classGradeDAO.lambdaQuery()
+                .select(ClassGradeDO::getClassTimeUuid)
+                .eq(ClassGradeDO::getUserUuid, userUuid)
+                .list().stream()
+                .map(ClassGradeDO::getClassTimeUuid)
+                .toList());
+        try (Cursor<Map<String, Object>> cursor = classDAO.cursorFeedByUser(userUuid)) {
+            for (Map<String, Object> row : cursor) {
+                this.writeClass(writer, row, timetableMap, stamp);
+            }
+        }
+        IcsUtil.writeLine(writer, "END", "VCALENDAR");
+        writer.flush();
+    }
+
+    /**
+     * 写出日程事件
+     * <p>
+     * 一日任务输出为全天事件；循环任务以首次发生为 {@code DTSTART} 并附带 {@code RRULE}；
+     * 持续时间为 {@code 0} 时不输出 {@code DTEND}。
+     *
+     * @param writer     输出
+     * @param scheduleDO 日程
+     * @param stamp      时间戳
+     * @throws IOException 写出失败
+     */
+    private void writeSchedule(@NotNull Writer writer, @NotNull ScheduleDO scheduleDO, @NotNull String stamp) throws IOException {
+        if (scheduleDO.getStartTime() == null) {
+            return;
+        }
+        LocalDateTime start = scheduleDO.getStartTime().toLocalDateTime();
+        Duration duration = RecurrenceUtil.getDuration(scheduleDO);
+        String rrule = RecurrenceUtil.toRRule(scheduleDO);
+        if (rrule != null) {
+            start = RecurrenceUtil.expand(scheduleDO, start, start.plusMonths(2)).findFirst().orElse(start);
+        }
+        IcsUtil.writeLine(writer, "BEGIN", "VEVENT");
+        IcsUtil.writeLine(writer, "UID", scheduleDO.getScheduleUuid() + "@schedule");
+        IcsUtil.writeLine(writer, "DTSTAMP", stamp);
+        if (scheduleDO.getType() != null && scheduleDO.getType() == 2) {
+            LocalDate startDate = start.toLocalDate();
+            LocalDate endDate = start.plus(duration).toLocalDate();
+            IcsUtil.writeLine(writer, "DTSTART;VALUE=DATE", IcsUtil.formatDate(startDate));
+            IcsUtil.writeLine(writer, "DTEND;VALUE=DATE", IcsUtil.formatDate(endDate.isAfter(startDate) ? endDate.plusDays(1) : startDate.plusDays(1)));
+        } else {
+            IcsUtil.writeLine(writer, "DTSTART", IcsUtil.formatDateTime(start));
+            if (!duration.isZero()) {
+                IcsUtil.writeLine(writer, "DTEND", IcsUtil.formatDateTime(start.plus(duration)));
+            }
+        }
+        if (rrule != null) {
+            IcsUtil.writeLine(writer, "RRULE", rrule);
+        }
+        IcsUtil.writeText(writer, "SUMMARY", scheduleDO.getName());
+        IcsUtil.writeText(writer, "DESCRIPTION", scheduleDO.getDescription());
+        if (scheduleDO.getTags() != null && !scheduleDO.getTags().isEmpty()) {
+            IcsUtil.writeLine(writer, "CATEGORIES", String.join(",", scheduleDO.getTags().stream()
+                    .filter(Objects::nonNull)
+                    .map(IcsUtil::escape)
+                    .toList()));
+        }
+        if (scheduleDO.getPriority() != null) {
+            // 优先级 4（高）到 1（较低）对应 iCalendar 的 1（最高）到 9（最低）
+            switch (scheduleDO.getPriority()) {
+                case 4 -> IcsUtil.writeLine(writer, "PRIORITY", "1");
+                case 3 -> IcsUtil.writeLine(writer, "PRIORITY", "5");
+                case 2 -> IcsUtil.writeLine(writer, "PRIORITY", "7");
+                case 1 -> IcsUtil.writeLine(writer, "PRIORITY", "9");
+                default -> {
+                }
+            }
+        }
+        IcsUtil.writeLine(writer, "END", "VEVENT");
+    }
+
+    /**
+     * 写出课程事件
+     * <p>
+     * 上课日期为学期开始日期加上周次与星期的偏移，时间取自课程时间表中开始与结束节次；
+     * 数据无法对应到课程时间表的课程将被跳过。
+     *
+     * @param writer       输出
+     * @param row          课程数据
+     * @param timetableMap 课程时间表
+     * @param stamp        时间戳
+     * @throws IOException 写出失败
+     */
+    private void writeClass(
+            @NotNull Writer writer,
+            @NotNull Map<String, Object> row,
+            @NotNull Map<String, List<ClassTimeAbleDTO>> timetableMap,
+            @NotNull String stamp
+    ) throws IOException {
+        ClassSessionUtil.Session session = ClassSessionUtil.resolve(row, timetableMap);
+        if (session == null) {
+            return;
+        }
+        IcsUtil.writeLine(writer, "BEGIN", "VEVENT");
+        IcsUtil.writeLine(writer, "UID", row.get("class_uuid") + "@class");
+        IcsUtil.writeLine(writer, "DTSTAMP", stamp);
+        IcsUtil.writeLine(writer, "DTSTART", IcsUtil.formatDateTime(session.getStart()));
+        IcsUtil.writeLine(writer, "DTEND", IcsUtil.formatDateTime(session.getEnd()));
+        IcsUtil.writeText(writer, "SUMMARY", (String) row.get("name"));
+        IcsUtil.writeText(writer, "LOCATION", (String) row.get("location"));
+        Object teacher = row.get("teacher");
+        if (teacher != null) {
+            IcsUtil.writeText(writer, "DESCRIPTION", "授课老师：" + teacher);
+        }
+        IcsUtil.writeLine(writer, "END", "VEVENT");
+    }
+
+    /**
+     * 有界缓冲
+     * <p>
+     * 该类用于在事务内暂存日历内容；内容未超过内存上限时保存在内存中，超出后转存至临时文件，
+     * 关闭时删除临时文件。
+     */
+    private static class SpillBuffer extends OutputStream {
+        private final int memoryLimit;
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream(8192);
+        private Path file;
+        private OutputStream fileStream;
+
+        private SpillBuffer(int memoryLimit) {
+            this.memoryLimit = memoryLimit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.target(1).write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            this.target(len).write(b, off, len);
+        }
+
+        private OutputStream target(int length) throws IOException {
+            if (fileStream == null && memory.size() + length > memoryLimit) {
+                file = Files.createTempFile("calendar-feed-", ".ics");
+                fileStream = new BufferedOutputStream(Files.newOutputStream(file), 8192);
+                memory.writeTo(fileStream);
+                memory = null;
+            }
+            return fileStream != null ? fileStream : memory;
+        }
+
+        /**
+         * 将缓冲内容写出
+         *
+         * @param outputStream 输出
+         * @throws IOException 写出失败
+         */
+        private void transferTo(@NotNull OutputStream outputStream) throws IOException {
+            if (fileStream == null) {
+                memory.writeTo(outputStream);
+            } else {
+                fileStream.close();
+                Files.copy(file, outputStream);
+            }
+            outputStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (fileStream != null) {
+                fileStream.close();
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
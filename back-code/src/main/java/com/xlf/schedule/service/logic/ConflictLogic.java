@@ -0,0 +1,230 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.service.logic;
+
+import com.xlf.schedule.cache.GroupAccessCache;
+import com.xlf.schedule.dao.ClassDAO;
+import com.xlf.schedule.dao.ClassTimeMarketDAO;
+import com.xlf.schedule.dao.ScheduleDAO;
+import com.xlf.schedule.model.dto.ConflictDTO;
+import com.xlf.schedule.model.dto.json.ClassTimeAbleDTO;
+import com.xlf.schedule.model.entity.ClassDO;
+import com.xlf.schedule.model.entity.ScheduleDO;
+import com.xlf.schedule.service.ConflictService;
+import com.xlf.schedule.util.ClassSessionUtil;
+import com.xlf.schedule.util.RecurrenceUtil;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 时间冲突逻辑
+ * <p>
+ * 该类用于定义时间冲突逻辑;
+ * 日程冲突通过 {@code period} 的 GiST 索引只读取待写入日程时间窗口内的日程与课程，循环日程只检查开始后
+ * {@value #RECURRING_HORIZON_DAYS} 天内的发生；
+ * 课程冲突一次查询出同一课程表、同一星期在所请求周次的课程，将待写入课程在 {@code (周次, 星期, 节次)} 上的占用
+ * 标记为位图后逐行判断是否有交集。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+public class ConflictLogic implements ConflictService {
+    private static final int RECURRING_HORIZON_DAYS = 31;
+    private static final int MAX_CONFLICTS = 50;
+    private static final Duration INSTANT = Duration.ofSeconds(1);
+
+    private final ScheduleDAO scheduleDAO;
+    private final GroupAccessCache groupAccessCache;
+    private final ClassDAO classDAO;
+    private final ClassTimeMarketDAO classTimeMarketDAO;
+
+    @Override
+    public List<ConflictDTO> checkScheduleConflict(@NotNull String userUuid, @NotNull ScheduleDO schedule) {
+        if (schedule.getStartTime() == null) {
+            return List.of();
+        }
+        Duration duration = RecurrenceUtil.getDuration(schedule);
+        LocalDateTime start = schedule.getStartTime().toLocalDateTime();
+        List<LocalDateTime> occurrenceList = schedule.getType() != null && schedule.getType() == 1
+                ? RecurrenceUtil.expand(schedule, start, start.plusDays(RECURRING_HORIZON_DAYS)).toList()
+                : List.of(start);
+        if (occurrenceList.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime windowStart = occurrenceList.get(0);
+        LocalDateTime windowEnd = occurrenceList.get(occurrenceList.size() - 1).plus(duration);
+        Timestamp windowStartTime = Timestamp.valueOf(windowStart);
+        Timestamp windowEndTime = Timestamp.valueOf(windowEnd);
+        List<ConflictDTO> conflictList = new ArrayList<>();
+        // 个人日程与所在小组的日程
+        Set<String> groupUuidSet = groupAccessCache.getUserGroups(userUuid);
+        List<ScheduleDO> existList = new ArrayList<>(scheduleDAO.listWindowByUsers(List.of(userUuid), windowStartTime, windowEndTime));
+        existList.addAll(scheduleDAO.listWindowByGroups(new ArrayList<>(groupUuidSet), windowStartTime, windowEndTime));
+        for (ScheduleDO exist : existList) {
+            if (conflictList.size() >= MAX_CONFLICTS) {
+                return conflictList;
+            }
+            if (exist.getScheduleUuid().equals(schedule.getScheduleUuid()) || exist.getStartTime() == null) {
+                continue;
+            }
+            Duration existDuration = RecurrenceUtil.getDuration(exist);
+            List<LocalDateTime> existOccurrenceList = exist.getType() != null && exist.getType() == 1
+                    ? RecurrenceUtil.expand(exist, windowStart, windowEnd.plus(INSTANT)).toList()
+                    : List.of(exist.getStartTime().toLocalDateTime());
+            for (LocalDateTime existStart : existOccurrenceList) {
+                if (this.isOverlap(occurrenceList, duration, existStart, existDuration)) {
+                    conflictList.add(new ConflictDTO()
+                            .setType("schedule")
+                            .setUuid(exist.getScheduleUuid())
+                            .setName(exist.getName())
+                            .setStartTime(Timestamp.valueOf(existStart))
+                            .setEndTime(Timestamp.valueOf(existStart.plus(existDuration))));
+                    break;
+                }
+            }
+        }
+        // 课程
+        List<Map<String, Object>> sessionList = classDAO.listSessionByUsers(
+                List.of(userUuid), windowStart.toLocalDate(), windowEnd.toLocalDate());
+        Map<String, List<ClassTimeAbleDTO>> timetableMap = classTimeMarketDAO.mapTimetableByIds(sessionList.stream()
+                .map(row -> (String) row.get("class_time_uuid"))
+                .toList());
+        for (Map<String, Object> row : sessionList) {
+            if (conflictList.size() >= MAX_CONFLICTS) {
+                break;
+            }
+            ClassSessionUtil.Session session = ClassSessionUtil.resolve(row, timetableMap);
+            if (session != null && this.isOverlap(occurrenceList, duration, session.getStart(), Duration.between(session.getStart(), session.getEnd()))) {
+                conflictList.add(new ConflictDTO()
+                        .setType("class")
+                        .setUuid((String) row.get("class_uuid"))
+                        .setName((String) row.get("name"))
+                        .setStartTime(Timestamp.valueOf(session.getStart()))
+                        .setEndTime(Timestamp.valueOf(session.getEnd()))
+                        .setWeek(((Number) row.get("week")).shortValue())
+                        .setDayTick(((Number) row.get("day_tick")).shortValue())
+                        .setStartTick(((Number) row.get("start_tick")).shortValue())
+                        .setEndTick(((Number) row.get("end_tick")).shortValue()));
+            }
+        }
+        return conflictList;
+    }
+
+    @Override
+    public List<ConflictDTO> checkClassConflict(
+            @NotNull String classGradeUuid,
+            Collection<Short> weeks,
+            short dayTick,
+            short startTick,
+            short endTick,
+            String excludeClassUuid
+    ) {
+        if (weeks == null || weeks.isEmpty() || endTick <= startTick) {
+            return List.of();
+        }
+        List<ClassDO> existList = classDAO.lambdaQuery()
+                .select(ClassDO::getClassUuid, ClassDO::getName, ClassDO::getWeek, ClassDO::getDayTick, ClassDO::getStartTick, ClassDO::getEndTick)
+                .eq(ClassDO::getClassGradeUuid, classGradeUuid)
+                .eq(ClassDO::getDayTick, dayTick)
+                .in(ClassDO::getWeek, weeks)
+                .ne(excludeClassUuid != null, ClassDO::getClassUuid, excludeClassUuid)
+                .list();
+        if (existList.isEmpty()) {
+            return List.of();
+        }
+        // 位图下标为 ((周次 * 8) + 星期) * 每天节次 + 节次
+        int ticksPerDay = endTick;
+        for (ClassDO exist : existList) {
+            ticksPerDay = Math.max(ticksPerDay, exist.getEndTick());
+        }
+        BitSet occupancy = new BitSet();
+        for (Short week : weeks) {
+            int base = (week * 8 + dayTick) * ticksPerDay;
+            occupancy.set(base + startTick, base + endTick);
+        }
+        List<ConflictDTO> conflictList = new ArrayList<>();
+        for (ClassDO exist : existList) {
+            if (exist.getStartTick() < 0 || exist.getEndTick() <= exist.getStartTick()) {
+                continue;
+            }
+            int base = (exist.getWeek() * 8 + exist.getDayTick()) * ticksPerDay;
+            if (occupancy.get(base + exist.getStartTick(), base + exist.getEndTick()).isEmpty()) {
+                continue;
+            }
+            conflictList.add(new ConflictDTO()
+                    .setType("class")
+                    .setUuid(exist.getClassUuid())
+                    .setName(exist.getName())
+                    .setWeek(exist.getWeek())
+                    .setDayTick(exist.getDayTick())
+                    .setStartTick(exist.getStartTick())
+                    .setEndTick(exist.getEndTick()));
+            if (conflictList.size() >= MAX_CONFLICTS) {
+                break;
+            }
+        }
+        return conflictList;
+    }
+
+    /**
+     * 判断是否重叠
+     * <p>
+     * 区间均为左闭右开，持续时间为 {@code 0} 的发生按一秒处理，使同一时刻的两个时间点也视为重叠。
+     *
+     * @param occurrenceList 待写入日程的发生（升序）
+     * @param duration       待写入日程的持续时间
+     * @param existStart     已有项目的开始时间
+     * @param existDuration  已有项目的持续时间
+     * @return 是否重叠
+     */
+    private boolean isOverlap(
+            @NotNull List<LocalDateTime> occurrenceList,
+            @NotNull Duration duration,
+            @NotNull LocalDateTime existStart,
+            @NotNull Duration existDuration
+    ) {
+        LocalDateTime existEnd = existStart.plus(existDuration.isZero() ? INSTANT : existDuration);
+        Duration length = duration.isZero() ? INSTANT : duration;
+        for (LocalDateTime start : occurrenceList) {
+            if (!start.isBefore(existEnd)) {
+                return false;
+            }
+            if (existStart.isBefore(start.plus(length))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -23,15 +23,19 @@ package com.xlf.schedule.service.logic;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import com.xlf.schedule.cache.FreeBusyCache;
 import com.xlf.schedule.constant.StringConstant;
 import com.xlf.schedule.constant.SystemConstant;
+import com.xlf.schedule.dao.CalendarDAO;
 import com.xlf.schedule.dao.ClassDAO;
 import com.xlf.schedule.dao.ClassGradeDAO;
 import com.xlf.schedule.dao.ClassTimeMarketDAO;
 import com.xlf.schedule.dao.ClassTimeMyDAO;
+import com.xlf.schedule.exception.lib.ScheduleConflictException;
 import com.xlf.schedule.model.dto.ClassDTO;
 import com.xlf.schedule.model.dto.ClassGradeDTO;
 import com.xlf.schedule.model.dto.ClassTimeDTO;
+import com.xlf.schedule.model.dto.ConflictDTO;
 import com.xlf.schedule.model.dto.UserDTO;
 import com.xlf.schedule.model.dto.json.ClassTimeAbleDTO;
 import com.xlf.schedule.model.entity.ClassDO;
@@ -40,6 +44,7 @@ import com.xlf.schedule.model.entity.ClassTimeMarketDO;
 import com.xlf.schedule.model.entity.ClassTimeMyDO;
 import com.xlf.schedule.model.vo.ClassTimeVO;
 import com.xlf.schedule.model.vo.ClassVO;
+import com.xlf.schedule.service.ConflictService;
 import com.xlf.schedule.service.CurriculumService;
 import com.xlf.schedule.service.RoleService;
 import com.xlf.utility.ErrorCode;
@@ -81,6 +86,9 @@ public class CurriculumLogic implements CurriculumService {
     private final ClassTimeMarketDAO classTimeMarketDAO;
     private final ClassTimeMyDAO classTimeMyDAO;
     private final ClassDAO classDAO;
+    private final CalendarDAO calendarDAO;
+    private final FreeBusyCache freeBusyCache;
+    private final ConflictService conflictService;
 
     @Override
     public String createClassGrade(String name, Date begin, Date end, String userUuid, String timeUuid) {
@@ -120,6 +128,7 @@ public class CurriculumLogic implements CurriculumService {
             classGradeDO.setSemesterEnd(new java.sql.Date(end.getTime()));
         }
         classGradeDAO.save(classGradeDO);
+        this.invalidateClassViews(userUuid);
         return classGradeUuid;
     }
 
@@ -170,6 +179,7 @@ public class CurriculumLogic implements CurriculumService {
             }
         }
         classGradeDAO.removeById(classGradeUuid);
+        this.invalidateClassViews(getClassGrade.getUserUuid());
     }
 
     @Override
@@ -206,6 +216,7 @@ public class CurriculumLogic implements CurriculumService {
             classGradeDO.setSemesterEnd(new java.sql.Date(end.getTime()));
         }
         classGradeDAO.updateById(classGradeDO);
+        this.invalidateClassViews(classGradeDO.getUserUuid());
     }
 
     @Override
@@ -252,6 +263,7 @@ public class CurriculumLogic implements CurriculumService {
                 .setIsPublic(classTimeVO.getIsPublic())
                 .setUpdatedAt(new Timestamp(System.currentTimeMillis()));
         classTimeMarketDAO.updateById(classTimeMarketDO);
+        this.invalidateClassTimeViews(classTimeUuid);
     }
 
     @Override
@@ -273,6 +285,7 @@ public class CurriculumLogic implements CurriculumService {
             }
         }
         // 配置原有课表时间转为默认时间
+        this.invalidateClassTimeViews(classTimeUuid);
         classGradeDAO.lambdaUpdate().eq(ClassGradeDO::getClassTimeUuid, classTimeUuid)
                 .set(ClassGradeDO::getClassTimeUuid, SystemConstant.getDefaultClassTimeUUID())
                 .update();
@@ -396,6 +409,11 @@ public class CurriculumLogic implements CurriculumService {
                 throw new BusinessException("您没有权限添加", ErrorCode.OPERATION_DENIED);
             }
         }
+        // 检查时间冲突
+        if (Boolean.TRUE.equals(classVO.getCheckConflict())) {
+            this.checkConflict(conflictService.checkClassConflict(classGradeDO.getClassGradeUuid(), classVO.getWeeks(),
+                    classVO.getDayTick(), classVO.getStartTick(), (short) (classVO.getEndTick() + 1), null));
+        }
         // 对 Week 进行遍历循环
         classVO.getWeeks().forEach(week -> {
             ClassDO newClass = new ClassDO();
@@ -410,10 +428,26 @@ public class CurriculumLogic implements CurriculumService {
                     .setLocation(classVO.getLocation());
             classDAO.save(newClass);
         });
+        this.invalidateClassViews(classGradeDO.getUserUuid());
     }
 
     @Override
-    public void moveClass(UserDTO userDTO, String classUuid, Short week, Short startTick, Short endTick, Short dayTick) {
+    public List<ConflictDTO> checkClassConflict(@NotNull UserDTO userDTO, @NotNull ClassVO classVO) {
+        ClassGradeDO classGradeDO = classGradeDAO.lambdaQuery()
+                .eq(ClassGradeDO::getClassGradeUuid, classVO.getClassGradeUuid())
+                .oneOpt()
+                .orElseThrow(() -> new BusinessException(StringConstant.CLASS_SCHEDULE_NOT_EXIST, ErrorCode.NOT_EXIST));
+        if (!classGradeDO.getUserUuid().equals(userDTO.getUuid())) {
+            if (!roleService.checkRoleHasAdmin(userDTO.getRole())) {
+                throw new BusinessException(StringConstant.NO_PERMISSION_QUERY, ErrorCode.OPERATION_DENIED);
+            }
+        }
+        return conflictService.checkClassConflict(classGradeDO.getClassGradeUuid(), classVO.getWeeks(),
+                classVO.getDayTick(), classVO.getStartTick(), (short) (classVO.getEndTick() + 1), null);
+    }
+
+    @Override
+    public void moveClass(UserDTO userDTO, String classUuid, Short week, Short startTick, Short endTick, Short dayTick, boolean checkConflict) {
         classDAO.lambdaQuery()
                 .eq(ClassDO::getClassUuid, classUuid)
                 .oneOpt()
@@ -427,12 +461,17 @@ public class CurriculumLogic implements CurriculumService {
                             throw new BusinessException(StringConstant.NO_PERMISSION_UPDATE, ErrorCode.OPERATION_DENIED);
                         }
                     }
+                    if (checkConflict) {
+                        this.checkConflict(conflictService.checkClassConflict(classDO.getClassGradeUuid(), List.of(week),
+                                dayTick, startTick, endTick, classUuid));
+                    }
                     classDO
                             .setWeek(week)
                             .setDayTick(dayTick)
                             .setStartTick(startTick)
                             .setEndTick(endTick);
                     classDAO.updateById(classDO);
+                    this.invalidateClassViews(classGradeDO.getUserUuid());
                 }, () -> {
                     throw new BusinessException("课程不存在", ErrorCode.NOT_EXIST);
                 });
@@ -454,6 +493,7 @@ public class CurriculumLogic implements CurriculumService {
                         }
                     }
                     classDAO.removeById(classUuid);
+                    this.invalidateClassViews(classGradeDO.getUserUuid());
                 }, () -> {
                     throw new BusinessException("课程不存在", ErrorCode.NOT_EXIST);
                 });
@@ -483,6 +523,7 @@ public class CurriculumLogic implements CurriculumService {
                                         setEndTick(endTick);
                                 classDAO.updateById(classDO);
                             });
+                    this.invalidateClassViews(classGradeDO.getUserUuid());
                 }, () -> {
                     throw new BusinessException(StringConstant.CLASS_SCHEDULE_NOT_EXIST, ErrorCode.NOT_EXIST);
                 });
@@ -506,11 +547,25 @@ public class CurriculumLogic implements CurriculumService {
                             .eq(ClassDO::getStartTick, originalStartTick)
                             .eq(ClassDO::getEndTick, originalEndTick)
                             .remove();
+                    this.invalidateClassViews(classGradeDO.getUserUuid());
                 }, () -> {
                     throw new BusinessException(StringConstant.CLASS_SCHEDULE_NOT_EXIST, ErrorCode.NOT_EXIST);
                 });
     }
 
+    /**
+     * 检查时间冲突
+     * <p>
+     * 该方法用于在存在冲突时抛出 {@link ScheduleConflictException} 并携带冲突列表。
+     *
+     * @param conflictList 冲突列表
+     */
+    private void checkConflict(@NotNull List<ConflictDTO> conflictList) {
+        if (!conflictList.isEmpty()) {
+            throw new ScheduleConflictException("课程时间与已有课程冲突", conflictList);
+        }
+    }
+
     /**
      * 检查时间是否有效
      *
@@ -529,4 +584,33 @@ public class CurriculumLogic implements CurriculumService {
             lastEndTime.set(timeAble.getEndTime());
         });
     }
+
+    /**
+     * 失效课程视图
+     * <p>
+     * 该方法用于在课程表或课程变更后失效用户的空闲忙碌位图，并递增日历订阅的变更版本。
+     *
+     * @param userUuid 用户UUID
+     */
+    private void invalidateClassViews(String userUuid) {
+        freeBusyCache.invalidateUser(userUuid);
+        calendarDAO.bumpVersion(userUuid);
+    }
+
+    /**
+     * 失效课程时间视图
+     * <p>
+     * 该方法用于在课程时间变更后失效全部使用该课程时间的用户的空闲忙碌位图，并递增日历订阅的变更版本。
+     *
+     * @param classTimeUuid 课程时间UUID
+     */
+    private void invalidateClassTimeViews(@NotNull String classTimeUuid) {
+        freeBusyCache.invalidateUsers(classGradeDAO.lambdaQuery()
+                .select(ClassGradeDO::getUserUuid)
+                .eq(ClassGradeDO::getClassTimeUuid, classTimeUuid)
+                .list().stream()
+                .map(ClassGradeDO::getUserUuid)
+                .toList());
+        calendarDAO.bumpVersionByClassTime(classTimeUuid);
+    }
 }
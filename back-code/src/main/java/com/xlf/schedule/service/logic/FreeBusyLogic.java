@@ -0,0 +1,285 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.service.logic;
+
+import com.xlf.schedule.cache.FreeBusyCache;
+import com.xlf.schedule.cache.GroupAccessCache;
+import com.xlf.schedule.constant.StringConstant;
+import com.xlf.schedule.dao.ClassDAO;
+import com.xlf.schedule.dao.ClassTimeMarketDAO;
+import com.xlf.schedule.dao.FriendDAO;
+import com.xlf.schedule.dao.ScheduleDAO;
+import com.xlf.schedule.model.dto.TimeSlotDTO;
+import com.xlf.schedule.model.dto.UserDTO;
+import com.xlf.schedule.model.dto.json.ClassTimeAbleDTO;
+import com.xlf.schedule.model.entity.FriendDO;
+import com.xlf.schedule.model.entity.ScheduleDO;
+import com.xlf.schedule.service.FreeBusyService;
+import com.xlf.schedule.util.ClassSessionUtil;
+import com.xlf.schedule.util.SlotUtil;
+import com.xlf.utility.ErrorCode;
+import com.xlf.utility.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 空闲忙碌逻辑
+ * <p>
+ * 该类用于定义空闲忙碌逻辑;
+ * 每个用户的忙碌时间表示为一个时间槽位图（见 {@link SlotUtil}），小组日程先合并为小组位图再并入成员位图，
+ * 共同空闲时间为全部成员位图按位或之后的空位，计算量与成员数量成正比而与日程数量无关；
+ * 位图按用户、周缓存在 {@link FreeBusyCache} 中，查询时只对未命中的用户与周批量计算，
+ * 课程、个人日程与小组日程各通过一次查询批量加载，小组成员关系取自 {@link GroupAccessCache}。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FreeBusyLogic implements FreeBusyService {
+    private static final int MAX_RANGE_DAYS = 31;
+    private static final int WEEK_SLOTS = 7 * SlotUtil.SLOTS_PER_DAY;
+
+    private final GroupAccessCache groupAccessCache;
+    private final ScheduleDAO scheduleDAO;
+    private final ClassDAO classDAO;
+    private final ClassTimeMarketDAO classTimeMarketDAO;
+    private final FriendDAO friendDAO;
+    private final FreeBusyCache freeBusyCache;
+
+    @Override
+    public List<TimeSlotDTO> getGroupFreeTime(
+            @NotNull UserDTO userDTO,
+            String groupUuid,
+            @NotNull LocalDate startDate,
+            @NotNull LocalDate endDate,
+            int minMinutes,
+            @NotNull LocalTime dayStart,
+            @NotNull LocalTime dayEnd
+    ) {
+        int days = this.checkRange(startDate, endDate);
+        GroupAccessCache.GroupAccess access = groupAccessCache.get(groupUuid);
+        if (access == null) {
+            throw new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST);
+        }
+        if (!access.canAccess(userDTO.getUuid())) {
+            throw new BusinessException(StringConstant.NOT_GROUP_MEMBER, ErrorCode.OPERATION_DENIED);
+        }
+        long begin = System.nanoTime();
+        LocalDateTime rangeStart = startDate.atStartOfDay();
+        int slotCount = days * SlotUtil.SLOTS_PER_DAY;
+        BitSet busy = new BitSet(slotCount);
+        this.getBusy(access.getUserUuids(), startDate, days).values().forEach(busy::or);
+        // 每天可用时间之外视为忙碌
+        int dayStartSlot = dayStart.toSecondOfDay() / 60 / SlotUtil.SLOT_MINUTES;
+        int dayEndSlot = dayEnd.equals(LocalTime.MIDNIGHT)
+                ? SlotUtil.SLOTS_PER_DAY
+                : -Math.floorDiv(-dayEnd.toSecondOfDay() / 60, SlotUtil.SLOT_MINUTES);
+        for (int day = 0; day < days; day++) {
+            int offset = day * SlotUtil.SLOTS_PER_DAY;
+            busy.set(offset, offset + dayStartSlot);
+            busy.set(offset + Math.max(dayStartSlot, dayEndSlot), offset + SlotUtil.SLOTS_PER_DAY);
+        }
+        int minSlots = Math.max(1, -Math.floorDiv(-minMinutes, SlotUtil.SLOT_MINUTES));
+        BitSet free = new BitSet(slotCount);
+        free.set(0, slotCount);
+        free.andNot(busy);
+        List<TimeSlotDTO> freeSlotList = this.toSlotList(free, rangeStart, slotCount, minSlots);
+        log.debug("[FREE-TIME] 小组 {} 成员 {} 人 {} 天，耗时 {} ms", groupUuid, access.getUserUuids().size(), days, (System.nanoTime() - begin) / 1_000_000);
+        return freeSlotList;
+    }
+
+    @Override
+    public List<TimeSlotDTO> getFriendBusy(
+            @NotNull UserDTO userDTO,
+            String friendUuid,
+            @NotNull LocalDate startDate,
+            @NotNull LocalDate endDate
+    ) {
+        int days = this.checkRange(startDate, endDate);
+        if (!userDTO.getUuid().equals(friendUuid)) {
+            boolean isFriend = friendDAO.lambdaQuery()
+                    .eq(FriendDO::getIsFriend, 1)
+                    .and(wrapper -> wrapper
+                            .nested(inner -> inner.eq(FriendDO::getSenderUserUuid, userDTO.getUuid()).eq(FriendDO::getAllowerUserUuid, friendUuid))
+                            .or()
+                            .nested(inner -> inner.eq(FriendDO::getSenderUserUuid, friendUuid).eq(FriendDO::getAllowerUserUuid, userDTO.getUuid())))
+                    .exists();
+            if (!isFriend) {
+                throw new BusinessException("对方不是您的好友", ErrorCode.OPERATION_DENIED);
+            }
+        }
+        int slotCount = days * SlotUtil.SLOTS_PER_DAY;
+        BitSet busy = this.getBusy(List.of(friendUuid), startDate, days).get(friendUuid);
+        return this.toSlotList(busy, startDate.atStartOfDay(), slotCount, 1);
+    }
+
+    /**
+     * 获取忙碌位图
+     * <p>
+     * 该方法用于获取多个用户从 {@code startDate} 起 {@code days} 天的忙碌位图；
+     * 范围覆盖的每一周先从 {@link FreeBusyCache} 中批量读取，未命中的用户统一计算一次整周位图后写回，再按偏移拼接到结果中。
+     *
+     * @param userUuidList 用户UUID列表
+     * @param startDate    开始日期
+     * @param days         天数
+     * @return 用户UUID 到忙碌位图的映射
+     */
+    @NotNull
+    Map<String, BitSet> getBusy(@NotNull List<String> userUuidList, @NotNull LocalDate startDate, int days) {
+        int slotCount = days * SlotUtil.SLOTS_PER_DAY;
+        Map<String, BitSet> busyMap = new HashMap<>();
+        userUuidList.forEach(userUuid -> busyMap.put(userUuid, new BitSet(slotCount)));
+        LocalDate endDate = startDate.plusDays(days);
+        LocalDate weekStart = startDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        for (; weekStart.isBefore(endDate); weekStart = weekStart.plusWeeks(1)) {
+            FreeBusyCache.Lookup lookup = freeBusyCache.lookup(busyMap.keySet(), weekStart);
+            Map<String, long[]> weekMap = new HashMap<>(lookup.getHits());
+            if (!lookup.getMisses().isEmpty()) {
+                Map<String, long[]> built = new HashMap<>();
+                this.buildBusy(lookup.getMisses(), weekStart.atStartOfDay(), WEEK_SLOTS)
+                        .forEach((userUuid, bits) -> built.put(userUuid, bits.toLongArray()));
+                freeBusyCache.store(lookup, built);
+                weekMap.putAll(built);
+            }
+            int offset = (int) ChronoUnit.DAYS.between(startDate, weekStart) * SlotUtil.SLOTS_PER_DAY;
+            weekMap.forEach((userUuid, words) -> {
+                BitSet weekBits = BitSet.valueOf(words);
+                BitSet bits = busyMap.get(userUuid);
+                for (int slot = weekBits.nextSetBit(Math.max(0, -offset)); slot >= 0 && offset + slot < slotCount; slot = weekBits.nextSetBit(slot + 1)) {
+                    bits.set(offset + slot);
+                }
+            });
+        }
+        return busyMap;
+    }
+
+    /**
+     * 检查日期范围
+     *
+     * @param startDate 开始日期（包含）
+     * @param endDate   结束日期（包含）
+     * @return 天数
+     */
+    private int checkRange(@NotNull LocalDate startDate, @NotNull LocalDate endDate) {
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (days < 1 || days > MAX_RANGE_DAYS) {
+            throw new BusinessException("日期范围需在 1 到 " + MAX_RANGE_DAYS + " 天之间", ErrorCode.PARAMETER_ILLEGAL);
+        }
+        return (int) days;
+    }
+
+    /**
+     * 位图转时间段
+     * <p>
+     * 该方法用于将位图中连续的置位区间转换为时间段，只保留不少于 {@code minSlots} 个时间槽的区间。
+     *
+     * @param bits       位图
+     * @param rangeStart 位图起点
+     * @param slotCount  位图长度
+     * @param minSlots   最少时间槽数
+     * @return 时间段列表
+     */
+    @NotNull
+    private List<TimeSlotDTO> toSlotList(@NotNull BitSet bits, @NotNull LocalDateTime rangeStart, int slotCount, int minSlots) {
+        List<TimeSlotDTO> slotList = new ArrayList<>();
+        int from = bits.nextSetBit(0);
+        while (from >= 0 && from < slotCount) {
+            int to = Math.min(bits.nextClearBit(from), slotCount);
+            if (to - from >= minSlots) {
+                slotList.add(new TimeSlotDTO(
+                        Timestamp.valueOf(SlotUtil.toTime(rangeStart, from)),
+                        Timestamp.valueOf(SlotUtil.toTime(rangeStart, to))
+                ));
+            }
+            from = bits.nextSetBit(to);
+        }
+        return slotList;
+    }
+
+    /**
+     * 构建忙碌位图
+     * <p>
+     * 该方法用于批量计算多个用户的忙碌位图：个人日程直接标记；
+     * 小组日程按小组标记一次后并入每个成员；课程按学期开始日期与课程时间表换算后标记。
+     *
+     * @param userUuidList 用户UUID列表
+     * @param rangeStart   位图起点（当天零点）
+     * @param slotCount    位图长度
+     * @return 用户UUID 到忙碌位图的映射
+     */
+    @NotNull
+    private Map<String, BitSet> buildBusy(@NotNull List<String> userUuidList, @NotNull LocalDateTime rangeStart, int slotCount) {
+        Map<String, BitSet> busyMap = new HashMap<>();
+        userUuidList.forEach(userUuid -> busyMap.put(userUuid, new BitSet(slotCount)));
+        LocalDateTime rangeEnd = SlotUtil.toTime(rangeStart, slotCount);
+        Timestamp windowStart = Timestamp.valueOf(rangeStart);
+        Timestamp windowEnd = Timestamp.valueOf(rangeEnd);
+        // 个人日程
+        for (ScheduleDO scheduleDO : scheduleDAO.listWindowByUsers(userUuidList, windowStart, windowEnd)) {
+            BitSet bits = busyMap.get(scheduleDO.getUserUuid());
+            if (bits != null) {
+                SlotUtil.markSchedule(bits, rangeStart, slotCount, scheduleDO);
+            }
+        }
+        // 小组日程（包含作为组长的小组）
+        Map<String, List<String>> groupMemberMap = new HashMap<>();
+        groupAccessCache.getUserGroups(userUuidList).forEach((userUuid, groupUuidSet) -> groupUuidSet
+                .forEach(groupUuid -> groupMemberMap.computeIfAbsent(groupUuid, key -> new ArrayList<>()).add(userUuid)));
+        Map<String, BitSet> groupBusyMap = new HashMap<>();
+        for (ScheduleDO scheduleDO : scheduleDAO.listWindowByGroups(new ArrayList<>(groupMemberMap.keySet()), windowStart, windowEnd)) {
+            SlotUtil.markSchedule(groupBusyMap.computeIfAbsent(scheduleDO.getGroupUuid(), key -> new BitSet(slotCount)), rangeStart, slotCount, scheduleDO);
+        }
+        groupBusyMap.forEach((groupUuid, bits) -> groupMemberMap.get(groupUuid)
+                .forEach(userUuid -> busyMap.get(userUuid).or(bits)));
+        // 课程
+        List<Map<String, Object>> sessionList = classDAO.listSessionByUsers(
+                userUuidList, rangeStart.toLocalDate(), rangeEnd.toLocalDate().minusDays(1));
+        Map<String, List<ClassTimeAbleDTO>> timetableMap = classTimeMarketDAO.mapTimetableByIds(sessionList.stream()
+                .map(row -> (String) row.get("class_time_uuid"))
+                .toList());
+        for (Map<String, Object> row : sessionList) {
+            ClassSessionUtil.Session session = ClassSessionUtil.resolve(row, timetableMap);
+            BitSet bits = busyMap.get((String) row.get("user_uuid"));
+            if (session != null && bits != null) {
+                SlotUtil.mark(bits, rangeStart, slotCount, session.getStart(), session.getEnd());
+            }
+        }
+        return busyMap;
+    }
+}
@@ -22,20 +22,20 @@ package com.xlf.schedule.service.logic;
 
 import com.xlf.schedule.dao.FriendDAO;
 import com.xlf.schedule.dao.UserDAO;
+import com.xlf.schedule.model.CursorPage;
 import com.xlf.schedule.model.dto.UserDTO;
 import com.xlf.schedule.model.dto.UserFriendDTO;
 import com.xlf.schedule.model.entity.FriendDO;
-import com.xlf.schedule.model.entity.UserDO;
 import com.xlf.schedule.service.FriendService;
+import com.xlf.schedule.util.CursorUtil;
+import com.xlf.schedule.util.SearchUtil;
 import com.xlf.utility.ErrorCode;
 import com.xlf.utility.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -50,6 +50,15 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class FriendLogic implements FriendService {
+    /**
+     * 搜索最多返回的用户数
+     */
+    private static final int SEARCH_LIMIT = 20;
+    /**
+     * 游标分页每页最多条数
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final FriendDAO friendDAO;
     private final UserDAO userDAO;
 
@@ -113,100 +122,66 @@ public class FriendLogic implements FriendService {
     }
 
     @Override
-    public List<UserFriendDTO> searchFriend(UserDTO userDTO, String search) {
-        List<UserFriendDTO> userList = new ArrayList<>();
-        userDAO.lambdaQuery()
-                .like(UserDO::getUsername, search)
-                .or()
-                .like(UserDO::getPhone, search)
-                .or()
-                .like(UserDO::getEmail, search)
-                .or()
-                .like(UserDO::getUuid, search)
-                .list()
-                .stream().filter(userDO -> {
-                    FriendDO getFriend = friendDAO.lambdaQuery()
-                            .or(i -> i.eq(FriendDO::getSenderUserUuid, userDTO.getUuid()).eq(FriendDO::getAllowerUserUuid, userDO.getUuid()))
-                            .or(i -> i.eq(FriendDO::getSenderUserUuid, userDO.getUuid()).eq(FriendDO::getAllowerUserUuid, userDTO.getUuid()))
-                            .one();
-                    return getFriend == null;
-                }).forEach(userDO -> {
-                    UserFriendDTO newUser = new UserFriendDTO();
-                    BeanUtils.copyProperties(userDO, newUser);
-                    userList.add(newUser);
-                });
-        return userList;
+    public List<UserFriendDTO> searchFriend(@NotNull UserDTO userDTO, @NotNull String search) {
+        return userDAO.searchStranger(userDTO.getUuid(), SearchUtil.normalize(search), SEARCH_LIMIT);
     }
 
     @Override
-    public List<UserFriendDTO> getFriendList(UserDTO userDTO) {
-        List<UserFriendDTO> userList = new ArrayList<>();
-        friendDAO.lambdaQuery()
-                .or(i -> i.eq(FriendDO::getSenderUserUuid, userDTO.getUuid()).eq(FriendDO::getIsFriend, 1))
-                .or(i -> i.eq(FriendDO::getAllowerUserUuid, userDTO.getUuid()).eq(FriendDO::getIsFriend, 1))
-                .list()
-                .forEach(friendDO -> {
-                    UserDO getUser = userDAO.lambdaQuery()
-                            .eq(UserDO::getUuid, friendDO.getSenderUserUuid().equals(userDTO.getUuid()) ? friendDO.getAllowerUserUuid() : friendDO.getSenderUserUuid())
-                            .one();
-                    UserFriendDTO newUser = new UserFriendDTO();
-                    BeanUtils.copyProperties(getUser, newUser);
-                    userList.add(newUser);
-                });
-        return userList;
+    public List<UserFriendDTO> getFriendList(@NotNull UserDTO userDTO) {
+        return this.listCounterpart(userDTO.getUuid(), "friend", null, null);
     }
 
     @Override
-    public List<UserFriendDTO> getFriendApplicationList(UserDTO userDTO) {
-        List<UserFriendDTO> userList = new ArrayList<>();
-        friendDAO.lambdaQuery()
-                .eq(FriendDO::getAllowerUserUuid, userDTO.getUuid())
-                .eq(FriendDO::getIsFriend, 0)
-                .list()
-                .forEach(friendDO -> {
-                    UserDO getUser = userDAO.lambdaQuery()
-                            .eq(UserDO::getUuid, friendDO.getSenderUserUuid())
-                            .one();
-                    UserFriendDTO newUser = new UserFriendDTO();
-                    BeanUtils.copyProperties(getUser, newUser);
-                    userList.add(newUser);
-                });
-        return userList;
+    public List<UserFriendDTO> getFriendApplicationList(@NotNull UserDTO userDTO) {
+        return this.listCounterpart(userDTO.getUuid(), "application", null, null);
     }
 
     @Override
-    public List<UserFriendDTO> getFriendPendingReviewList(UserDTO userDTO) {
-        List<UserFriendDTO> userList = new ArrayList<>();
-        friendDAO.lambdaQuery()
-                .eq(FriendDO::getSenderUserUuid, userDTO.getUuid())
-                .eq(FriendDO::getIsFriend, 0)
-                .list()
-                .forEach(friendDO -> {
-                    UserDO getUser = userDAO.lambdaQuery()
-                            .eq(UserDO::getUuid, friendDO.getAllowerUserUuid())
-                            .one();
-                    UserFriendDTO newUser = new UserFriendDTO();
-                    BeanUtils.copyProperties(getUser, newUser);
-                    userList.add(newUser);
-                });
-        return userList;
+    public List<UserFriendDTO> getFriendPendingReviewList(@NotNull UserDTO userDTO) {
+        return this.listCounterpart(userDTO.getUuid(), "pending", null, null);
     }
 
     @Override
-    public List<UserFriendDTO> getFriendDeniedList(UserDTO userDTO) {
-        List<UserFriendDTO> userList = new ArrayList<>();
-        friendDAO.lambdaQuery()
-                .eq(FriendDO::getSenderUserUuid, userDTO.getUuid())
-                .eq(FriendDO::getIsFriend, 2)
-                .list()
-                .forEach(friendDO -> {
-                    UserDO getUser = userDAO.lambdaQuery()
-                            .eq(UserDO::getUuid, friendDO.getAllowerUserUuid())
-                            .one();
-                    UserFriendDTO newUser = new UserFriendDTO();
-                    BeanUtils.copyProperties(getUser, newUser);
-                    userList.add(newUser);
-                });
-        return userList;
+    public List<UserFriendDTO> getFriendDeniedList(@NotNull UserDTO userDTO) {
+        return this.listCounterpart(userDTO.getUuid(), "denied", null, null);
+    }
+
+    @Override
+    public CursorPage<UserFriendDTO> getFriendListByCursor(@NotNull UserDTO userDTO, @NotNull String type, String cursor, Integer size) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        String afterUuid = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            afterUuid = CursorUtil.decode(cursor, 1)[0];
+        }
+        // 多取一条用于判断是否还有下一页
+        List<UserFriendDTO> userList = this.listCounterpart(userDTO.getUuid(), type, afterUuid, limit + 1);
+        String nextCursor = null;
+        if (userList.size() > limit) {
+            userList = userList.subList(0, limit);
+            nextCursor = CursorUtil.encode(userList.get(limit - 1).getUuid());
+        }
+        return new CursorPage<>(userList, nextCursor, (long) limit, null);
+    }
+
+    /**
+     * 获取好友关系的对方用户
+     * <p>
+     * 该方法用于将列表类型转换为关系方向与状态：{@code friend} 为双向的好友，{@code application} 为收到的待审核申请，
+     * {@code pending} 为发出的待审核申请，{@code denied} 为发出后被拒绝的申请。
+     *
+     * @param userUuid  当前用户UUID
+     * @param type      列表类型
+     * @param afterUuid 游标位置的用户UUID，为空时从第一条开始
+     * @param limit     获取条数，为空时不限制
+     * @return 对方用户列表
+     */
+    private List<UserFriendDTO> listCounterpart(@NotNull String userUuid, @NotNull String type, String afterUuid, Integer limit) {
+        return switch (type.toLowerCase()) {
+            case "friend" -> friendDAO.listCounterpart(userUuid, "both", 1, afterUuid, limit);
+            case "application" -> friendDAO.listCounterpart(userUuid, "received", 0, afterUuid, limit);
+            case "pending" -> friendDAO.listCounterpart(userUuid, "sent", 0, afterUuid, limit);
+            case "denied" -> friendDAO.listCounterpart(userUuid, "sent", 2, afterUuid, limit);
+            default -> throw new BusinessException("类型有误", ErrorCode.PARAMETER_ILLEGAL);
+        };
     }
 }
@@ -27,14 +27,21 @@ import com.xlf.utility.ErrorCode;
 import com.xlf.utility.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 角色逻辑
  * <p>
  * 该类用于定义角色逻辑;
  * 该类使用 {@link Service} 注解标记;
  * 该类实现 {@link RoleService} 接口;
+ * 角色表在启动时加载为不可变快照，权限判断只需一次查表，不再访问数据库;
+ * 快照只通过 {@link #refreshRoles()} 刷新，不存在的角色不会触发数据库查询;
  *
  * @author xiao_lfeng
  * @version v1.0.0
@@ -44,17 +51,94 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class RoleLogic implements RoleService {
+    private static final String ADMIN_ROLE_NAME = "ADMIN";
+
     private final RoleDAO roleDAO;
 
+    /**
+     * 角色表快照
+     */
+    private volatile RoleTable roleTable = RoleTable.EMPTY;
+
     @Override
     public boolean checkRoleHasAdmin(String roleUuid) {
-        RoleDO getRole = roleDAO.lambdaQuery()
-                .eq(RoleDO::getRoleUuid, roleUuid)
-                .one();
-        if (getRole == null) {
-            log.warn("[SERV] 接受角色 UUID 信息: {}", roleUuid);
+        RoleTable table = roleTable;
+        Integer index = roleUuid == null ? null : table.index.get(roleUuid);
+        return index != null && table.admin[index];
+    }
+
+    @Override
+    public String getRoleName(String roleUuid) {
+        RoleTable table = this.findRole(roleUuid);
+        return table.names[table.index.get(roleUuid)];
+    }
+
+    @Override
+    public String getRoleUuid(String roleName) {
+        RoleTable table = this.findRole(roleName);
+        return table.uuids[table.index.get(roleName)];
+    }
+
+    @Override
+    public synchronized void refreshRoles() {
+        List<RoleDO> roleList = roleDAO.lambdaQuery().list();
+        roleTable = RoleTable.of(roleList);
+        log.info("[SERV] 角色表已加载 | 共 {} 个角色", roleList.size());
+    }
+
+    /**
+     * 查找角色
+     * <p>
+     * 该方法用于确认角色存在于快照中；快照中不存在时直接抛出异常，不刷新角色表，避免无效的角色值频繁访问数据库。
+     *
+     * @param key 角色UUID或角色名称
+     * @return {@link RoleTable} 包含该角色的快照
+     */
+    private RoleTable findRole(String key) {
+        RoleTable table = roleTable;
+        if (key == null || !table.index.containsKey(key)) {
+            log.warn("[SERV] 接受角色 UUID 信息: {}", key);
             throw new BusinessException("角色不存在", ErrorCode.NOT_EXIST);
         }
-        return "ADMIN".equals(getRole.getName());
+        return table;
+    }
+
+    /**
+     * 角色表
+     * <p>
+     * 角色数据按下标存储于并行数组中，{@code index} 同时以角色UUID与角色名称为键指向下标。
+     */
+    private static final class RoleTable {
+        private static final RoleTable EMPTY = new RoleTable(Map.of(), new String[0], new String[0], new boolean[0]);
+
+        private final Map<String, Integer> index;
+        private final String[] uuids;
+        private final String[] names;
+        private final boolean[] admin;
+
+        private RoleTable(Map<String, Integer> index, String[] uuids, String[] names, boolean[] admin) {
+            this.index = index;
+            this.uuids = uuids;
+            this.names = names;
+            this.admin = admin;
+        }
+
+        @NotNull
+        private static RoleTable of(@NotNull List<RoleDO> roleList) {
+            int size = roleList.size();
+            Map<String, Integer> index = new HashMap<>(size * 4);
+            String[] uuids = new String[size];
+            String[] names = new String[size];
+            boolean[] admin = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                RoleDO roleDO = roleList.get(i);
+                uuids[i] = roleDO.getRoleUuid();
+                names[i] = roleDO.getName();
+                admin[i] = ADMIN_ROLE_NAME.equals(roleDO.getName());
+                index.put(roleDO.getRoleUuid(), i);
+                index.put(roleDO.getName(), i);
+            }
+            return new RoleTable(Map.copyOf(index), uuids, names, admin);
+        }
     }
 }
@@ -22,15 +22,27 @@ package com.xlf.schedule.service.logic;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.xlf.schedule.cache.FreeBusyCache;
+import com.xlf.schedule.cache.GroupAccessCache;
+import com.xlf.schedule.cache.ScheduleCountCache;
+import com.xlf.schedule.cache.SchedulePriorityCache;
+import com.xlf.schedule.constant.PatternConstant;
 import com.xlf.schedule.constant.StringConstant;
+import com.xlf.schedule.dao.CalendarDAO;
 import com.xlf.schedule.dao.GroupDAO;
 import com.xlf.schedule.dao.GroupMemberDAO;
 import com.xlf.schedule.dao.ScheduleDAO;
 import com.xlf.schedule.dao.UserDAO;
+import com.xlf.schedule.exception.lib.ScheduleConflictException;
+import com.xlf.schedule.model.CursorPage;
+import com.xlf.schedule.model.dto.ConflictDTO;
 import com.xlf.schedule.model.dto.GroupDTO;
+import com.xlf.schedule.model.dto.GroupMemberImportDTO;
+import com.xlf.schedule.model.dto.ScheduleBatchDTO;
 import com.xlf.schedule.model.dto.ScheduleDTO;
+import com.xlf.schedule.model.dto.ScheduleImportDTO;
 import com.xlf.schedule.model.dto.SchedulePriorityDTO;
+import com.xlf.schedule.model.dto.TagFacetDTO;
 import com.xlf.schedule.model.dto.UserDTO;
 import com.xlf.schedule.model.entity.GroupDO;
 import com.xlf.schedule.model.entity.GroupMemberDO;
@@ -38,10 +50,18 @@ import com.xlf.schedule.model.entity.ScheduleDO;
 import com.xlf.schedule.model.entity.UserDO;
 import com.xlf.schedule.model.vo.GroupVO;
 import com.xlf.schedule.model.vo.ScheduleAddVO;
+import com.xlf.schedule.model.vo.ScheduleBatchVO;
+import com.xlf.schedule.model.vo.ScheduleConflictVO;
 import com.xlf.schedule.model.vo.ScheduleEditVO;
+import com.xlf.schedule.service.ConflictService;
 import com.xlf.schedule.service.FileService;
 import com.xlf.schedule.service.RoleService;
 import com.xlf.schedule.service.ScheduleService;
+import com.xlf.schedule.util.CursorUtil;
+import com.xlf.schedule.util.RecurrenceUtil;
+import com.xlf.schedule.util.ScheduleImportUtil;
+import com.xlf.schedule.util.SearchUtil;
+import com.xlf.schedule.util.TimelineUtil;
 import com.xlf.utility.ErrorCode;
 import com.xlf.utility.exception.BusinessException;
 import com.xlf.utility.util.UuidUtil;
@@ -50,11 +70,33 @@ import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
-import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 日程逻辑
@@ -69,6 +111,17 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class ScheduleLogic implements ScheduleService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    /**
+     * 日程列表的最大日期范围，每天循环的日程在该范围内不会超过 {@link RecurrenceUtil#MAX_OCCURRENCES}
+     */
+    private static final int MAX_WINDOW_DAYS = 366;
+    private static final int IMPORT_BATCH_SIZE = 1000;
+    private static final int IMPORT_MAX_ROWS = 20000;
+    private static final int IMPORT_MAX_ERRORS = 500;
+    private static final int MEMBER_IMPORT_MAX_ROWS = 20000;
+    private static final int MEMBER_IMPORT_MAX_UNKNOWN = 100;
+
     private final GroupDAO groupDAO;
     private final Gson gson;
     private final RoleService roleService;
@@ -76,6 +129,12 @@ public class ScheduleLogic implements ScheduleService {
     private final UserDAO userDAO;
     private final FileService fileService;
     private final ScheduleDAO scheduleDAO;
+    private final SchedulePriorityCache schedulePriorityCache;
+    private final ScheduleCountCache scheduleCountCache;
+    private final CalendarDAO calendarDAO;
+    private final FreeBusyCache freeBusyCache;
+    private final ConflictService conflictService;
+    private final GroupAccessCache groupAccessCache;
 
     @Override
     public String createGroup(UserDTO userDTO, @NotNull GroupVO groupVO) {
@@ -91,9 +150,10 @@ public class ScheduleLogic implements ScheduleService {
                 .setGroupUuid(newGroupUuid)
                 .setName(groupVO.getName())
                 .setUserAbleAdd(groupVO.getAbleAdd())
-                .setTags(gson.toJson(tags))
+                .setTags(tags)
                 .setMaster(userDTO.getUuid());
         groupDAO.save(newGroup);
+        groupAccessCache.putGroup(newGroup);
         return newGroupUuid;
     }
 
@@ -103,7 +163,7 @@ public class ScheduleLogic implements ScheduleService {
                 .oneOpt()
                 .ifPresentOrElse(groupDO -> {
                     if (!groupDO.getMaster().equals(userDTO.getUuid())) {
-                        if (!roleService.checkRoleHasAdmin(userDTO.getUuid())) {
+                        if (!roleService.checkRoleHasAdmin(userDTO.getRole())) {
                             throw new BusinessException(StringConstant.NO_PERMISSION_UPDATE, ErrorCode.OPERATION_DENIED);
                         }
                     }
@@ -116,8 +176,9 @@ public class ScheduleLogic implements ScheduleService {
                     groupDO
                             .setName(groupVO.getName())
                             .setUserAbleAdd(groupVO.getAbleAdd())
-                            .setTags(gson.toJson(tags));
+                            .setTags(tags);
                     groupDAO.updateById(groupDO);
+                    groupAccessCache.updateGroup(groupDO);
                 }, () -> {
                     throw new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST);
                 });
@@ -129,11 +190,15 @@ public class ScheduleLogic implements ScheduleService {
                 .oneOpt()
                 .ifPresentOrElse(groupDO -> {
                     if (!groupDO.getMaster().equals(userDTO.getUuid())) {
-                        if (!roleService.checkRoleHasAdmin(userDTO.getUuid())) {
+                        if (!roleService.checkRoleHasAdmin(userDTO.getRole())) {
                             throw new BusinessException(StringConstant.NO_PERMISSION_DELETE, ErrorCode.OPERATION_DENIED);
                         }
                     }
+                    GroupAccessCache.GroupAccess access = groupAccessCache.get(groupDO.getGroupUuid());
+                    List<String> userUuidList = access == null ? List.of(groupDO.getMaster()) : access.getUserUuids();
+                    this.invalidateMemberViews(userUuidList);
                     groupDAO.removeById(groupDO);
+                    groupAccessCache.removeGroup(groupDO.getGroupUuid(), userUuidList);
                 }, () -> {
                     throw new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST);
                 });
@@ -145,12 +210,15 @@ public class ScheduleLogic implements ScheduleService {
                 .oneOpt()
                 .ifPresentOrElse(groupDO -> {
                     if (!groupDO.getMaster().equals(userDTO.getUuid())) {
-                        if (!roleService.checkRoleHasAdmin(userDTO.getUuid())) {
+                        if (!roleService.checkRoleHasAdmin(userDTO.getRole())) {
                             throw new BusinessException("您没有权限转让", ErrorCode.OPERATION_DENIED);
                         }
                     }
+                    String oldMaster = groupDO.getMaster();
                     groupDO.setMaster(newMaster);
                     groupDAO.updateById(groupDO);
+                    groupAccessCache.setMaster(groupDO.getGroupUuid(), oldMaster, newMaster);
+                    this.invalidateMemberViews(List.of(oldMaster, newMaster));
                 }, () -> {
                     throw new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST);
                 });
@@ -158,67 +226,24 @@ public class ScheduleLogic implements ScheduleService {
 
     @Override
     public Page<GroupDO> getGroupList(UserDTO userDTO, @NotNull String type, Integer page, Integer size, String search) {
-        switch (type) {
+        String groupType = type.toLowerCase();
+        if (!"master".equals(groupType) && !"join".equals(groupType) && !"all".equals(groupType)) {
+            throw new BusinessException("类型有误", ErrorCode.PARAMETER_ILLEGAL);
+        }
+        String keyword = SearchUtil.normalize(search);
+        if (!keyword.isEmpty()) {
+            return groupDAO.searchByUser(new Page<>(page, size), userDTO.getUuid(), groupType, keyword);
+        }
+        switch (groupType) {
             case "master":
-                Page<GroupDO> groupPage;
-                if (search != null && !search.isEmpty()) {
-                    groupPage = groupDAO.lambdaQuery()
-                            .or(i -> i.eq(GroupDO::getMaster, userDTO.getUuid()).like(GroupDO::getName, search))
-                            .or(i -> i.eq(GroupDO::getMaster, userDTO.getUuid()).like(GroupDO::getTags, search))
-                            .page(new Page<>(page, size));
-                } else {
-                    groupPage = groupDAO.lambdaQuery()
-                            .eq(GroupDO::getMaster, userDTO.getUuid())
-                            .page(new Page<>(page, size));
-                }
-                return groupPage;
+                return groupDAO.lambdaQuery()
+                        .eq(GroupDO::getMaster, userDTO.getUuid())
+                        .orderByDesc(GroupDO::getCreatedAt)
+                        .page(new Page<>(page, size));
             case "join":
-                List<GroupMemberDO> groupMemberList = groupMemberDAO.lambdaQuery()
-                        .eq(GroupMemberDO::getUserUuid, userDTO.getUuid())
-                        .list().stream()
-                        .filter(groupMemberDO -> {
-                            GroupDO groupDO = groupDAO.lambdaQuery()
-                                    .eq(GroupDO::getGroupUuid, groupMemberDO.getGroupUuid())
-                                    .oneOpt()
-                                    .orElseThrow(() -> new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST));
-                            return !groupDO.getMaster().equals(userDTO.getUuid());
-                        }).toList();
-                List<GroupDO> groupList = groupMemberList.stream()
-                        .filter(groupMemberDO -> search == null || groupDAO.lambdaQuery()
-                                .eq(GroupDO::getGroupUuid, groupMemberDO.getGroupUuid())
-                                .like(GroupDO::getName, search)
-                                .or()
-                                .eq(GroupDO::getGroupUuid, groupMemberDO.getGroupUuid())
-                                .like(GroupDO::getTags, search)
-                                .oneOpt().isPresent())
-                        .map(groupMemberDO -> groupDAO.lambdaQuery()
-                                .eq(GroupDO::getGroupUuid, groupMemberDO.getGroupUuid())
-                                .oneOpt()
-                                .orElseThrow(() -> new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST))
-                        ).toList();
-                Page<GroupDO> pageGroup = new Page<>(page, size);
-                pageGroup.setRecords(groupList);
-                return pageGroup;
+                return groupDAO.pageByMember(new Page<>(page, size), userDTO.getUuid(), true);
             case "all":
-                List<GroupMemberDO> groupMemberListAll = groupMemberDAO.lambdaQuery()
-                        .eq(GroupMemberDO::getUserUuid, userDTO.getUuid())
-                        .list();
-                List<GroupDO> groupListAll = groupMemberListAll.stream()
-                        .filter(groupMemberDO -> search == null || groupDAO.lambdaQuery()
-                                .eq(GroupDO::getGroupUuid, groupMemberDO.getGroupUuid())
-                                .like(GroupDO::getName, search)
-                                .or()
-                                .eq(GroupDO::getGroupUuid, groupMemberDO.getGroupUuid())
-                                .like(GroupDO::getTags, search)
-                                .oneOpt().isPresent())
-                        .map(groupMemberDO -> groupDAO.lambdaQuery()
-                                .eq(GroupDO::getGroupUuid, groupMemberDO.getGroupUuid())
-                                .oneOpt()
-                                .orElseThrow(() -> new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST))
-                        ).toList();
-                Page<GroupDO> pageGroupAll = new Page<>(page, size);
-                pageGroupAll.setRecords(groupListAll);
-                return pageGroupAll;
+                return groupDAO.pageByMember(new Page<>(page, size), userDTO.getUuid(), false);
             default:
                 throw new BusinessException("类型有误", ErrorCode.PARAMETER_ILLEGAL);
         }
@@ -228,20 +253,13 @@ public class ScheduleLogic implements ScheduleService {
     public GroupDTO getGroup(@NotNull UserDTO userDTO, String groupUuid) {
         GroupDO groupDO = groupDAO.lambdaQuery().eq(GroupDO::getGroupUuid, groupUuid).oneOpt()
                 .orElseThrow(() -> new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST));
-        if (!groupDO.getMaster().equals(userDTO.getUuid())) {
-            groupMemberDAO.lambdaQuery()
-                    .eq(GroupMemberDO::getGroupUuid, groupUuid)
-                    .eq(GroupMemberDO::getUserUuid, userDTO.getUuid())
-                    .oneOpt()
-                    .orElseThrow(() -> new BusinessException(StringConstant.NOT_GROUP_MEMBER, ErrorCode.OPERATION_DENIED));
-            if (!roleService.checkRoleHasAdmin(userDTO.getUuid())) {
-                throw new BusinessException("您没有权限查看", ErrorCode.OPERATION_DENIED);
-            }
+        GroupAccessCache.GroupAccess access = groupAccessCache.get(groupUuid);
+        boolean canAccess = groupDO.getMaster().equals(userDTO.getUuid()) || (access != null && access.isMember(userDTO.getUuid()));
+        if (!canAccess && !roleService.checkRoleHasAdmin(userDTO.getRole())) {
+            throw new BusinessException(StringConstant.NOT_GROUP_MEMBER, ErrorCode.OPERATION_DENIED);
         }
         GroupDTO groupDTO = new GroupDTO();
         BeanUtils.copyProperties(groupDO, groupDTO);
-        String[] strings = gson.fromJson(groupDO.getTags(), String[].class);
-        groupDTO.setTags(new ArrayList<>(List.of(strings)));
         return groupDTO;
     }
 
@@ -251,7 +269,7 @@ public class ScheduleLogic implements ScheduleService {
                 .oneOpt()
                 .ifPresentOrElse(groupDO -> {
                     if (!groupDO.getMaster().equals(userDTO.getUuid())) {
-                        if (!roleService.checkRoleHasAdmin(userDTO.getUuid())) {
+                        if (!roleService.checkRoleHasAdmin(userDTO.getRole())) {
                             throw new BusinessException("您没有权限添加", ErrorCode.OPERATION_DENIED);
                         }
                     }
@@ -264,40 +282,46 @@ public class ScheduleLogic implements ScheduleService {
                             .setUserUuid(memberUuid)
                             .setStatus((short) 1);
                     groupMemberDAO.save(groupMemberDO);
+                    groupAccessCache.addMembers(groupUuid, List.of(memberUuid));
+                    this.invalidateMemberViews(List.of(memberUuid));
                 }, () -> {
                     throw new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST);
                 });
     }
 
     @Override
-    public void addGroupMemberList(UserDTO userDTO, String groupUuid, @NotNull List<String> memberUuidList) {
+    @Transactional
+    public GroupMemberImportDTO addGroupMemberList(UserDTO userDTO, String groupUuid, @NotNull List<String> memberUuidList) {
         if (memberUuidList.isEmpty()) {
             throw new BusinessException("成员列表不能为空", ErrorCode.PARAMETER_ILLEGAL);
         }
-        groupDAO.lambdaQuery().eq(GroupDO::getGroupUuid, groupUuid)
-                .oneOpt()
-                .ifPresentOrElse(groupDO -> {
-                    if (!groupDO.getMaster().equals(userDTO.getUuid())) {
-                        if (!roleService.checkRoleHasAdmin(userDTO.getUuid())) {
-                            throw new BusinessException("您没有权限添加", ErrorCode.OPERATION_DENIED);
-                        }
-                    }
-                    List<GroupMemberDO> groupMemberDOList = new ArrayList<>();
-                    memberUuidList.forEach(memberUuid -> {
-                        userDAO.lambdaQuery().eq(UserDO::getUuid, memberUuid)
-                                .oneOpt()
-                                .orElseThrow(() -> new BusinessException(StringConstant.USER_NOT_EXIST, ErrorCode.NOT_EXIST));
-                        GroupMemberDO groupMemberDO = new GroupMemberDO();
-                        groupMemberDO
-                                .setGroupUuid(groupUuid)
-                                .setUserUuid(memberUuid)
-                                .setStatus((short) 1);
-                        groupMemberDOList.add(groupMemberDO);
-                    });
-                    groupMemberDAO.saveBatch(groupMemberDOList);
-                }, () -> {
-                    throw new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST);
-                });
+        GroupDO groupDO = this.getMemberEditableGroup(userDTO, groupUuid);
+        GroupMemberImportDTO result = new GroupMemberImportDTO();
+        Set<String> seenSet = new HashSet<>();
+        List<String> batch = new ArrayList<>();
+        memberUuidList.forEach(memberUuid -> this.collectMember(groupDO, memberUuid, seenSet, batch, result));
+        this.flushMemberBatch(groupDO, batch, result);
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public GroupMemberImportDTO importGroupMember(UserDTO userDTO, String groupUuid, @NotNull InputStream inputStream) {
+        GroupDO groupDO = this.getMemberEditableGroup(userDTO, groupUuid);
+        GroupMemberImportDTO result = new GroupMemberImportDTO();
+        Set<String> seenSet = new HashSet<>();
+        List<String> batch = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            ScheduleImportUtil.parseMemberCsv(reader, memberUuid -> {
+                this.collectMember(groupDO, memberUuid, seenSet, batch, result);
+                return true;
+            });
+        } catch (IOException e) {
+            log.warn("[IMPORT] 小组成员导入文件读取失败: {}", e.getMessage());
+            throw new BusinessException("导入文件读取失败", ErrorCode.BODY_ERROR);
+        }
+        this.flushMemberBatch(groupDO, batch, result);
+        return result;
     }
 
     @Override
@@ -306,7 +330,7 @@ public class ScheduleLogic implements ScheduleService {
                 .oneOpt()
                 .ifPresentOrElse(groupDO -> {
                     if (!groupDO.getMaster().equals(userDTO.getUuid())) {
-                        if (!roleService.checkRoleHasAdmin(userDTO.getUuid())) {
+                        if (!roleService.checkRoleHasAdmin(userDTO.getRole())) {
                             throw new BusinessException(StringConstant.NO_PERMISSION_DELETE, ErrorCode.OPERATION_DENIED);
                         }
                     }
@@ -314,7 +338,11 @@ public class ScheduleLogic implements ScheduleService {
                             .eq(GroupMemberDO::getGroupUuid, groupUuid)
                             .eq(GroupMemberDO::getUserUuid, memberUuid)
                             .oneOpt()
-                            .ifPresentOrElse(groupMemberDAO::removeById, () -> {
+                            .ifPresentOrElse(groupMemberDO -> {
+                                groupMemberDAO.removeById(groupMemberDO);
+                                groupAccessCache.removeMember(groupUuid, memberUuid);
+                                this.invalidateMemberViews(List.of(memberUuid));
+                            }, () -> {
                                 throw new BusinessException("成员不存在", ErrorCode.NOT_EXIST);
                             });
                 }, () -> {
@@ -327,20 +355,25 @@ public class ScheduleLogic implements ScheduleService {
         ScheduleDO newSchedule = new ScheduleDO();
         // 检查用户是否添加到小组内
         if (scheduleAddVO.getAddLocation()) {
-            GroupDO getGroup = groupDAO.lambdaQuery()
-                    .eq(GroupDO::getGroupUuid, scheduleAddVO.getGroupUuid())
-                    .oneOpt()
-                    .orElseThrow(() -> new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST));
-            if (!getGroup.getUserAbleAdd()) {
-                throw new BusinessException("小组不允许普通用户添加日程", ErrorCode.OPERATION_DENIED);
+            GroupAccessCache.GroupAccess access = groupAccessCache.get(scheduleAddVO.getGroupUuid());
+            if (access == null) {
+                throw new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST);
+            }
+            String reason = this.checkGroupAddable(userDTO, access);
+            if (reason != null) {
+                throw new BusinessException(reason, ErrorCode.OPERATION_DENIED);
             }
-            groupMemberDAO.lambdaQuery()
-                    .eq(GroupMemberDO::getUserUuid, userDTO.getUuid())
-                    .eq(GroupMemberDO::getGroupUuid, getGroup.getGroupUuid())
-                    .oneOpt()
-                    .orElseThrow(() -> new BusinessException(StringConstant.NOT_GROUP_MEMBER, ErrorCode.OPERATION_DENIED));
             newSchedule.setGroupUuid(scheduleAddVO.getGroupUuid());
         }
+        // 检查时间冲突
+        if (Boolean.TRUE.equals(scheduleAddVO.getCheckConflict())) {
+            this.checkConflict(userDTO.getUuid(), new ScheduleDO()
+                    .setStartTime(scheduleAddVO.getStartTime() == null ? null : new Timestamp(scheduleAddVO.getStartTime()))
+                    .setEndTime(scheduleAddVO.getEndTime() == null ? null : new Timestamp(scheduleAddVO.getEndTime()))
+                    .setType(scheduleAddVO.getType())
+                    .setLoopType(scheduleAddVO.getLoopType())
+                    .setCustomLoop(scheduleAddVO.getCustomLoop()));
+        }
         // 图片上传
         if (scheduleAddVO.getResources() != null && !scheduleAddVO.getResources().isEmpty()) {
             ArrayList<String> imageNameList = new ArrayList<>();
@@ -359,9 +392,192 @@ public class ScheduleLogic implements ScheduleService {
                 .setType(scheduleAddVO.getType())
                 .setLoopType(scheduleAddVO.getLoopType())
                 .setCustomLoop(scheduleAddVO.getCustomLoop())
-                .setTags(gson.toJson(scheduleAddVO.getTags()))
+                .setTags(scheduleAddVO.getTags())
                 .setPriority(scheduleAddVO.getPriority());
         scheduleDAO.save(newSchedule);
+        this.invalidateScheduleViews(newSchedule.getUserUuid(), newSchedule.getGroupUuid());
+    }
+
+    @Override
+    @Transactional
+    public ScheduleImportDTO importSchedule(
+            @NotNull UserDTO userDTO,
+            @NotNull InputStream inputStream,
+            @NotNull String format,
+            String groupUuid
+    ) {
+        ScheduleImportDTO result = new ScheduleImportDTO();
+        Map<String, String> groupCheckMap = new HashMap<>();
+        Set<String> importedGroupSet = new LinkedHashSet<>();
+        List<ScheduleDO> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        ScheduleImportUtil.RowConsumer consumer = (line, scheduleDO, error) -> {
+            if (result.getTotal() >= IMPORT_MAX_ROWS) {
+                result.getErrors().add(new ScheduleImportDTO.RowError(line, "超过单次导入上限 " + IMPORT_MAX_ROWS + " 条，后续内容未导入"));
+                return false;
+            }
+            result.setTotal(result.getTotal() + 1);
+            if (error == null) {
+                if (scheduleDO.getGroupUuid() == null && groupUuid != null && !groupUuid.isBlank()) {
+                    scheduleDO.setGroupUuid(groupUuid);
+                }
+                error = this.checkImportSchedule(userDTO, scheduleDO, groupCheckMap);
+            }
+            if (error != null) {
+                result.setFailed(result.getFailed() + 1);
+                if (result.getErrors().size() < IMPORT_MAX_ERRORS) {
+                    result.getErrors().add(new ScheduleImportDTO.RowError(line, error));
+                }
+                return true;
+            }
+            if (scheduleDO.getGroupUuid() == null) {
+                scheduleDO.setUserUuid(userDTO.getUuid());
+            } else {
+                importedGroupSet.add(scheduleDO.getGroupUuid());
+            }
+            batch.add(scheduleDO);
+            if (batch.size() >= IMPORT_BATCH_SIZE) {
+                scheduleDAO.saveBatch(batch, IMPORT_BATCH_SIZE);
+                result.setImported(result.getImported() + batch.size());
+                batch.clear();
+            }
+            return true;
+        };
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            if ("ics".equals(format)) {
+                ScheduleImportUtil.parseIcs(reader, consumer);
+            } else {
+                ScheduleImportUtil.parseCsv(reader, consumer);
+            }
+        } catch (IOException e) {
+            log.warn("[IMPORT] 日程导入文件读取失败: {}", e.getMessage());
+            throw new BusinessException("导入文件读取失败", ErrorCode.BODY_ERROR);
+        }
+        if (!batch.isEmpty()) {
+            scheduleDAO.saveBatch(batch, IMPORT_BATCH_SIZE);
+            result.setImported(result.getImported() + batch.size());
+        }
+        if (result.getImported() > 0) {
+            this.invalidateScheduleViews(userDTO.getUuid(), null);
+            importedGroupSet.forEach(importedGroupUuid -> this.invalidateScheduleViews(null, importedGroupUuid));
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public ScheduleBatchDTO batchSchedule(@NotNull UserDTO userDTO, @NotNull ScheduleBatchVO scheduleBatchVO) {
+        List<ScheduleBatchVO.Operation> operations = scheduleBatchVO.getOperations();
+        ScheduleBatchDTO result = new ScheduleBatchDTO();
+        // 一次性加载引用的日程、小组与当前用户的成员关系
+        Set<String> scheduleUuidSet = operations.stream()
+                .filter(operation -> !"create".equals(operation.getOp()))
+                .map(ScheduleBatchVO.Operation::getScheduleUuid)
+                .filter(uuid -> uuid != null && Pattern.matches(PatternConstant.NO_DASH_UUID, uuid))
+                .collect(Collectors.toSet());
+        Map<String, ScheduleDO> scheduleMap = scheduleUuidSet.isEmpty() ? Map.of() : scheduleDAO.listByIds(scheduleUuidSet).stream()
+                .collect(Collectors.toMap(ScheduleDO::getScheduleUuid, Function.identity()));
+        Set<String> groupUuidSet = new LinkedHashSet<>();
+        scheduleMap.values().forEach(scheduleDO -> {
+            if (scheduleDO.getGroupUuid() != null) {
+                groupUuidSet.add(scheduleDO.getGroupUuid());
+            }
+        });
+        operations.stream()
+                .filter(operation -> "create".equals(operation.getOp()))
+                .map(ScheduleBatchVO.Operation::getGroupUuid)
+                .filter(uuid -> uuid != null && Pattern.matches(PatternConstant.NO_DASH_UUID, uuid))
+                .forEach(groupUuidSet::add);
+        Map<String, GroupAccessCache.GroupAccess> groupMap = groupAccessCache.getAll(groupUuidSet);
+        // 在内存中逐个校验
+        List<ScheduleDO> createList = new ArrayList<>();
+        List<ScheduleDO> updateList = new ArrayList<>();
+        List<String> deleteList = new ArrayList<>();
+        Set<String> touchedScheduleSet = new HashSet<>();
+        Set<String> affectedUserSet = new LinkedHashSet<>();
+        Set<String> affectedGroupSet = new LinkedHashSet<>();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int index = 0; index < operations.size(); index++) {
+            ScheduleBatchVO.Operation operation = operations.get(index);
+            String scheduleUuid = operation.getScheduleUuid();
+            String error;
+            ScheduleDO scheduleDO = null;
+            if ("create".equals(operation.getOp())) {
+                scheduleUuid = UuidUtil.generateUuidNoDash();
+                scheduleDO = this.applyBatchOperation(new ScheduleDO().setScheduleUuid(scheduleUuid), operation);
+                error = this.checkScheduleFields(scheduleDO);
+                if (error == null && operation.getGroupUuid() != null && !operation.getGroupUuid().isBlank()) {
+                    GroupAccessCache.GroupAccess access = groupMap.get(operation.getGroupUuid());
+                    error = access == null
+                            ? StringConstant.GROUP_NOT_EXIST
+                            : this.checkGroupAddable(userDTO, access);
+                    scheduleDO.setGroupUuid(operation.getGroupUuid());
+                } else {
+                    scheduleDO.setUserUuid(userDTO.getUuid());
+                }
+            } else {
+                ScheduleDO oldSchedule = scheduleUuid == null ? null : scheduleMap.get(scheduleUuid);
+                if (oldSchedule == null) {
+                    error = StringConstant.SCHEDULE_NOT_EXIST;
+                } else if (!touchedScheduleSet.add(scheduleUuid)) {
+                    error = "同一日程在批量操作中重复";
+                } else {
+                    boolean isUpdate = "update".equals(operation.getOp());
+                    error = this.checkBatchPermission(userDTO, oldSchedule, isUpdate, groupMap);
+                    if (error == null && isUpdate) {
+                        scheduleDO = new ScheduleDO();
+                        BeanUtils.copyProperties(oldSchedule, scheduleDO);
+                        this.applyBatchOperation(scheduleDO, operation).setUpdatedAt(now);
+                        error = this.checkScheduleFields(scheduleDO);
+                    }
+                    if (error == null) {
+                        affectedUserSet.add(oldSchedule.getUserUuid());
+                        affectedGroupSet.add(oldSchedule.getGroupUuid());
+                    }
+                }
+            }
+            if (error == null) {
+                switch (operation.getOp()) {
+                    case "create" -> createList.add(scheduleDO);
+                    case "update" -> updateList.add(scheduleDO);
+                    default -> deleteList.add(scheduleUuid);
+                }
+                if (scheduleDO != null) {
+                    affectedUserSet.add(scheduleDO.getUserUuid());
+                    affectedGroupSet.add(scheduleDO.getGroupUuid());
+                }
+                result.setSucceeded(result.getSucceeded() + 1);
+            } else {
+                result.setFailed(result.getFailed() + 1);
+            }
+            result.getResults().add(new ScheduleBatchDTO.Result(index, operation.getOp(), scheduleUuid, error == null, error));
+        }
+        if (Boolean.TRUE.equals(scheduleBatchVO.getAtomic()) && result.getFailed() > 0) {
+            result.getResults().stream()
+                    .filter(ScheduleBatchDTO.Result::getSuccess)
+                    .forEach(item -> {
+                        item.setSuccess(false);
+                        item.setReason("其他操作失败，未执行");
+                    });
+            result.setFailed(operations.size()).setSucceeded(0);
+            return result;
+        }
+        // 批量写入
+        if (!createList.isEmpty()) {
+            scheduleDAO.saveBatch(createList);
+        }
+        if (!updateList.isEmpty()) {
+            scheduleDAO.updateBatchById(updateList);
+        }
+        if (!deleteList.isEmpty()) {
+            scheduleDAO.removeByIds(deleteList);
+        }
+        affectedUserSet.stream()
+                .filter(Objects::nonNull)
+                .forEach(userUuid -> this.invalidateScheduleViews(userUuid, null));
+        affectedGroupSet.stream()
+                .filter(Objects::nonNull)
+                .forEach(this::invalidateGroupViews);
+        return result;
     }
 
     @Override
@@ -372,19 +588,22 @@ public class ScheduleLogic implements ScheduleService {
         if (scheduleDO.getUserUuid() != null && !scheduleDO.getUserUuid().equals(userDTO.getUuid())) {
             throw new BusinessException(StringConstant.NO_PERMISSION_UPDATE, ErrorCode.OPERATION_DENIED);
         }
+        String oldUserUuid = scheduleDO.getUserUuid();
+        String oldGroupUuid = scheduleDO.getGroupUuid();
         if (scheduleDO.getGroupUuid() != null) {
-            GroupDO groupDO = groupDAO.lambdaQuery().eq(GroupDO::getGroupUuid, scheduleDO.getGroupUuid())
-                    .oneOpt()
-                    .orElseThrow(() -> new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST));
-            if (!groupDO.getMaster().equals(userDTO.getUuid())) {
-                groupMemberDAO.lambdaQuery()
-                        .eq(GroupMemberDO::getUserUuid, userDTO.getUuid())
-                        .eq(GroupMemberDO::getGroupUuid, groupDO.getGroupUuid())
-                        .oneOpt()
-                        .orElseThrow(() -> new BusinessException(StringConstant.NOT_GROUP_MEMBER, ErrorCode.OPERATION_DENIED));
-            }
+            GroupAccessCache.GroupAccess access = this.getAccessibleGroup(userDTO, scheduleDO.getGroupUuid());
             scheduleDO.setUserUuid(null);
-            scheduleDO.setGroupUuid(groupDO.getGroupUuid());
+            scheduleDO.setGroupUuid(access.getGroupUuid());
+        }
+        // 检查时间冲突
+        if (Boolean.TRUE.equals(scheduleEditVO.getCheckConflict())) {
+            this.checkConflict(userDTO.getUuid(), new ScheduleDO()
+                    .setScheduleUuid(scheduleUuid)
+                    .setStartTime(scheduleEditVO.getStartTime())
+                    .setEndTime(scheduleEditVO.getEndTime())
+                    .setType(scheduleEditVO.getType())
+                    .setLoopType(scheduleEditVO.getLoopType())
+                    .setCustomLoop(scheduleEditVO.getCustomLoop()));
         }
         // 删除图片
         if (scheduleEditVO.getDeleteResources() != null && !scheduleEditVO.getDeleteResources().isEmpty()) {
@@ -408,10 +627,23 @@ public class ScheduleLogic implements ScheduleService {
                 .setType(scheduleEditVO.getType())
                 .setLoopType(scheduleEditVO.getLoopType())
                 .setCustomLoop(scheduleEditVO.getCustomLoop())
-                .setTags(gson.toJson(scheduleEditVO.getTags()))
+                .setTags(scheduleEditVO.getTags())
                 .setPriority(scheduleEditVO.getPriority())
                 .setUpdatedAt(new Timestamp(System.currentTimeMillis()));
         scheduleDAO.updateById(scheduleDO);
+        this.invalidateScheduleViews(oldUserUuid, oldGroupUuid);
+        this.invalidateScheduleViews(scheduleDO.getUserUuid(), scheduleDO.getGroupUuid());
+    }
+
+    @Override
+    public List<ConflictDTO> checkScheduleConflict(@NotNull UserDTO userDTO, @NotNull ScheduleConflictVO scheduleConflictVO) {
+        return conflictService.checkScheduleConflict(userDTO.getUuid(), new ScheduleDO()
+                .setScheduleUuid(scheduleConflictVO.getScheduleUuid())
+                .setStartTime(new Timestamp(scheduleConflictVO.getStartTime()))
+                .setEndTime(scheduleConflictVO.getEndTime() == null ? null : new Timestamp(scheduleConflictVO.getEndTime()))
+                .setType(scheduleConflictVO.getType())
+                .setLoopType(scheduleConflictVO.getLoopType())
+                .setCustomLoop(scheduleConflictVO.getCustomLoop()));
     }
 
     @Override
@@ -423,14 +655,16 @@ public class ScheduleLogic implements ScheduleService {
             throw new BusinessException(StringConstant.NO_PERMISSION_DELETE, ErrorCode.OPERATION_DENIED);
         }
         if (scheduleDO.getGroupUuid() != null) {
-            GroupDO groupDO = groupDAO.lambdaQuery().eq(GroupDO::getGroupUuid, scheduleDO.getGroupUuid())
-                    .oneOpt()
-                    .orElseThrow(() -> new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST));
-            if (!groupDO.getMaster().equals(userDTO.getUuid())) {
+            GroupAccessCache.GroupAccess access = groupAccessCache.get(scheduleDO.getGroupUuid());
+            if (access == null) {
+                throw new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST);
+            }
+            if (!access.isMaster(userDTO.getUuid())) {
                 throw new BusinessException(StringConstant.NO_PERMISSION_DELETE, ErrorCode.OPERATION_DENIED);
             }
         }
         scheduleDAO.removeById(scheduleDO);
+        this.invalidateScheduleViews(scheduleDO.getUserUuid(), scheduleDO.getGroupUuid());
     }
 
     @Override
@@ -442,145 +676,106 @@ public class ScheduleLogic implements ScheduleService {
             throw new BusinessException(StringConstant.NO_PERMISSION_QUERY, ErrorCode.OPERATION_DENIED);
         }
         if (scheduleDO.getGroupUuid() != null) {
-            GroupDO groupDO = groupDAO.lambdaQuery().eq(GroupDO::getGroupUuid, scheduleDO.getGroupUuid())
-                    .oneOpt()
-                    .orElseThrow(() -> new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST));
-            if (!groupDO.getMaster().equals(userDTO.getUuid())) {
-                groupMemberDAO.lambdaQuery()
-                        .eq(GroupMemberDO::getUserUuid, userDTO.getUuid())
-                        .eq(GroupMemberDO::getGroupUuid, groupDO.getGroupUuid())
-                        .oneOpt()
-                        .orElseThrow(() -> new BusinessException(StringConstant.NOT_GROUP_MEMBER, ErrorCode.OPERATION_DENIED));
-            }
+            this.getAccessibleGroup(userDTO, scheduleDO.getGroupUuid());
         }
         ScheduleDTO scheduleDTO = new ScheduleDTO();
         BeanUtils.copyProperties(scheduleDO, scheduleDTO);
-        List<String> tags = gson.fromJson(scheduleDO.getTags(), new TypeToken<>() {
-        });
-        scheduleDTO.setTags(tags);
         return scheduleDTO;
     }
 
     @Override
-    public Page<ScheduleDO> getScheduleList(UserDTO userDTO, Integer page, Integer size, String search) {
+    public Page<ScheduleDO> getScheduleList(UserDTO userDTO, Integer page, Integer size, String search, String tag) {
+        String keyword = SearchUtil.normalize(search);
+        String tagFilter = tag == null || tag.isBlank() ? null : tag;
         Page<ScheduleDO> schedulePage;
-        if (search != null && !search.isEmpty()) {
-            schedulePage = scheduleDAO.lambdaQuery()
-                    .or(i -> i.eq(ScheduleDO::getUserUuid, userDTO.getUuid()).like(ScheduleDO::getName, search))
-                    .or(i -> i.eq(ScheduleDO::getUserUuid, userDTO.getUuid()).like(ScheduleDO::getTags, search))
-                    .page(new Page<>(page, size));
+        if (!keyword.isEmpty()) {
+            schedulePage = scheduleDAO.searchByUser(new Page<>(page, size), userDTO.getUuid(), keyword, tagFilter);
         } else {
             schedulePage = scheduleDAO.lambdaQuery()
                     .eq(ScheduleDO::getUserUuid, userDTO.getUuid())
+                    .apply(tagFilter != null, "tags @> ARRAY[{0}]::text[]", tagFilter)
                     .page(new Page<>(page, size));
         }
-        Page<ScheduleDO> pageSchedule = new Page<>(page, size);
-        pageSchedule.setRecords(schedulePage.getRecords());
-        return pageSchedule;
+        return schedulePage;
     }
 
     @Override
-    public SchedulePriorityDTO getSchedulePriorityList(UserDTO userDTO, @NotNull String timeline) {
-        // 根据时间轴获取数据库中的日程（时间轴分为“年，月，周，日”
-        Timestamp timeLine = switch (timeline) {
-            case "year" -> {
-                // 获取今年的时间戳
-                SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy");
-                yield Timestamp.valueOf(simpleDateFormat.format(System.currentTimeMillis()) + "-01-01 00:00:00");
-            }
-            case "month" -> {
-                // 获取本月的时间戳
-                SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM");
-                yield Timestamp.valueOf(simpleDateFormat.format(System.currentTimeMillis()) + "-01 00:00:00");
-            }
-            case "week" -> {
-                // 获取本周的时间戳
-                SimpleDateFormat simpleDateFormat = new SimpleDateFormat(StringConstant.DATE_FORMAT);
-                long currentTime = System.currentTimeMillis();
-                long firstDayOfWeek = currentTime - (currentTime + 1000 * 60 * 60 * 24 * 6) % (1000 * 60 * 60 * 24);
-                yield Timestamp.valueOf(simpleDateFormat.format(firstDayOfWeek) + StringConstant.DATE_START);
-            }
-            case "today" -> {
-                // 获取今天的时间戳
-                SimpleDateFormat simpleDateFormat = new SimpleDateFormat(StringConstant.DATE_FORMAT);
-                yield Timestamp.valueOf(simpleDateFormat.format(System.currentTimeMillis()) + StringConstant.DATE_START);
-            }
-            default ->
-                    throw new BusinessException(StringConstant.SEARCH_CONDITION_ILLEGAL, ErrorCode.PARAMETER_ILLEGAL);
-        };
-        Timestamp endTimeLine = switch (timeline) {
-            case "year" -> {
-                // 获取今年的时间戳
-                SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy");
-                yield Timestamp.valueOf(simpleDateFormat.format(System.currentTimeMillis()) + "-12-31 23:59:59");
-            }
-            case "month" -> {
-                // 获取本月的时间戳
-                SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM");
-                yield Timestamp.valueOf(simpleDateFormat.format(System.currentTimeMillis()) + "-31 23:59:59");
-            }
-            case "week" -> {
-                // 获取本周的时间戳
-                SimpleDateFormat simpleDateFormat = new SimpleDateFormat(StringConstant.DATE_FORMAT);
-                long currentTime = System.currentTimeMillis();
-                long lastDayOfWeek = currentTime + (1000 * 60 * 60 * 24 * 6) - (currentTime + 1000 * 60 * 60 * 24 * 6) % (1000 * 60 * 60 * 24);
-                yield Timestamp.valueOf(simpleDateFormat.format(lastDayOfWeek) + StringConstant.DATE_END);
+    public CursorPage<ScheduleDTO> getScheduleListByCursor(
+            @NotNull UserDTO userDTO,
+            String cursor,
+            Integer size,
+            String search,
+            String tag,
+            boolean withTotal
+    ) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        String keyword = SearchUtil.normalize(search);
+        String tagFilter = tag == null || tag.isBlank() ? null : tag;
+        Timestamp afterStartTime = null;
+        String afterScheduleUuid = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = CursorUtil.decode(cursor, 2);
+            try {
+                afterStartTime = Timestamp.valueOf(LocalDateTime.parse(parts[0]));
+            } catch (DateTimeParseException e) {
+                throw new BusinessException(StringConstant.CURSOR_ILLEGAL, ErrorCode.PARAMETER_ILLEGAL);
             }
-            case "today" -> {
-                // 获取今天的时间戳
-                SimpleDateFormat simpleDateFormat = new SimpleDateFormat(StringConstant.DATE_FORMAT);
-                yield Timestamp.valueOf(simpleDateFormat.format(System.currentTimeMillis()) + StringConstant.DATE_END);
+            afterScheduleUuid = parts[1];
+        }
+        // 多取一条用于判断是否还有下一页
+        List<ScheduleDO> scheduleList = scheduleDAO.listByCursor(
+                userDTO.getUuid(),
+                keyword,
+                tagFilter,
+                afterStartTime,
+                afterScheduleUuid,
+                limit + 1
+        );
+        String nextCursor = null;
+        if (scheduleList.size() > limit) {
+            scheduleList = scheduleList.subList(0, limit);
+            ScheduleDO last = scheduleList.get(limit - 1);
+            nextCursor = CursorUtil.encode(last.getStartTime().toLocalDateTime().toString(), last.getScheduleUuid());
+        }
+        List<ScheduleDTO> records = scheduleList.stream().map(scheduleDO -> {
+            ScheduleDTO scheduleDTO = new ScheduleDTO();
+            BeanUtils.copyProperties(scheduleDO, scheduleDTO);
+            return scheduleDTO;
+        }).toList();
+        Long total = null;
+        if (withTotal) {
+            String filter = tagFilter == null ? keyword : keyword + "\n" + tagFilter;
+            total = scheduleCountCache.get(userDTO.getUuid(), filter, () -> scheduleDAO.countByUser(userDTO.getUuid(), keyword, tagFilter));
+        }
+        return new CursorPage<>(records, nextCursor, (long) limit, total);
+    }
+
+    @Override
+    public TagFacetDTO getTagFacet(@NotNull UserDTO userDTO) {
+        TagFacetDTO tagFacetDTO = new TagFacetDTO();
+        scheduleDAO.countTagsByUser(userDTO.getUuid()).forEach(row -> {
+            String tag = (String) row.get("tag");
+            long total = ((Number) row.get("total")).longValue();
+            if ("group".equals(row.get("source"))) {
+                tagFacetDTO.getGroups().put(tag, total);
+            } else {
+                tagFacetDTO.getSchedules().put(tag, total);
             }
-            default ->
-                    throw new BusinessException(StringConstant.SEARCH_CONDITION_ILLEGAL, ErrorCode.PARAMETER_ILLEGAL);
-        };
-        List<String> getGroup = new ArrayList<>(groupMemberDAO.lambdaQuery()
-                .eq(GroupMemberDO::getUserUuid, userDTO.getUuid())
-                .list().stream()
-                .map(GroupMemberDO::getGroupUuid)
-                .toList());
-        if (getGroup.isEmpty()) {
-            getGroup.add("underfund");
-        }
-
-        List<ScheduleDO> scheduleList = scheduleDAO.lambdaQuery()
-                .or(i -> i
-                        .eq(ScheduleDO::getType, 0)
-                        .eq(ScheduleDO::getUserUuid, userDTO.getUuid())
-                        .ge(ScheduleDO::getStartTime, timeLine)
-                        .le(ScheduleDO::getEndTime, endTimeLine))
-                .or(i -> i
-                        .eq(ScheduleDO::getType, 0)
-                        .in(ScheduleDO::getGroupUuid, getGroup)
-                        .ge(ScheduleDO::getStartTime, timeLine)
-                        .le(ScheduleDO::getEndTime, endTimeLine))
-                .orderByAsc(ScheduleDO::getPriority)
-                .list();
-        scheduleList.addAll(scheduleDAO.lambdaQuery()
-                .or(i -> i
-                        .eq(ScheduleDO::getType, 2)
-                        .eq(ScheduleDO::getUserUuid, userDTO.getUuid())
-                        .ge(ScheduleDO::getStartTime, timeLine))
-                .or(j -> j
-                        .eq(ScheduleDO::getType, 2)
-                        .in(ScheduleDO::getGroupUuid, getGroup)
-                        .ge(ScheduleDO::getStartTime, timeLine))
-                .orderByAsc(ScheduleDO::getPriority)
-                .list());
-        scheduleList.addAll(scheduleDAO.lambdaQuery()
-                .or(i -> i
-                        .eq(ScheduleDO::getType, 1)
-                        .eq(ScheduleDO::getUserUuid, userDTO.getUuid()))
-                .or(j -> j
-                        .eq(ScheduleDO::getType, 1)
-                        .in(ScheduleDO::getGroupUuid, getGroup))
-                .orderByAsc(ScheduleDO::getPriority)
-                .list());
+        });
+        return tagFacetDTO;
+    }
+
+    @Override
+    public SchedulePriorityDTO getSchedulePriorityList(UserDTO userDTO, @NotNull String timeline) {
+        // 根据时间轴获取数据库中的日程（时间轴分为“年，月，周，日”）
+        LocalDate today = LocalDate.now();
+        Timestamp timeLine = Timestamp.valueOf(TimelineUtil.getPeriodStart(timeline, today).atStartOfDay());
+        Timestamp endTimeLine = Timestamp.valueOf(TimelineUtil.getPeriodEnd(timeline, today).atTime(LocalTime.of(23, 59, 59)));
+        // 个人与所在小组的日程一次查询获取，数据库侧按优先级排序
+        List<ScheduleDO> scheduleList = scheduleDAO.listWindowByUser(userDTO.getUuid(), timeLine, endTimeLine);
         SchedulePriorityDTO schedulePriorityDTO = new SchedulePriorityDTO();
-        scheduleList.stream().distinct().forEach(action -> {
-            ScheduleDTO scheduleDTO = new ScheduleDTO();
-            BeanUtils.copyProperties(action, scheduleDTO);
-            switch (action.getPriority()) {
+        this.expandOccurrences(scheduleList, timeLine, endTimeLine).forEach(scheduleDTO -> {
+            switch (scheduleDTO.getPriority()) {
                 case 4 -> {
                     if (schedulePriorityDTO.getImportant() == null) {
                         schedulePriorityDTO.setImportant(new ArrayList<>());
@@ -616,87 +811,410 @@ public class ScheduleLogic implements ScheduleService {
         // 时间获取为 yyyy-MM-dd 调整为 Timestamp
         Timestamp startTimestamp = Timestamp.valueOf(startTime + StringConstant.DATE_START);
         Timestamp endTimestamp = Timestamp.valueOf(endTime + StringConstant.DATE_END);
-        // 小组可能为空，如果为空则获取个人，如果有小组获取小组
-        List<ScheduleDO> scheduleList = new ArrayList<>();
-        List<String> getGroup = new ArrayList<>(groupMemberDAO.lambdaQuery()
-                .eq(GroupMemberDO::getUserUuid, userDTO.getUuid())
-                .list().stream()
-                .map(GroupMemberDO::getGroupUuid)
-                .toList());
-        if (getGroup.isEmpty()) {
-            getGroup.add("underfund");
+        long days = ChronoUnit.DAYS.between(startTimestamp.toLocalDateTime(), endTimestamp.toLocalDateTime()) + 1;
+        if (days < 1 || days > MAX_WINDOW_DAYS) {
+            throw new BusinessException("日期范围需在 1 到 " + MAX_WINDOW_DAYS + " 天之间", ErrorCode.PARAMETER_ILLEGAL);
         }
-
+        // 小组可能为空，如果为空则获取个人及所在小组，如果有小组获取小组
+        List<ScheduleDO> scheduleList;
         if (groupUuid == null) {
-            scheduleList.addAll(scheduleDAO.lambdaQuery()
-                    .or(i -> i
-                            .eq(ScheduleDO::getType, 0)
-                            .eq(ScheduleDO::getUserUuid, userDTO.getUuid())
-                            .ge(ScheduleDO::getStartTime, startTimestamp)
-                            .le(ScheduleDO::getEndTime, endTimestamp)
-                    )
-                    .or(i -> i
-                            .eq(ScheduleDO::getType, 0)
-                            .in(ScheduleDO::getGroupUuid, getGroup)
-                            .ge(ScheduleDO::getStartTime, startTimestamp)
-                            .le(ScheduleDO::getEndTime, endTimestamp)
-                    )
-                    .list());
-            scheduleList.addAll(scheduleDAO.lambdaQuery()
-                    .or(i -> i
-                            .eq(ScheduleDO::getType, 2)
-                            .eq(ScheduleDO::getUserUuid, userDTO.getUuid())
-                            .ge(ScheduleDO::getStartTime, startTimestamp)
-                    )
-                    .or(i -> i
-                            .eq(ScheduleDO::getType, 2)
-                            .in(ScheduleDO::getGroupUuid, getGroup)
-                            .ge(ScheduleDO::getStartTime, startTimestamp)
-                    )
-                    .list());
-            scheduleList.addAll(scheduleDAO.lambdaQuery()
-                    .or(i -> i
-                            .eq(ScheduleDO::getType, 1)
-                            .eq(ScheduleDO::getUserUuid, userDTO.getUuid())
-                    )
-                    .or(i -> i
-                            .eq(ScheduleDO::getType, 1)
-                            .in(ScheduleDO::getGroupUuid, getGroup)
-                    )
-                    .list());
+            scheduleList = scheduleDAO.listWindowByUser(userDTO.getUuid(), startTimestamp, endTimestamp);
         } else {
-            GroupDO groupDO = groupDAO.lambdaQuery().eq(GroupDO::getGroupUuid, groupUuid)
-                    .oneOpt()
-                    .orElseThrow(() -> new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST));
             // 检查用户是否在该小组
-            groupMemberDAO.lambdaQuery()
-                    .eq(GroupMemberDO::getUserUuid, userDTO.getUuid())
-                    .eq(GroupMemberDO::getGroupUuid, groupDO.getGroupUuid())
-                    .oneOpt()
-                    .orElseThrow(() -> new BusinessException(StringConstant.NOT_GROUP_MEMBER, ErrorCode.OPERATION_DENIED));
-
-            scheduleList.addAll(scheduleDAO.lambdaQuery()
-                    .eq(ScheduleDO::getType, 0)
-                    .eq(ScheduleDO::getGroupUuid, groupDO.getGroupUuid())
-                    .ge(ScheduleDO::getStartTime, startTimestamp)
-                    .le(ScheduleDO::getEndTime, endTimestamp)
-                    .list());
-            scheduleList.addAll(scheduleDAO.lambdaQuery()
-                    .eq(ScheduleDO::getType, 2)
-                    .eq(ScheduleDO::getGroupUuid, groupDO.getGroupUuid())
-                    .ge(ScheduleDO::getStartTime, startTimestamp)
-                    .list());
-            scheduleList.addAll(scheduleDAO.lambdaQuery()
-                    .eq(ScheduleDO::getType, 1)
-                    .eq(ScheduleDO::getGroupUuid, groupDO.getGroupUuid())
-                    .list());
-        }
-        List<ScheduleDTO> scheduleDTOList = new ArrayList<>();
-        scheduleList.stream().distinct().forEach(action -> {
-            ScheduleDTO scheduleDTO = new ScheduleDTO();
-            BeanUtils.copyProperties(action, scheduleDTO);
-            scheduleDTOList.add(scheduleDTO);
+            GroupAccessCache.GroupAccess access = groupAccessCache.get(groupUuid);
+            if (access == null) {
+                throw new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST);
+            }
+            if (!access.isMember(userDTO.getUuid())) {
+                throw new BusinessException(StringConstant.NOT_GROUP_MEMBER, ErrorCode.OPERATION_DENIED);
+            }
+            scheduleList = scheduleDAO.listWindowByGroup(access.getGroupUuid(), startTimestamp, endTimestamp);
+        }
+        return this.expandOccurrences(scheduleList, startTimestamp, endTimestamp).toList();
+    }
+
+    /**
+     * 应用批量操作字段
+     * <p>
+     * 该方法用于将操作中不为空的字段写入日程；新增操作未提供结束时间时与开始时间相同。
+     *
+     * @param scheduleDO 日程
+     * @param operation  操作
+     * @return 日程
+     */
+    private ScheduleDO applyBatchOperation(@NotNull ScheduleDO scheduleDO, @NotNull ScheduleBatchVO.Operation operation) {
+        if (operation.getName() != null) {
+            scheduleDO.setName(operation.getName());
+        }
+        if (operation.getDescription() != null) {
+            scheduleDO.setDescription(operation.getDescription());
+        }
+        if (operation.getStartTime() != null) {
+            scheduleDO.setStartTime(new Timestamp(operation.getStartTime()));
+        }
+        if (operation.getEndTime() != null) {
+            scheduleDO.setEndTime(new Timestamp(operation.getEndTime()));
+        } else if (scheduleDO.getEndTime() == null) {
+            scheduleDO.setEndTime(scheduleDO.getStartTime());
+        }
+        if (operation.getType() != null) {
+            scheduleDO.setType(operation.getType());
+        }
+        if (operation.getLoopType() != null) {
+            scheduleDO.setLoopType(operation.getLoopType());
+        }
+        if (operation.getCustomLoop() != null) {
+            scheduleDO.setCustomLoop(operation.getCustomLoop());
+        }
+        if (operation.getTags() != null) {
+            scheduleDO.setTags(operation.getTags());
+        }
+        if (operation.getPriority() != null) {
+            scheduleDO.setPriority(operation.getPriority());
+        }
+        return scheduleDO;
+    }
+
+    /**
+     * 校验批量操作权限
+     * <p>
+     * 该方法用于校验更新与删除权限，规则与 {@link #editSchedule}、{@link #deleteSchedule} 一致：
+     * 个人日程只能由本人操作；小组日程成员可以更新，只有组长可以删除。
+     *
+     * @param userDTO        用户信息
+     * @param scheduleDO     日程
+     * @param isUpdate       是否为更新操作
+     * @param groupMap   已加载的小组权限
+     * @return 错误原因，允许时返回 {@code null}
+     */
+    private String checkBatchPermission(
+            @NotNull UserDTO userDTO,
+            @NotNull ScheduleDO scheduleDO,
+            boolean isUpdate,
+            @NotNull Map<String, GroupAccessCache.GroupAccess> groupMap
+    ) {
+        String denied = isUpdate ? StringConstant.NO_PERMISSION_UPDATE : StringConstant.NO_PERMISSION_DELETE;
+        if (scheduleDO.getUserUuid() != null && !scheduleDO.getUserUuid().equals(userDTO.getUuid())) {
+            return denied;
+        }
+        if (scheduleDO.getGroupUuid() == null) {
+            return null;
+        }
+        GroupAccessCache.GroupAccess access = groupMap.get(scheduleDO.getGroupUuid());
+        if (access == null) {
+            return StringConstant.GROUP_NOT_EXIST;
+        }
+        if (access.isMaster(userDTO.getUuid())) {
+            return null;
+        }
+        if (!isUpdate) {
+            return denied;
+        }
+        return access.isMember(userDTO.getUuid()) ? null : StringConstant.NOT_GROUP_MEMBER;
+    }
+
+    /**
+     * 校验导入日程
+     * <p>
+     * 该方法用于校验导入的单条日程，规则与 {@link #addSchedule} 一致；
+     * 小组权限取自 {@link GroupAccessCache}，校验结果按小组缓存在 {@code groupCheckMap} 中。
+     *
+     * @param userDTO       用户信息
+     * @param scheduleDO    日程
+     * @param groupCheckMap 小组校验结果（通过时为空字符串）
+     * @return 错误原因，校验通过时返回 {@code null}
+     */
+    private String checkImportSchedule(@NotNull UserDTO userDTO, @NotNull ScheduleDO scheduleDO, @NotNull Map<String, String> groupCheckMap) {
+        String error = this.checkScheduleFields(scheduleDO);
+        if (error != null || scheduleDO.getGroupUuid() == null) {
+            return error;
+        }
+        String groupError = groupCheckMap.computeIfAbsent(scheduleDO.getGroupUuid(), groupUuid -> {
+            GroupAccessCache.GroupAccess access = groupAccessCache.get(groupUuid);
+            if (access == null) {
+                return StringConstant.GROUP_NOT_EXIST;
+            }
+            String reason = this.checkGroupAddable(userDTO, access);
+            return reason == null ? "" : reason;
+        });
+        return groupError.isEmpty() ? null : groupError;
+    }
+
+    /**
+     * 校验小组是否允许添加日程
+     * <p>
+     * 单条添加、批量创建与导入共用该规则：小组需允许成员添加日程，且用户需为小组成员。
+     *
+     * @param userDTO 用户信息
+     * @param access  小组权限
+     * @return 错误原因，允许时返回 {@code null}
+     */
+    private String checkGroupAddable(@NotNull UserDTO userDTO, @NotNull GroupAccessCache.GroupAccess access) {
+        if (!access.isUserAbleAdd()) {
+            return "小组不允许普通用户添加日程";
+        }
+        return access.isMember(userDTO.getUuid()) ? null : StringConstant.NOT_GROUP_MEMBER;
+    }
+
+    /**
+     * 校验日程字段
+     * <p>
+     * 该方法用于校验日程名称、时间、类型、循环与优先级，规则与接口参数校验一致。
+     *
+     * @param scheduleDO 日程
+     * @return 错误原因，校验通过时返回 {@code null}
+     */
+    private String checkScheduleFields(@NotNull ScheduleDO scheduleDO) {
+        if (scheduleDO.getName() == null || scheduleDO.getName().isBlank()) {
+            return "日程名称不能为空";
+        }
+        if (scheduleDO.getName().length() > 64) {
+            return "日程名称不能超过 64 个字符";
+        }
+        if (scheduleDO.getStartTime() == null) {
+            return "开始时间不能为空";
+        }
+        if (scheduleDO.getEndTime() != null && scheduleDO.getEndTime().before(scheduleDO.getStartTime())) {
+            return "结束时间不能早于开始时间";
+        }
+        if (scheduleDO.getType() == null || scheduleDO.getType() < 0 || scheduleDO.getType() > 2) {
+            return "日程类型非法";
+        }
+        if (scheduleDO.getType() == 1) {
+            if (scheduleDO.getLoopType() == null || scheduleDO.getLoopType() < 0 || scheduleDO.getLoopType() > 5) {
+                return "循环类型非法";
+            }
+            if (scheduleDO.getLoopType() == 0 && (scheduleDO.getCustomLoop() == null || scheduleDO.getCustomLoop() <= 0)) {
+                return "自定义循环天数非法";
+            }
+        }
+        if (scheduleDO.getPriority() == null || scheduleDO.getPriority() < 1 || scheduleDO.getPriority() > 4) {
+            return "优先级非法";
+        }
+        return null;
+    }
+
+    /**
+     * 获取可编辑成员的小组
+     * <p>
+     * 该方法用于获取小组并校验当前用户为组长或管理员。
+     *
+     * @param userDTO   用户信息
+     * @param groupUuid 小组UUID
+     * @return 小组
+     */
+    @NotNull
+    private GroupDO getMemberEditableGroup(@NotNull UserDTO userDTO, String groupUuid) {
+        GroupDO groupDO = groupDAO.lambdaQuery().eq(GroupDO::getGroupUuid, groupUuid)
+                .oneOpt()
+                .orElseThrow(() -> new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST));
+        if (!groupDO.getMaster().equals(userDTO.getUuid())) {
+            if (!roleService.checkRoleHasAdmin(userDTO.getRole())) {
+                throw new BusinessException("您没有权限添加", ErrorCode.OPERATION_DENIED);
+            }
+        }
+        return groupDO;
+    }
+
+    /**
+     * 收集待添加成员
+     * <p>
+     * 该方法用于去重并初步分类一个用户UUID：格式错误的计为未知用户，组长计为已在小组中，其余放入批次，批次满后写入。
+     *
+     * @param groupDO    小组
+     * @param memberUuid 用户UUID
+     * @param seenSet    已处理的用户UUID
+     * @param batch      当前批次
+     * @param result     导入结果
+     */
+    private void collectMember(
+            @NotNull GroupDO groupDO,
+            String memberUuid,
+            @NotNull Set<String> seenSet,
+            @NotNull List<String> batch,
+            @NotNull GroupMemberImportDTO result
+    ) {
+        if (memberUuid == null || memberUuid.isBlank()) {
+            return;
+        }
+        String uuid = memberUuid.trim().toLowerCase(Locale.ROOT);
+        if (!seenSet.add(uuid)) {
+            return;
+        }
+        if (seenSet.size() > MEMBER_IMPORT_MAX_ROWS) {
+            throw new BusinessException("单次最多添加 " + MEMBER_IMPORT_MAX_ROWS + " 名成员", ErrorCode.PARAMETER_ILLEGAL);
+        }
+        result.setTotal(result.getTotal() + 1);
+        if (!Pattern.matches(PatternConstant.UUID, uuid)) {
+            this.addUnknownMember(result, uuid);
+        } else if (uuid.equals(groupDO.getMaster())) {
+            result.setPresent(result.getPresent() + 1);
+        } else {
+            batch.add(uuid);
+            if (batch.size() >= IMPORT_BATCH_SIZE) {
+                this.flushMemberBatch(groupDO, batch, result);
+            }
+        }
+    }
+
+    /**
+     * 写入成员批次
+     * <p>
+     * 该方法用于以一次查询校验批次内的用户是否存在，再以一条 {@code ON CONFLICT DO NOTHING} 语句写入，
+     * 未写入的存在用户即为已在小组中的成员。
+     *
+     * @param groupDO 小组
+     * @param batch   当前批次，写入后清空
+     * @param result  导入结果
+     */
+    private void flushMemberBatch(@NotNull GroupDO groupDO, @NotNull List<String> batch, @NotNull GroupMemberImportDTO result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<String> existingSet = userDAO.listExistingUuid(batch);
+        List<String> validList = new ArrayList<>();
+        batch.forEach(uuid -> {
+            if (existingSet.contains(uuid)) {
+                validList.add(uuid);
+            } else {
+                this.addUnknownMember(result, uuid);
+            }
+        });
+        int added = groupMemberDAO.insertIgnore(groupDO.getGroupUuid(), validList);
+        result.setAdded(result.getAdded() + added);
+        result.setPresent(result.getPresent() + validList.size() - added);
+        if (added > 0) {
+            groupAccessCache.addMembers(groupDO.getGroupUuid(), validList);
+            this.invalidateMemberViews(validList);
+        }
+        batch.clear();
+    }
+
+    /**
+     * 记录未知用户
+     *
+     * @param result 导入结果
+     * @param uuid   用户UUID
+     */
+    private void addUnknownMember(@NotNull GroupMemberImportDTO result, String uuid) {
+        result.setUnknown(result.getUnknown() + 1);
+        if (result.getUnknownUuids().size() < MEMBER_IMPORT_MAX_UNKNOWN) {
+            result.getUnknownUuids().add(uuid);
+        }
+    }
+
+    /**
+     * 获取可访问的小组
+     * <p>
+     * 该方法用于校验当前用户为小组组长或成员，权限取自 {@link GroupAccessCache}，不访问数据库。
+     *
+     * @param userDTO   用户信息
+     * @param groupUuid 小组UUID
+     * @return 小组权限
+     */
+    @NotNull
+    private GroupAccessCache.GroupAccess getAccessibleGroup(@NotNull UserDTO userDTO, String groupUuid) {
+        GroupAccessCache.GroupAccess access = groupAccessCache.get(groupUuid);
+        if (access == null) {
+            throw new BusinessException(StringConstant.GROUP_NOT_EXIST, ErrorCode.NOT_EXIST);
+        }
+        if (!access.canAccess(userDTO.getUuid())) {
+            throw new BusinessException(StringConstant.NOT_GROUP_MEMBER, ErrorCode.OPERATION_DENIED);
+        }
+        return access;
+    }
+
+    /**
+     * 检查时间冲突
+     * <p>
+     * 该方法用于在写入前检查日程是否与已有日程或课程重叠，存在冲突时抛出 {@link ScheduleConflictException} 并携带冲突列表。
+     *
+     * @param userUuid  用户UUID
+     * @param candidate 待写入的日程
+     */
+    private void checkConflict(String userUuid, ScheduleDO candidate) {
+        List<ConflictDTO> conflictList = conflictService.checkScheduleConflict(userUuid, candidate);
+        if (!conflictList.isEmpty()) {
+            throw new ScheduleConflictException("日程时间与已有日程或课程冲突", conflictList);
+        }
+    }
+
+    /**
+     * 失效日程视图
+     * <p>
+     * 该方法用于在日程变更后失效受影响用户的优先级视图、日程数量与空闲忙碌位图，并递增日历订阅的变更版本；个人日程只影响所属用户，小组日程影响小组全部成员与组长。
+     *
+     * @param userUuid  日程所属用户
+     * @param groupUuid 日程所属小组
+     */
+    private void invalidateScheduleViews(String userUuid, String groupUuid) {
+        schedulePriorityCache.invalidateUser(userUuid);
+        scheduleCountCache.invalidateUser(userUuid);
+        freeBusyCache.invalidateUser(userUuid);
+        calendarDAO.bumpVersion(userUuid);
+        if (groupUuid != null) {
+            this.invalidateGroupViews(groupUuid);
+        }
+    }
+
+    /**
+     * 失效小组视图
+     * <p>
+     * 成员与组长取自 {@link GroupAccessCache}，小组不存在时忽略。
+     *
+     * @param groupUuid 小组UUID
+     */
+    private void invalidateGroupViews(@NotNull String groupUuid) {
+        GroupAccessCache.GroupAccess access = groupAccessCache.get(groupUuid);
+        if (access != null) {
+            this.invalidateMemberViews(access.getUserUuids());
+        }
+    }
+
+    /**
+     * 失效成员视图
+     * <p>
+     * 该方法用于在小组日程或小组成员关系变更后失效成员的优先级视图与空闲忙碌位图，并递增日历订阅的变更版本。
+     *
+     * @param memberUuidList 成员UUID列表
+     */
+    private void invalidateMemberViews(@NotNull List<String> memberUuidList) {
+        schedulePriorityCache.invalidateUsers(memberUuidList);
+        freeBusyCache.invalidateUsers(memberUuidList);
+        calendarDAO.bumpVersion(memberUuidList);
+    }
+
+    /**
+     * 展开日程
+     * <p>
+     * 该方法用于将查询到的日程转换为窗口内的日程数据；
+     * 循环日程通过 {@link RecurrenceUtil} 展开为每一次发生，开始与结束时间替换为该次发生的时间，其余日程原样返回；
+     * 窗口的结束时间为当天 {@code 23:59:59}，展开时按下一秒（不包含）处理。
+     *
+     * @param scheduleList 日程列表
+     * @param windowStart  窗口开始
+     * @param windowEnd    窗口结束（包含）
+     * @return 日程数据流
+     */
+    private Stream<ScheduleDTO> expandOccurrences(@NotNull List<ScheduleDO> scheduleList, @NotNull Timestamp windowStart, @NotNull Timestamp windowEnd) {
+        LocalDateTime start = windowStart.toLocalDateTime();
+        LocalDateTime end = windowEnd.toLocalDateTime().plusSeconds(1);
+        return scheduleList.stream().flatMap(scheduleDO -> {
+            if (scheduleDO.getType() == null || scheduleDO.getType() != 1) {
+                ScheduleDTO scheduleDTO = new ScheduleDTO();
+                BeanUtils.copyProperties(scheduleDO, scheduleDTO);
+                return Stream.of(scheduleDTO);
+            }
+            Duration duration = RecurrenceUtil.getDuration(scheduleDO);
+            return RecurrenceUtil.expand(scheduleDO, start, end).map(occurrence -> {
+                ScheduleDTO scheduleDTO = new ScheduleDTO();
+                BeanUtils.copyProperties(scheduleDO, scheduleDTO);
+                scheduleDTO.setStartTime(Timestamp.valueOf(occurrence));
+                if (scheduleDO.getEndTime() != null) {
+                    scheduleDTO.setEndTime(Timestamp.valueOf(occurrence.plus(duration)));
+                }
+                return scheduleDTO;
+            });
         });
-        return scheduleDTOList;
     }
 }
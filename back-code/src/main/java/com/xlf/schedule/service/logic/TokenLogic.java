@@ -20,14 +20,21 @@
 
 package com.xlf.schedule.service.logic;
 
+import com.xlf.schedule.cache.SessionCache;
 import com.xlf.schedule.dao.TokenDAO;
 import com.xlf.schedule.model.entity.TokenDO;
+import com.xlf.schedule.security.SignedTokenCodec;
+import com.xlf.schedule.security.TokenRevocationFilter;
+import com.xlf.schedule.service.RoleService;
 import com.xlf.schedule.service.TokenService;
+import com.xlf.schedule.task.TokenExpiryWheel;
 import com.xlf.utility.exception.library.UserAuthenticationException;
 import com.xlf.utility.util.HeaderUtil;
 import com.xlf.utility.util.UuidUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -53,30 +60,43 @@ public class TokenLogic implements TokenService {
      * 令牌数据访问对象
      */
     private final TokenDAO tokenDAO;
+    /**
+     * 会话缓存
+     */
+    private final SessionCache sessionCache;
+    private final RoleService roleService;
+    private final SignedTokenCodec signedTokenCodec;
+    private final TokenRevocationFilter tokenRevocationFilter;
+    private final TokenExpiryWheel tokenExpiryWheel;
+    private final Environment env;
 
     @Override
     @Transactional
-    public String createToken(String userUuid, Long expiredHourTime, HttpServletRequest request) {
-        List<TokenDO> userTokenList = tokenDAO.lambdaQuery()
-                .eq(TokenDO::getUserUuid, userUuid)
-                .orderByAsc(TokenDO::getCreatedAt)
-                .list();
-        // 检查令牌是否超过 5 个
-        if (userTokenList.size() > 5) {
-            // 删除最早的令牌
-            tokenDAO.lambdaUpdate()
-                    .eq(TokenDO::getTokenUuid, userTokenList.get(0).getTokenUuid())
-                    .remove();
-        }
+    public String createToken(String userUuid, String roleUuid, Long expiredHourTime, HttpServletRequest request) {
+        // 角色由调用方从已加载的用户信息传入，角色名称取自角色表快照，不再查询用户表
+        String roleName = roleService.getRoleName(roleUuid);
         // 创建新令牌
+        long expiredAt = System.currentTimeMillis() + expiredHourTime * 3600 * 1000;
         TokenDO tokenDO = new TokenDO()
                 .setTokenUuid(UuidUtil.generateStringUuid())
                 .setUserUuid(userUuid)
                 .setClientIp(request.getRemoteAddr())
                 .setClientReferer(request.getHeader("Referer"))
                 .setClientUserAgent(request.getHeader("User-Agent"))
-                .setExpiredAt(new Timestamp(System.currentTimeMillis() + expiredHourTime * 3600 * 1000));
+                .setExpiredAt(new Timestamp(expiredAt));
         tokenDAO.save(tokenDO);
+        tokenExpiryWheel.schedule(tokenDO.getTokenUuid(), expiredAt);
+        // 仅保留新令牌与最新的其余会话共 N 个，超出部分一次删除
+        List<TokenDO> removedList = tokenDAO.trimSessions(userUuid, tokenDO.getTokenUuid(), this.getSessionCap(roleName));
+        removedList.forEach(removed -> {
+            sessionCache.invalidate(removed.getTokenUuid());
+            this.revokeSigned(removed);
+        });
+        tokenExpiryWheel.cancel(removedList.stream().map(TokenDO::getTokenUuid).toList());
+        // 签名令牌模式下签发携带用户与角色的签名令牌，xf_token 仅作为会话台账
+        if (signedTokenCodec.isEnabled()) {
+            return signedTokenCodec.sign(tokenDO.getTokenUuid(), userUuid, roleName, expiredAt);
+        }
         return tokenDO.getTokenUuid();
     }
 
@@ -90,21 +110,31 @@ public class TokenLogic implements TokenService {
             throw new UserAuthenticationException(UserAuthenticationException.ErrorType.TOKEN_EXPIRED, request);
         }
         tokenDAO.removeById(getToken);
+        sessionCache.invalidate(token);
+        this.revokeSigned(getToken);
+        tokenExpiryWheel.cancel(List.of(token));
     }
 
     @Override
     @Transactional
     public void deleteTokenByRequest(HttpServletRequest request) {
-        UUID getTokenUuid = HeaderUtil.getAuthorizeUserUuid(request);
+        String getTokenUuid = this.resolveTokenUuid(request);
         if (getTokenUuid == null) {
             throw new UserAuthenticationException(UserAuthenticationException.ErrorType.TOKEN_EXPIRED, request);
         }
-        this.deleteToken(getTokenUuid.toString(), request);
+        this.deleteToken(getTokenUuid, request);
     }
 
     @Override
     @Transactional
     public boolean clearToken(String userUuid) {
+        sessionCache.invalidateUser(userUuid);
+        List<TokenDO> tokenList = tokenDAO.lambdaQuery()
+                .select(TokenDO::getTokenUuid, TokenDO::getExpiredAt)
+                .eq(TokenDO::getUserUuid, userUuid)
+                .list();
+        tokenList.forEach(this::revokeSigned);
+        tokenExpiryWheel.cancel(tokenList.stream().map(TokenDO::getTokenUuid).toList());
         return tokenDAO.lambdaUpdate()
                 .eq(TokenDO::getUserUuid, userUuid)
                 .remove();
@@ -119,10 +149,9 @@ public class TokenLogic implements TokenService {
         if (tokenDO == null) {
             return false;
         }
+        // 过期令牌由时间轮删除，此处只做判断
         if (tokenDO.getExpiredAt().before(new Timestamp(System.currentTimeMillis()))) {
-            tokenDAO.lambdaUpdate()
-                    .eq(TokenDO::getTokenUuid, token)
-                    .remove();
+            sessionCache.invalidate(token);
             return false;
         }
         return true;
@@ -134,4 +163,68 @@ public class TokenLogic implements TokenService {
                 .eq(TokenDO::getUserUuid, userUuid)
                 .list();
     }
+
+    @Override
+    public String resolveTokenUuid(@NotNull HttpServletRequest request) {
+        if (this.isSignedRequest(request)) {
+            SignedTokenCodec.SignedToken signedToken = this.resolveSignedToken(request);
+            return signedToken == null ? null : signedToken.getTokenUuid();
+        }
+        UUID getTokenUuid = HeaderUtil.getAuthorizeUserUuid(request);
+        return getTokenUuid == null ? null : getTokenUuid.toString();
+    }
+
+    @Override
+    public SignedTokenCodec.SignedToken resolveSignedToken(@NotNull HttpServletRequest request) {
+        if (!this.isSignedRequest(request)) {
+            return null;
+        }
+        // 签名与载荷中的过期时间由 parse 校验，吊销表兜底已删除的会话
+        SignedTokenCodec.SignedToken signedToken = signedTokenCodec.parse(signedTokenCodec.extract(request));
+        if (signedToken == null || tokenRevocationFilter.isRevoked(signedToken.getTokenUuid())) {
+            return null;
+        }
+        return signedToken;
+    }
+
+    /**
+     * 是否为签名令牌请求
+     *
+     * @param request 请求
+     * @return 签名令牌模式下请求携带签名格式的令牌时返回 {@code true}
+     */
+    private boolean isSignedRequest(@NotNull HttpServletRequest request) {
+        if (!signedTokenCodec.isEnabled()) {
+            return false;
+        }
+        String token = signedTokenCodec.extract(request);
+        return token != null && token.indexOf('.') > 0;
+    }
+
+    /**
+     * 获取会话上限
+     * <p>
+     * 读取 {@code schedule.token.session-cap.<角色名>}，未配置时使用 {@code schedule.token.session-cap.default}。
+     *
+     * @param roleName 角色名
+     * @return 会话上限（至少为 1）
+     */
+    private int getSessionCap(String roleName) {
+        int defaultCap = env.getProperty("schedule.token.session-cap.default", Integer.class, 5);
+        int cap = env.getProperty("schedule.token.session-cap." + roleName, Integer.class, defaultCap);
+        return Math.max(1, cap);
+    }
+
+    /**
+     * 吊销签名令牌
+     * <p>
+     * 签名令牌模式下，令牌从台账删除后需要写入吊销表，避免在过期前继续通过签名校验。
+     *
+     * @param tokenDO 令牌
+     */
+    private void revokeSigned(@NotNull TokenDO tokenDO) {
+        if (signedTokenCodec.isEnabled()) {
+            tokenRevocationFilter.revoke(tokenDO.getTokenUuid(), tokenDO.getExpiredAt().getTime());
+        }
+    }
 }
@@ -20,30 +20,33 @@
 
 package com.xlf.schedule.service.logic;
 
+import com.xlf.schedule.cache.SessionCache;
+import com.xlf.schedule.constant.PatternConstant;
 import com.xlf.schedule.constant.StringConstant;
-import com.xlf.schedule.dao.RoleDAO;
 import com.xlf.schedule.dao.TokenDAO;
 import com.xlf.schedule.dao.UserDAO;
 import com.xlf.schedule.exception.lib.IllegalDataException;
 import com.xlf.schedule.model.dto.UserDTO;
-import com.xlf.schedule.model.entity.RoleDO;
 import com.xlf.schedule.model.entity.TokenDO;
 import com.xlf.schedule.model.entity.UserDO;
 import com.xlf.schedule.model.vo.UserEditVO;
+import com.xlf.schedule.security.SignedTokenCodec;
 import com.xlf.schedule.service.RoleService;
+import com.xlf.schedule.service.TokenService;
 import com.xlf.schedule.service.UserService;
 import com.xlf.utility.ErrorCode;
 import com.xlf.utility.exception.BusinessException;
 import com.xlf.utility.exception.library.UserAuthenticationException;
-import com.xlf.utility.util.HeaderUtil;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
-import java.util.UUID;
 import java.util.regex.Pattern;
 
 /**
@@ -63,17 +66,19 @@ public class UserLogic implements UserService {
     private final UserDAO userDAO;
     private final TokenDAO tokenDAO;
     private final RoleService roleService;
-    private final RoleDAO roleDAO;
+    private final TokenService tokenService;
+    private final SessionCache sessionCache;
+    private final ObservationRegistry observationRegistry;
 
     @Override
     public UserDTO getUserForThreeType(String user) {
         // 检查用户类型
         UserDO userDO;
-        if (Pattern.matches("^(13\\d|14[01456879]|15[0-35-9]|16[2567]|17[0-8]|18\\d|19[0-35-9])\\d{8}$", user)) {
+        if (Pattern.matches(PatternConstant.PHONE, user)) {
             userDO = userDAO.lambdaQuery().eq(UserDO::getPhone, user).one();
-        } else if (Pattern.matches("^[\\w.%+-]+@[\\w.-]+\\.[A-Za-z]{2,}$", user)) {
+        } else if (Pattern.matches(PatternConstant.EMAIL, user)) {
             userDO = userDAO.lambdaQuery().eq(UserDO::getEmail, user).one();
-        } else if (Pattern.matches("^[a-zA-Z0-9_-]{4,36}$", user)) {
+        } else if (Pattern.matches(PatternConstant.USERNAME, user)) {
             userDO = userDAO.lambdaQuery().eq(UserDO::getUsername, user).one();
         } else {
             userDO = null;
@@ -93,29 +98,62 @@ public class UserLogic implements UserService {
         if (userDO == null) {
             throw new BusinessException(StringConstant.USER_NOT_EXIST, ErrorCode.NOT_EXIST);
         }
-        RoleDO roleDO = roleDAO.lambdaQuery().eq(RoleDO::getRoleUuid, userDO.getRole()).one();
         UserDTO userDTO = new UserDTO();
         BeanUtils.copyProperties(userDO, userDTO);
-        userDTO.setRole(roleDO.getName());
+        userDTO.setRole(roleService.getRoleName(userDO.getRole()));
         return userDTO;
     }
 
     @Override
-    public UserDTO getUserByToken(HttpServletRequest request) {
-        UUID getUserUuid = HeaderUtil.getAuthorizeUserUuid(request);
-        if (getUserUuid == null) {
+    public UserDTO getUserByToken(@NotNull HttpServletRequest request) {
+        // 同一请求内只解析一次，权限切面与控制器共享结果
+        if (request.getAttribute(StringConstant.REQUEST_CURRENT_USER) instanceof UserDTO requestUser) {
+            return requestUser;
+        }
+        UserDTO getUser = Observation.createNotStarted("schedule.auth.principal", observationRegistry)
+                .observe(() -> this.resolveUserByToken(request));
+        request.setAttribute(StringConstant.REQUEST_CURRENT_USER, getUser);
+        return getUser;
+    }
+
+    /**
+     * 通过令牌解析用户
+     * <p>
+     * 该方法用于通过请求头中的令牌解析用户信息；签名令牌只使用已校验的载荷（用户UUID、角色），
+     * 旧式令牌优先读取会话缓存，未命中时查询令牌与用户。
+     *
+     * @param request 请求
+     * @return {@link UserDTO} 用户信息
+     */
+    private UserDTO resolveUserByToken(HttpServletRequest request) {
+        // 签名令牌的载荷已携带用户与角色，校验通过后直接构造用户信息，不访问数据库
+        SignedTokenCodec.SignedToken signedToken = tokenService.resolveSignedToken(request);
+        if (signedToken != null) {
+            return new UserDTO()
+                    .setUuid(signedToken.getUserUuid())
+                    .setRole(signedToken.getRole());
+        }
+        // 旧式令牌直接取请求头中的 UUID，会话缓存未命中时查询数据库
+        String getTokenUuid = tokenService.resolveTokenUuid(request);
+        if (getTokenUuid == null) {
             throw new UserAuthenticationException(UserAuthenticationException.ErrorType.TOKEN_EXPIRED, request);
         }
-        TokenDO getTokenDO = tokenDAO.lambdaQuery().eq(TokenDO::getTokenUuid, getUserUuid.toString()).one();
+        // 优先读取会话缓存
+        UserDTO cacheUser = sessionCache.get(getTokenUuid);
+        if (cacheUser != null) {
+            return cacheUser;
+        }
+        TokenDO getTokenDO = tokenDAO.lambdaQuery().eq(TokenDO::getTokenUuid, getTokenUuid).one();
         if (getTokenDO == null) {
             throw new UserAuthenticationException(UserAuthenticationException.ErrorType.TOKEN_EXPIRED, request);
         }
-        // 检查令牌是否过期
+        // 检查令牌是否过期（过期令牌由时间轮删除）
         if (getTokenDO.getExpiredAt().before(new Timestamp(System.currentTimeMillis()))) {
-            tokenDAO.removeById(getTokenDO);
             throw new UserAuthenticationException(UserAuthenticationException.ErrorType.TOKEN_EXPIRED, request);
         }
-        return this.getUserByUuid(getTokenDO.getUserUuid());
+        UserDTO getUser = this.getUserByUuid(getTokenDO.getUserUuid());
+        sessionCache.put(getTokenDO.getTokenUuid(), getTokenDO.getExpiredAt().getTime(), getUser);
+        return getUser;
     }
 
     @Override
@@ -168,9 +206,11 @@ public class UserLogic implements UserService {
         }
         userDO.setUpdatedAt(new Timestamp(System.currentTimeMillis()));
         userDAO.updateById(userDO);
+        sessionCache.invalidateUser(userUuid);
     }
 
     @Override
+    @Transactional
     public void banUser(String userUuid, boolean isBan, String reason) {
         UserDO userDO = userDAO.lambdaQuery().eq(UserDO::getUuid, userUuid).one();
         if (userDO == null) {
@@ -190,9 +230,16 @@ public class UserLogic implements UserService {
                     .setBannedAt(null);
         }
         userDAO.updateById(userDO);
+        if (isBan) {
+            // 封禁后吊销并删除该用户的全部令牌
+            tokenService.clearToken(userUuid);
+        } else {
+            sessionCache.invalidateUser(userUuid);
+        }
     }
 
     @Override
+    @Transactional
     public void enableUser(String userUuid, boolean isEnable) {
         UserDO userDO = userDAO.lambdaQuery().eq(UserDO::getUuid, userUuid).one();
         if (userDO == null) {
@@ -202,5 +249,11 @@ public class UserLogic implements UserService {
                 .setEnable(isEnable)
                 .setUpdatedAt(new Timestamp(System.currentTimeMillis()));
         userDAO.updateById(userDO);
+        if (!isEnable) {
+            // 禁用后吊销并删除该用户的全部令牌
+            tokenService.clearToken(userUuid);
+        } else {
+            sessionCache.invalidateUser(userUuid);
+        }
     }
 }
@@ -20,21 +20,17 @@
 
 package com.xlf.schedule.task;
 
-import com.xlf.schedule.constant.SystemConstant;
-import com.xlf.schedule.dao.TokenDAO;
-import com.xlf.schedule.model.entity.TokenDO;
+import com.xlf.schedule.security.TokenRevocationFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.sql.Timestamp;
-import java.util.List;
-
 /**
  * Token 过期检查任务
  * <p>
  * 该类用于定义 Token 过期检查任务;
+ * 过期令牌主要由 {@link TokenExpiryWheel} 在到期时删除，本任务作为兜底，分批清理其他节点签发或时间轮遗漏的过期令牌;
  * 该类使用 {@link Component} 注解标记;
  * 该类使用 {@link RequiredArgsConstructor} 注解标记;
  * 该类使用 {@link Scheduled} 注解标记;
@@ -48,32 +44,22 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TokenExpiredCheckTask {
 
-    private final TokenDAO tokenDAO;
+    private final TokenExpiryWheel tokenExpiryWheel;
+    private final TokenRevocationFilter tokenRevocationFilter;
 
     @Scheduled(cron = "0 0 */4 * * *")
     public void checkTokenExpired() {
         log.info("[CRON] Token 过期检查任务执行");
         long startTime = System.currentTimeMillis();
-        if (SystemConstant.getIsDebugMode()) {
-            StringBuilder builder = new StringBuilder("[CRON] Token 过期数据\n\t");
-            try {
-                List<TokenDO> expiredTokenList = tokenDAO.lambdaQuery()
-                        .lt(TokenDO::getExpiredAt, new Timestamp(System.currentTimeMillis()))
-                        .list();
-                expiredTokenList.forEach(token -> {
-                    builder.append("> ").append("[").append(token.getTokenUuid()).append("]")
-                            .append(" ").append(token.getExpiredAt()).append("\n\t");
-                    tokenDAO.lambdaUpdate().eq(TokenDO::getTokenUuid, token.getTokenUuid()).remove();
-                });
-                log.debug("[CRON] Token 过期检查完成，共清理 {} 条过期 Token", expiredTokenList.size());
-                log.debug(builder.toString());
-            } catch (Exception e) {
-                log.error("[CRON] Token 过期检查任务执行失败", e);
-                return;
-            }
-        } else {
-            tokenDAO.lambdaUpdate().lt(TokenDO::getExpiredAt, new Timestamp(System.currentTimeMillis())).remove();
+        try {
+            long purged = tokenExpiryWheel.purgeExpired(startTime);
+            log.debug("[CRON] Token 过期检查完成，共清理 {} 条过期 Token", purged);
+        } catch (Exception e) {
+            log.error("[CRON] Token 过期检查任务执行失败", e);
+            return;
         }
+        // 清理已自然过期的吊销记录
+        tokenRevocationFilter.compact();
         long endTime = System.currentTimeMillis();
         log.info("[CRON] Token 过期检查完成，耗时: {}ms", endTime - startTime);
     }
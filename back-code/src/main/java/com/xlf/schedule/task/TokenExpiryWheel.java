@@ -0,0 +1,326 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.task;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.xlf.schedule.dao.TokenDAO;
+import com.xlf.schedule.model.entity.TokenDO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 令牌过期时间轮
+ * <p>
+ * 该类用于在令牌接近 {@code expired_at} 时将其从 {@code xf_token} 中删除，取代请求路径上的惰性删除;
+ * 采用四层分级时间轮（每层 64 槽，最小刻度 {@code schedule.token.expiry.tick-millis}），
+ * 令牌只在所在层的槽位到期时向下一层迁移，每个令牌在生命周期内最多被移动四次;
+ * 到期令牌按 {@code schedule.token.expiry.batch-size} 分批删除，启动加载同样按该大小分页读取;
+ * 登出、裁剪或清除令牌时通过 {@link #cancel(Collection)} 将其从所在槽位移除，等待数量只统计仍在台账中的令牌;
+ * 时间轮仅保存本节点签发或启动时加载的令牌，其余节点签发的令牌由 {@link TokenExpiredCheckTask} 兜底清理;
+ * 清理数量通过 {@code schedule.token.expiry.purged} 暴露，到期与实际删除之间的延迟通过 {@code schedule.token.expiry.lag} 暴露;
+ * 该类使用 {@link Component} 注解标记;
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Slf4j
+@Component
+public class TokenExpiryWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final TokenDAO tokenDAO;
+    private final long tickMillis;
+    private final int batchSize;
+    private final Counter purgedCounter;
+    private final Timer lagTimer;
+    private final AtomicLong pending = new AtomicLong();
+
+    /**
+     * 时间轮槽位（层 -> 槽 -> 令牌）
+     */
+    @SuppressWarnings("unchecked")
+    private final Set<Entry>[][] wheel = new Set[LEVELS][SLOTS];
+    /**
+     * 超出时间轮跨度的令牌，在最高层转动时重新放置
+     */
+    private final Set<Entry> overflow = new LinkedHashSet<>();
+    /**
+     * 已到期、等待删除的令牌
+     */
+    private final Set<Entry> due = new LinkedHashSet<>();
+    /**
+     * 时间轮中的令牌（令牌UUID -> 条目），用于取消时定位所在槽位
+     */
+    private final Map<String, Entry> entries = new HashMap<>();
+    private long currentTick;
+
+    public TokenExpiryWheel(TokenDAO tokenDAO, @NotNull Environment env, MeterRegistry meterRegistry) {
+        this.tokenDAO = tokenDAO;
+        this.tickMillis = env.getProperty("schedule.token.expiry.tick-millis", Long.class, 1000L);
+        this.batchSize = env.getProperty("schedule.token.expiry.batch-size", Integer.class, 500);
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[level][slot] = new LinkedHashSet<>();
+            }
+        }
+        this.currentTick = System.currentTimeMillis() / tickMillis;
+        this.purgedCounter = Counter.builder("schedule.token.expiry.purged")
+                .description("时间轮删除的过期令牌数量")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("schedule.token.expiry.lag")
+                .description("令牌到期至实际删除之间的延迟")
+                .register(meterRegistry);
+        Gauge.builder("schedule.token.expiry.pending", pending, AtomicLong::get)
+                .description("时间轮中等待过期的令牌数量")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 加载令牌
+     * <p>
+     * 应用启动完成后先分批删除已过期的令牌，再按令牌UUID分页（每页 {@code batch-size} 行）将未过期的令牌放入时间轮。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long purged = this.purgeExpired(System.currentTimeMillis());
+        long loaded = 0;
+        String lastTokenUuid = "";
+        List<TokenDO> tokenList;
+        do {
+            tokenList = tokenDAO.lambdaQuery()
+                    .select(TokenDO::getTokenUuid, TokenDO::getExpiredAt)
+                    .gt(TokenDO::getTokenUuid, lastTokenUuid)
+                    .orderByAsc(TokenDO::getTokenUuid)
+                    .last("limit " + batchSize)
+                    .list();
+            tokenList.forEach(token -> this.schedule(token.getTokenUuid(), token.getExpiredAt().getTime()));
+            if (!tokenList.isEmpty()) {
+                lastTokenUuid = tokenList.get(tokenList.size() - 1).getTokenUuid();
+            }
+            loaded += tokenList.size();
+        } while (tokenList.size() >= batchSize);
+        log.info("[INIT] 令牌过期时间轮加载完成 | 清理过期: {} | 加载: {}", purged, loaded);
+    }
+
+    /**
+     * 登记令牌
+     * <p>
+     * 同一令牌重复登记时以最后一次为准。
+     *
+     * @param tokenUuid 令牌UUID
+     * @param expiredAt 过期时间（毫秒）
+     */
+    public synchronized void schedule(@NotNull String tokenUuid, long expiredAt) {
+        this.unlink(entries.remove(tokenUuid));
+        Entry entry = new Entry(tokenUuid, expiredAt, Math.floorDiv(expiredAt + tickMillis - 1, tickMillis));
+        entries.put(tokenUuid, entry);
+        if (entry.tick <= currentTick) {
+            this.moveTo(entry, due);
+        } else {
+            this.place(entry);
+        }
+        pending.set(entries.size());
+    }
+
+    /**
+     * 取消令牌
+     * <p>
+     * 令牌被登出、裁剪或清除后调用，将其从所在槽位移除；未登记的令牌忽略；
+     * 其他节点登记的同一令牌仍留在其时间轮中，到期时的删除不影响结果。
+     *
+     * @param tokenUuidList 令牌UUID列表
+     */
+    public synchronized void cancel(@NotNull Collection<String> tokenUuidList) {
+        tokenUuidList.forEach(tokenUuid -> this.unlink(entries.remove(tokenUuid)));
+        pending.set(entries.size());
+    }
+
+    /**
+     * 转动时间轮
+     * <p>
+     * 按刻度推进到当前时间，收集到期的令牌并分批删除；删除在锁外进行，不阻塞令牌登记。
+     */
+    @Scheduled(fixedDelayString = "${schedule.token.expiry.tick-millis:1000}")
+    public void tick() {
+        List<Entry> expired;
+        synchronized (this) {
+            long targetTick = System.currentTimeMillis() / tickMillis;
+            while (currentTick < targetTick) {
+                currentTick++;
+                this.cascade();
+                Set<Entry> slot = wheel[0][(int) (currentTick & SLOT_MASK)];
+                slot.forEach(entry -> this.moveTo(entry, due));
+                slot.clear();
+            }
+            if (due.isEmpty()) {
+                return;
+            }
+            expired = new ArrayList<>(due);
+            due.clear();
+            expired.forEach(entry -> entries.remove(entry.tokenUuid, entry));
+            pending.set(entries.size());
+        }
+        long now = System.currentTimeMillis();
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<Entry> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+            try {
+                int removed = tokenDAO.getBaseMapper().delete(new LambdaQueryWrapper<TokenDO>()
+                        .in(TokenDO::getTokenUuid, batch.stream().map(Entry::getTokenUuid).toList()));
+                purgedCounter.increment(removed);
+            } catch (Exception e) {
+                log.error("[CRON] 令牌过期批量删除失败，等待兜底任务清理", e);
+            }
+            batch.forEach(entry -> lagTimer.record(Math.max(0, now - entry.expiredAt), TimeUnit.MILLISECONDS));
+        }
+    }
+
+    /**
+     * 分批删除过期令牌
+     * <p>
+     * 该方法用于按 {@code expired_at} 范围分批删除已过期的令牌，每批最多 {@code batch-size} 行，
+     * 供启动加载与兜底任务使用。
+     *
+     * @param now 当前时间（毫秒）
+     * @return 删除数量
+     */
+    public long purgeExpired(long now) {
+        Timestamp nowTime = new Timestamp(now);
+        long total = 0;
+        int removed;
+        do {
+            removed = tokenDAO.deleteExpired(nowTime, batchSize);
+            total += removed;
+        } while (removed >= batchSize);
+        purgedCounter.increment(total);
+        return total;
+    }
+
+    /**
+     * 放置令牌
+     * <p>
+     * 根据到期刻度与当前刻度的距离选择层级，第 {@code n} 层的一个槽位覆盖 {@code 64^n} 个刻度。
+     *
+     * @param entry 令牌
+     */
+    private void place(@NotNull Entry entry) {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * SLOT_BITS;
+            if ((entry.tick >> shift) - (currentTick >> shift) < SLOTS) {
+                this.moveTo(entry, wheel[level][(int) ((entry.tick >> shift) & SLOT_MASK)]);
+                return;
+            }
+        }
+        this.moveTo(entry, overflow);
+    }
+
+    /**
+     * 移动令牌
+     *
+     * @param entry  令牌
+     * @param bucket 目标槽位、溢出队列或到期集合
+     */
+    private void moveTo(@NotNull Entry entry, @NotNull Set<Entry> bucket) {
+        entry.bucket = bucket;
+        bucket.add(entry);
+    }
+
+    /**
+     * 从所在位置移除令牌
+     *
+     * @param entry 令牌，为 {@code null} 时忽略
+     */
+    private void unlink(Entry entry) {
+        if (entry != null && entry.bucket != null) {
+            entry.bucket.remove(entry);
+            entry.bucket = null;
+        }
+    }
+
+    /**
+     * 层级迁移
+     * <p>
+     * 当低层转满一圈时，将高层当前槽位中的令牌重新放置到更低的层级；由高到低处理，保证同一刻度内可以逐层下沉。
+     */
+    private void cascade() {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = level * SLOT_BITS;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+            if (level == LEVELS - 1 && !overflow.isEmpty()) {
+                List<Entry> overflowList = new ArrayList<>(overflow);
+                overflow.clear();
+                overflowList.forEach(this::place);
+            }
+            Set<Entry> slot = wheel[level][(int) ((currentTick >> shift) & SLOT_MASK)];
+            List<Entry> moving = new ArrayList<>(slot);
+            slot.clear();
+            for (Entry entry : moving) {
+                if (entry.tick <= currentTick) {
+                    this.moveTo(entry, due);
+                } else {
+                    this.place(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * 时间轮条目
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class Entry {
+        private final String tokenUuid;
+        private final long expiredAt;
+        private final long tick;
+        /**
+         * 当前所在的槽位、溢出队列或到期集合
+         */
+        private Set<Entry> bucket;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.xlf.schedule.model.dto.json.ClassTimeAbleDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 课程节次工具
+ * <p>
+ * 该类用于将课程行（周次、星期、起止节次）结合学期开始日期与课程时间表换算为具体的上课时间；
+ * 上课日期为学期开始日期加上 {@code (week - 1) * 7 + (day_tick - 1)} 天，开始时间取开始节次的开始时间，
+ * 结束时间取结束节次（不包含）前一节的结束时间；数据无法对应到课程时间表时返回 {@code null}。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+public class ClassSessionUtil {
+    private static final Gson GSON = new Gson();
+
+    private ClassSessionUtil() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 解析课程时间表
+     *
+     * @param timetable 课程时间表 JSON
+     * @return 课程时间表，无法解析时返回 {@code null}
+     */
+    public static List<ClassTimeAbleDTO> parseTimetable(String timetable) {
+        if (timetable == null) {
+            return null;
+        }
+        try {
+            return GSON.fromJson(timetable, new TypeToken<List<ClassTimeAbleDTO>>() {
+            }.getType());
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 换算上课时间
+     * <p>
+     * 课程行需包含 {@code week}、{@code day_tick}、{@code start_tick}、{@code end_tick}、{@code semester_begin} 与
+     * {@code class_time_uuid} 列。
+     *
+     * @param row          课程行
+     * @param timetableMap 课程时间UUID 到课程时间表的映射
+     * @return 上课时间
+     */
+    public static Session resolve(@NotNull Map<String, Object> row, @NotNull Map<String, List<ClassTimeAbleDTO>> timetableMap) {
+        List<ClassTimeAbleDTO> timetable = timetableMap.get((String) row.get("class_time_uuid"));
+        if (timetable == null || !(row.get("semester_begin") instanceof java.sql.Date semesterBegin)) {
+            return null;
+        }
+        int week = ((Number) row.get("week")).intValue();
+        int dayTick = ((Number) row.get("day_tick")).intValue();
+        int startTick = ((Number) row.get("start_tick")).intValue();
+        int endTick = ((Number) row.get("end_tick")).intValue();
+        if (week < 1 || dayTick < 1 || dayTick > 7 || startTick < 0 || endTick <= startTick || endTick > timetable.size()) {
+            return null;
+        }
+        LocalDate date = semesterBegin.toLocalDate().plusDays((week - 1) * 7L + (dayTick - 1));
+        try {
+            LocalTime startTime = LocalTime.parse(timetable.get(startTick).getStartTime());
+            LocalTime endTime = LocalTime.parse(timetable.get(endTick - 1).getEndTime());
+            return new Session(LocalDateTime.of(date, startTime), LocalDateTime.of(date, endTime));
+        } catch (DateTimeParseException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 上课时间
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Session {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.util;
+
+import com.xlf.schedule.constant.StringConstant;
+import com.xlf.utility.ErrorCode;
+import com.xlf.utility.exception.BusinessException;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 游标工具
+ * <p>
+ * 该类用于编码、解码键集分页的不透明游标；
+ * 游标由排序键的各个分量拼接后进行 Base64URL 编码，客户端只需原样回传，不应解析其内容。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+public class CursorUtil {
+    private static final String SEPARATOR = "|";
+
+    private CursorUtil() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 编码游标
+     *
+     * @param parts 排序键分量（不能包含 {@code |}）
+     * @return 游标
+     */
+    @NotNull
+    public static String encode(@NotNull String... parts) {
+        String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor 游标
+     * @param count  排序键分量个数
+     * @return 排序键分量
+     */
+    @NotNull
+    public static String[] decode(@NotNull String cursor, int count) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(StringConstant.CURSOR_ILLEGAL, ErrorCode.PARAMETER_ILLEGAL);
+        }
+        if (parts.length != count) {
+            throw new BusinessException(StringConstant.CURSOR_ILLEGAL, ErrorCode.PARAMETER_ILLEGAL);
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * iCalendar 工具
+ * <p>
+ * 该类用于按 RFC 5545 写出 iCalendar 内容行：行以 {@code CRLF} 结束，超过 75 个字节时折行（续行以空格开头，不拆分多字节字符）；
+ * 文本值转义 {@code \ ; ,} 与换行；日期时间使用不带时区的浮动时间，由客户端按本地时区显示。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+public class IcsUtil {
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private IcsUtil() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 写出内容行
+     *
+     * @param writer 输出
+     * @param name   属性名（可包含参数，如 {@code DTSTART;VALUE=DATE}）
+     * @param value  属性值（已转义）
+     * @throws IOException 写出失败
+     */
+    public static void writeLine(@NotNull Writer writer, @NotNull String name, @NotNull String value) throws IOException {
+        String line = name + ":" + value;
+        int octets = 0;
+        int index = 0;
+        while (index < line.length()) {
+            int codePoint = line.codePointAt(index);
+            int charCount = Character.charCount(codePoint);
+            int length = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            if (octets + length > MAX_LINE_OCTETS) {
+                writer.write("\r\n ");
+                octets = 1;
+            }
+            writer.write(line, index, charCount);
+            octets += length;
+            index += charCount;
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * 写出文本属性
+     * <p>
+     * 值为空时不写出。
+     *
+     * @param writer 输出
+     * @param name   属性名
+     * @param text   文本（未转义）
+     * @throws IOException 写出失败
+     */
+    public static void writeText(@NotNull Writer writer, @NotNull String name, String text) throws IOException {
+        if (text != null && !text.isBlank()) {
+            writeLine(writer, name, escape(text));
+        }
+    }
+
+    /**
+     * 转义文本
+     *
+     * @param text 文本
+     * @return 转义后的文本
+     */
+    @NotNull
+    public static String escape(@NotNull String text) {
+        return text
+                .replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n");
+    }
+
+    /**
+     * 格式化日期时间（浮动时间）
+     *
+     * @param time 日期时间
+     * @return {@code yyyyMMdd'T'HHmmss}
+     */
+    @NotNull
+    public static String formatDateTime(@NotNull LocalDateTime time) {
+        return DATE_TIME.format(time);
+    }
+
+    /**
+     * 格式化日期
+     *
+     * @param date 日期
+     * @return {@code yyyyMMdd}
+     */
+    @NotNull
+    public static String formatDate(@NotNull LocalDate date) {
+        return DATE.format(date);
+    }
+
+    /**
+     * 格式化 UTC 时间（用于 {@code DTSTAMP}）
+     *
+     * @param instant 时间点
+     * @return {@code yyyyMMdd'T'HHmmss'Z'}
+     */
+    @NotNull
+    public static String formatUtc(@NotNull Instant instant) {
+        return UTC.format(instant);
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.util;
+
+import com.xlf.schedule.model.entity.ScheduleDO;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * 循环日程展开工具
+ * <p>
+ * 该类用于将循环日程（{@code type = 1}）展开为指定时间窗口 {@code [windowStart, windowEnd)} 内的具体发生时间；
+ * 首次发生时间通过算术直接定位，不从日程起点逐日遍历；结果以惰性流的形式返回，长度只与窗口大小有关。
+ * <p>
+ * 循环类型与 {@link ScheduleDO#getLoopType()} 保持一致：
+ * {@code 1} 每天、{@code 2} 每周、{@code 3} 每个工作日、{@code 4} 每月 1 号、{@code 5} 每月 14 号、{@code 0} 每 {@code customLoop} 天。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+@Slf4j
+public class RecurrenceUtil {
+    /**
+     * 单条循环规则在一个窗口内最多展开的次数，超出时截断并输出警告日志；
+     * 调用方应限制窗口长度，使每天循环的日程也不会达到该次数
+     */
+    public static final int MAX_OCCURRENCES = 1000;
+
+    private RecurrenceUtil() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 展开循环日程
+     * <p>
+     * 该方法用于获取循环日程在窗口内的每次发生的开始时间；
+     * 一次发生占用 {@code [开始时间, 开始时间 + 持续时间)}，与窗口有交集即返回；
+     * 非循环日程或循环规则无效时返回空流；超过 {@link #MAX_OCCURRENCES} 次时只返回前 {@link #MAX_OCCURRENCES} 次并输出警告日志。
+     *
+     * @param schedule    日程
+     * @param windowStart 窗口开始（包含）
+     * @param windowEnd   窗口结束（不包含）
+     * @return 发生的开始时间（升序）
+     */
+    public static Stream<LocalDateTime> expand(
+            @NotNull ScheduleDO schedule,
+            @NotNull LocalDateTime windowStart,
+            @NotNull LocalDateTime windowEnd
+    ) {
+        if (schedule.getType() == null || schedule.getType() != 1 || schedule.getLoopType() == null
+                || schedule.getStartTime() == null || !windowStart.isBefore(windowEnd)) {
+            return Stream.empty();
+        }
+        LocalDateTime anchor = schedule.getStartTime().toLocalDateTime();
+        Duration duration = getDuration(schedule);
+        // 结束时间晚于窗口开始的最早一次发生，其开始时间不早于 windowStart - duration
+        LocalDateTime lowerBound = windowStart.minus(duration);
+        LocalDateTime first;
+        UnaryOperator<LocalDateTime> next;
+        switch (schedule.getLoopType()) {
+            case 1 -> {
+                first = firstByPeriod(anchor, lowerBound, 1);
+                next = time -> time.plusDays(1);
+            }
+            case 2 -> {
+                first = firstByPeriod(anchor, lowerBound, 7);
+                next = time -> time.plusDays(7);
+            }
+            case 3 -> {
+                first = firstWorkday(anchor, lowerBound);
+                next = RecurrenceUtil::nextWorkday;
+            }
+            case 4 -> {
+                first = firstDayOfMonth(anchor, lowerBound, 1);
+                next = time -> time.plusMonths(1);
+            }
+            case 5 -> {
+                first = firstDayOfMonth(anchor, lowerBound, 14);
+                next = time -> time.plusMonths(1);
+            }
+            case 0 -> {
+                if (schedule.getCustomLoop() == null || schedule.getCustomLoop() <= 0) {
+                    return Stream.empty();
+                }
+                int period = schedule.getCustomLoop();
+                first = firstByPeriod(anchor, lowerBound, period);
+                next = time -> time.plusDays(period);
+            }
+            default -> {
+                return Stream.empty();
+            }
+        }
+        AtomicInteger count = new AtomicInteger();
+        return Stream.iterate(first, time -> time.isBefore(windowEnd), next)
+                .filter(time -> isOverlap(time, duration, windowStart))
+                .takeWhile(time -> {
+                    if (count.incrementAndGet() <= MAX_OCCURRENCES) {
+                        return true;
+                    }
+                    log.warn("[RECURRENCE] 日程 {} 在窗口 [{}, {}) 内超过 {} 次，结果已截断",
+                            schedule.getScheduleUuid(), windowStart, windowEnd, MAX_OCCURRENCES);
+                    return false;
+                });
+    }
+
+    /**
+     * 转换为 iCalendar 循环规则
+     * <p>
+     * 该方法用于将循环类型转换为 {@code RRULE} 的值，与 {@link #expand} 的展开规则一致；
+     * 非循环日程或循环规则无效时返回 {@code null}。
+     *
+     * @param schedule 日程
+     * @return {@code RRULE} 的值
+     */
+    public static String toRRule(@NotNull ScheduleDO schedule) {
+        if (schedule.getType() == null || schedule.getType() != 1 || schedule.getLoopType() == null) {
+            return null;
+        }
+        return switch (schedule.getLoopType()) {
+            case 1 -> "FREQ=DAILY";
+            case 2 -> "FREQ=WEEKLY";
+            case 3 -> "FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR";
+            case 4 -> "FREQ=MONTHLY;BYMONTHDAY=1";
+            case 5 -> "FREQ=MONTHLY;BYMONTHDAY=14";
+            case 0 -> schedule.getCustomLoop() == null || schedule.getCustomLoop() <= 0
+                    ? null
+                    : "FREQ=DAILY;INTERVAL=" + schedule.getCustomLoop();
+            default -> null;
+        };
+    }
+
+    /**
+     * 获取持续时间
+     * <p>
+     * 该方法用于获取日程单次发生的持续时间，结束时间为空或早于开始时间时视为 {@code 0}。
+     *
+     * @param schedule 日程
+     * @return 持续时间
+     */
+    @NotNull
+    public static Duration getDuration(@NotNull ScheduleDO schedule) {
+        if (schedule.getStartTime() == null || schedule.getEndTime() == null
+                || schedule.getEndTime().before(schedule.getStartTime())) {
+            return Duration.ZERO;
+        }
+        return Duration.between(schedule.getStartTime().toLocalDateTime(), schedule.getEndTime().toLocalDateTime());
+    }
+
+    /**
+     * 判断单次发生是否与窗口相交（窗口结束已由流的终止条件保证）
+     */
+    private static boolean isOverlap(@NotNull LocalDateTime start, @NotNull Duration duration, LocalDateTime windowStart) {
+        if (duration.isZero()) {
+            return !start.isBefore(windowStart);
+        }
+        return start.plus(duration).isAfter(windowStart);
+    }
+
+    /**
+     * 固定天数周期下不早于下界的首次发生
+     */
+    @NotNull
+    private static LocalDateTime firstByPeriod(@NotNull LocalDateTime anchor, @NotNull LocalDateTime lowerBound, int periodDays) {
+        if (!anchor.isBefore(lowerBound)) {
+            return anchor;
+        }
+        long days = ChronoUnit.DAYS.between(anchor, lowerBound);
+        LocalDateTime time = anchor.plusDays(days / periodDays * periodDays);
+        return time.isBefore(lowerBound) ? time.plusDays(periodDays) : time;
+    }
+
+    /**
+     * 工作日循环下不早于下界的首次发生
+     */
+    @NotNull
+    private static LocalDateTime firstWorkday(@NotNull LocalDateTime anchor, @NotNull LocalDateTime lowerBound) {
+        LocalDateTime time = anchor;
+        if (anchor.isBefore(lowerBound)) {
+            time = LocalDateTime.of(lowerBound.toLocalDate(), anchor.toLocalTime());
+            if (time.isBefore(lowerBound)) {
+                time = time.plusDays(1);
+            }
+        }
+        return skipWeekend(time);
+    }
+
+    /**
+     * 每月固定日期循环下不早于下界的首次发生
+     */
+    @NotNull
+    private static LocalDateTime firstDayOfMonth(@NotNull LocalDateTime anchor, @NotNull LocalDateTime lowerBound, int dayOfMonth) {
+        LocalDateTime base = anchor.isBefore(lowerBound) ? lowerBound : anchor;
+        LocalDateTime time = LocalDateTime.of(base.toLocalDate().withDayOfMonth(dayOfMonth), anchor.toLocalTime());
+        return time.isBefore(base) ? time.plusMonths(1) : time;
+    }
+
+    @NotNull
+    private static LocalDateTime nextWorkday(@NotNull LocalDateTime time) {
+        return skipWeekend(time.plusDays(1));
+    }
+
+    @NotNull
+    private static LocalDateTime skipWeekend(@NotNull LocalDateTime time) {
+        DayOfWeek dayOfWeek = time.getDayOfWeek();
+        if (dayOfWeek == DayOfWeek.SATURDAY) {
+            return time.plusDays(2);
+        }
+        if (dayOfWeek == DayOfWeek.SUNDAY) {
+            return time.plusDays(1);
+        }
+        return time;
+    }
+}
@@ -0,0 +1,683 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.util;
+
+import com.xlf.schedule.constant.PatternConstant;
+import com.xlf.schedule.model.entity.ScheduleDO;
+import com.xlf.utility.ErrorCode;
+import com.xlf.utility.exception.BusinessException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * 日程导入工具
+ * <p>
+ * 该类用于将 iCalendar 与 CSV 文件按流解析为日程（以及将 CSV 解析为小组成员UUID），每解析出一条记录即交给 {@link RowConsumer} 处理，不在内存中保留整个文件；
+ * 该类只负责格式转换，名称长度、优先级范围、小组权限等业务校验由调用方完成；
+ * 无法表示为本系统循环类型的 {@code RRULE}（如带 {@code COUNT}/{@code UNTIL}）作为错误行返回，而不是近似导入。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+public class ScheduleImportUtil {
+    private static final DateTimeFormatter ICS_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter ICS_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter CSV_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]");
+    private static final DateTimeFormatter CSV_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final Set<String> WORKDAYS = Set.of("MO", "TU", "WE", "TH", "FR");
+    private static final List<String> CSV_REQUIRED_COLUMNS = List.of("name", "start_time");
+    private static final List<String> MEMBER_CSV_COLUMNS = List.of("user_uuid", "uuid");
+
+    private ScheduleImportUtil() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 记录处理器
+     */
+    @FunctionalInterface
+    public interface RowConsumer {
+
+        /**
+         * 处理一条记录
+         *
+         * @param line     记录所在行号（从 {@code 1} 开始）
+         * @param schedule 解析出的日程，解析失败时为 {@code null}
+         * @param error    解析失败原因，解析成功时为 {@code null}
+         * @return 是否继续解析
+         */
+        boolean accept(int line, ScheduleDO schedule, String error);
+    }
+
+    /**
+     * 解析 iCalendar
+     * <p>
+     * 每个 {@code VEVENT} 对应一条记录；支持折行、{@code TZID} 与 UTC 时间（转换为服务器本地时间）、全天事件、
+     * {@code DURATION}、{@code CATEGORIES} 与 {@code PRIORITY}。
+     *
+     * @param reader   输入
+     * @param consumer 记录处理器
+     * @throws IOException 读取失败
+     */
+    public static void parseIcs(@NotNull BufferedReader reader, @NotNull RowConsumer consumer) throws IOException {
+        Map<String, List<IcsProperty>> event = null;
+        int eventLine = 0;
+        int nested = 0;
+        String pending = null;
+        int pendingLine = 0;
+        int lineNumber = 0;
+        String physical;
+        while (true) {
+            physical = reader.readLine();
+            if (physical != null) {
+                lineNumber++;
+                if (pending != null && !physical.isEmpty() && (physical.charAt(0) == ' ' || physical.charAt(0) == '\t')) {
+                    pending += physical.substring(1);
+                    continue;
+                }
+            }
+            if (pending != null) {
+                // 处理已展开的上一行
+                IcsProperty property = IcsProperty.parse(pending);
+                if (property != null) {
+                    if ("BEGIN".equals(property.name)) {
+                        if (event == null && "VEVENT".equalsIgnoreCase(property.value)) {
+                            event = new HashMap<>();
+                            eventLine = pendingLine;
+                            nested = 0;
+                        } else if (event != null) {
+                            nested++;
+                        }
+                    } else if ("END".equals(property.name)) {
+                        if (event != null && nested > 0) {
+                            nested--;
+                        } else if (event != null && "VEVENT".equalsIgnoreCase(property.value)) {
+                            ScheduleDO scheduleDO = null;
+                            String error = null;
+                            try {
+                                scheduleDO = toSchedule(event);
+                            } catch (IllegalArgumentException | DateTimeException e) {
+                                error = e.getMessage();
+                            }
+                            if (!consumer.accept(eventLine, scheduleDO, error)) {
+                                return;
+                            }
+                            event = null;
+                        }
+                    } else if (event != null && nested == 0) {
+                        event.computeIfAbsent(property.name, key -> new ArrayList<>()).add(property);
+                    }
+                }
+            }
+            if (physical == null) {
+                return;
+            }
+            pending = physical;
+            pendingLine = lineNumber;
+        }
+    }
+
+    /**
+     * 解析 CSV
+     * <p>
+     * 首行为列名（不区分大小写）：{@code name}、{@code start_time} 必填，
+     * 可选 {@code description}、{@code end_time}、{@code type}、{@code loop_type}、{@code custom_loop}、{@code tags}、
+     * {@code priority}、{@code group_uuid}；时间格式为 {@code yyyy-MM-dd HH:mm[:ss]}、{@code yyyy-MM-dd} 或毫秒时间戳，
+     * 多个标签以 {@code ;} 或 {@code |} 分隔；字段遵循 RFC 4180 的引号规则，可包含逗号与换行。
+     *
+     * @param reader   输入
+     * @param consumer 记录处理器
+     * @throws IOException 读取失败
+     */
+    public static void parseCsv(@NotNull BufferedReader reader, @NotNull RowConsumer consumer) throws IOException {
+        CsvReader csvReader = new CsvReader(reader);
+        List<String> header = csvReader.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (i == 0 && !column.isEmpty() && column.charAt(0) == '\uFEFF') {
+                column = column.substring(1);
+            }
+            columns.put(column, i);
+        }
+        for (String required : CSV_REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new BusinessException("CSV 缺少列 " + required, ErrorCode.PARAMETER_ILLEGAL);
+            }
+        }
+        List<String> record;
+        while ((record = csvReader.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            int line = csvReader.recordLine;
+            ScheduleDO scheduleDO = null;
+            String error = null;
+            try {
+                scheduleDO = toSchedule(record, columns);
+            } catch (IllegalArgumentException | DateTimeException e) {
+                error = e.getMessage();
+            }
+            if (!consumer.accept(line, scheduleDO, error)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 解析小组成员 CSV
+     * <p>
+     * 取 {@code user_uuid}（或 {@code uuid}）列的值，其余列忽略；首行本身就是用户UUID时视为没有表头的单列文件；
+     * 空值跳过，值的格式由调用方校验。
+     *
+     * @param reader   输入
+     * @param consumer 用户UUID处理器，返回 {@code false} 时停止解析
+     * @throws IOException 读取失败
+     */
+    public static void parseMemberCsv(@NotNull BufferedReader reader, @NotNull Predicate<String> consumer) throws IOException {
+        CsvReader csvReader = new CsvReader(reader);
+        List<String> header = csvReader.next();
+        if (header == null) {
+            return;
+        }
+        if (!header.isEmpty() && !header.get(0).isEmpty() && header.get(0).charAt(0) == '\uFEFF') {
+            header.set(0, header.get(0).substring(1));
+        }
+        int index = -1;
+        for (int i = 0; i < header.size() && index < 0; i++) {
+            if (MEMBER_CSV_COLUMNS.contains(header.get(i).trim().toLowerCase(Locale.ROOT))) {
+                index = i;
+            }
+        }
+        List<String> record = header;
+        if (index < 0) {
+            if (!Pattern.matches(PatternConstant.UUID, header.get(0).trim())) {
+                throw new BusinessException("CSV 缺少列 user_uuid", ErrorCode.PARAMETER_ILLEGAL);
+            }
+            index = 0;
+        } else {
+            record = csvReader.next();
+        }
+        for (; record != null; record = csvReader.next()) {
+            String value = index < record.size() ? record.get(index).trim() : "";
+            if (!value.isEmpty() && !consumer.test(value)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 将 {@code VEVENT} 转换为日程
+     */
+    @NotNull
+    private static ScheduleDO toSchedule(@NotNull Map<String, List<IcsProperty>> event) {
+        IcsProperty dtStart = first(event, "DTSTART");
+        if (dtStart == null) {
+            throw new IllegalArgumentException("缺少 DTSTART");
+        }
+        boolean allDay = dtStart.isDate();
+        LocalDateTime start = dtStart.toLocalDateTime();
+        LocalDateTime end;
+        IcsProperty dtEnd = first(event, "DTEND");
+        IcsProperty duration = first(event, "DURATION");
+        if (dtEnd != null) {
+            end = dtEnd.toLocalDateTime();
+        } else if (duration != null) {
+            end = start.plus(parseDuration(duration.value));
+        } else {
+            end = allDay ? start.plusDays(1) : start;
+        }
+        if (allDay) {
+            // 全天事件的结束日期不包含在内
+            end = end.isAfter(start) ? end.minusSeconds(1) : start.plusDays(1).minusSeconds(1);
+        }
+        ScheduleDO scheduleDO = new ScheduleDO()
+                .setName(text(first(event, "SUMMARY")))
+                .setDescription(text(first(event, "DESCRIPTION")))
+                .setStartTime(Timestamp.valueOf(start))
+                .setEndTime(Timestamp.valueOf(end))
+                .setType((short) (allDay ? 2 : 0))
+                .setPriority(toPriority(first(event, "PRIORITY")));
+        IcsProperty rrule = first(event, "RRULE");
+        if (rrule != null) {
+            applyRRule(scheduleDO, rrule.value, start);
+        }
+        Set<String> tags = new LinkedHashSet<>();
+        for (IcsProperty categories : event.getOrDefault("CATEGORIES", List.of())) {
+            for (String tag : splitEscaped(categories.value)) {
+                String value = unescape(tag).trim();
+                if (!value.isEmpty()) {
+                    tags.add(value);
+                }
+            }
+        }
+        return scheduleDO.setTags(new ArrayList<>(tags));
+    }
+
+    /**
+     * 将 CSV 记录转换为日程
+     */
+    @NotNull
+    private static ScheduleDO toSchedule(@NotNull List<String> record, @NotNull Map<String, Integer> columns) {
+        LocalDateTime start = parseCsvTime(column(record, columns, "start_time"), "start_time");
+        if (start == null) {
+            throw new IllegalArgumentException("start_time 不能为空");
+        }
+        LocalDateTime end = parseCsvTime(column(record, columns, "end_time"), "end_time");
+        String type = column(record, columns, "type");
+        String priority = column(record, columns, "priority");
+        String loopType = column(record, columns, "loop_type");
+        String customLoop = column(record, columns, "custom_loop");
+        Set<String> tags = new LinkedHashSet<>();
+        String tagValue = column(record, columns, "tags");
+        if (tagValue != null) {
+            for (String tag : tagValue.split("[;|]")) {
+                if (!tag.isBlank()) {
+                    tags.add(tag.trim());
+                }
+            }
+        }
+        return new ScheduleDO()
+                .setName(column(record, columns, "name"))
+                .setDescription(column(record, columns, "description"))
+                .setStartTime(Timestamp.valueOf(start))
+                .setEndTime(Timestamp.valueOf(end == null ? start : end))
+                .setType(type == null ? 0 : parseShort(type, "type"))
+                .setLoopType(loopType == null ? null : parseShort(loopType, "loop_type"))
+                .setCustomLoop(customLoop == null ? null : (int) parseShort(customLoop, "custom_loop"))
+                .setTags(new ArrayList<>(tags))
+                .setPriority(priority == null ? 1 : parseShort(priority, "priority"))
+                .setGroupUuid(column(record, columns, "group_uuid"));
+    }
+
+    /**
+     * 将 {@code RRULE} 转换为循环类型
+     * <p>
+     * 与 {@link RecurrenceUtil#toRRule} 互为逆运算，另外支持以天数表示的间隔规则。
+     */
+    private static void applyRRule(@NotNull ScheduleDO scheduleDO, @NotNull String value, @NotNull LocalDateTime start) {
+        Map<String, String> parts = new HashMap<>();
+        for (String part : value.split(";")) {
+            int index = part.indexOf('=');
+            if (index > 0) {
+                parts.put(part.substring(0, index).toUpperCase(Locale.ROOT), part.substring(index + 1).toUpperCase(Locale.ROOT));
+            }
+        }
+        String freq = parts.remove("FREQ");
+        String byDay = parts.remove("BYDAY");
+        String byMonthDay = parts.remove("BYMONTHDAY");
+        parts.remove("WKST");
+        int interval;
+        try {
+            interval = Integer.parseInt(parts.getOrDefault("INTERVAL", "1"));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("不支持的循环规则: " + value);
+        }
+        parts.remove("INTERVAL");
+        Short loopType = null;
+        Integer customLoop = null;
+        if (parts.isEmpty() && interval > 0 && freq != null) {
+            String startDay = start.getDayOfWeek().name().substring(0, 2);
+            switch (freq) {
+                case "DAILY" -> {
+                    if (byDay == null && byMonthDay == null) {
+                        loopType = (short) (interval == 1 ? 1 : 0);
+                        customLoop = interval == 1 ? null : interval;
+                    }
+                }
+                case "WEEKLY" -> {
+                    if (byMonthDay == null && (byDay == null || byDay.equals(startDay))) {
+                        loopType = (short) (interval == 1 ? 2 : 0);
+                        customLoop = interval == 1 ? null : interval * 7;
+                    } else if (byMonthDay == null && interval == 1 && Set.of(byDay.split(",")).equals(WORKDAYS)) {
+                        loopType = 3;
+                    }
+                }
+                case "MONTHLY" -> {
+                    String day = byMonthDay == null ? String.valueOf(start.getDayOfMonth()) : byMonthDay;
+                    if (byDay == null && interval == 1 && ("1".equals(day) || "14".equals(day))) {
+                        loopType = (short) ("1".equals(day) ? 4 : 5);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        if (loopType == null) {
+            throw new IllegalArgumentException("不支持的循环规则: " + value);
+        }
+        scheduleDO
+                .setType((short) 1)
+                .setLoopType(loopType)
+                .setCustomLoop(customLoop);
+    }
+
+    /**
+     * 解析 {@code DURATION}（{@code P1W}、{@code P1DT2H}、{@code PT30M} 等）
+     */
+    @NotNull
+    private static Duration parseDuration(@NotNull String value) {
+        String upper = value.trim().toUpperCase(Locale.ROOT);
+        try {
+            if (upper.matches("^\\+?P\\d+W$")) {
+                return Duration.ofDays(Long.parseLong(upper.replaceAll("\\D", "")) * 7);
+            }
+            Duration duration = Duration.parse(upper.startsWith("+") ? upper.substring(1) : upper);
+            if (duration.isNegative()) {
+                throw new IllegalArgumentException("DURATION 不能为负数");
+            }
+            return duration;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("DURATION 格式非法: " + value);
+        }
+    }
+
+    /**
+     * 将 iCalendar 优先级（1 最高 - 9 最低，0 未定义）转换为本系统优先级（4 高 - 1 较低）
+     */
+    private static short toPriority(IcsProperty property) {
+        if (property == null) {
+            return 1;
+        }
+        int value;
+        try {
+            value = Integer.parseInt(property.value.trim());
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+        if (value >= 1 && value <= 4) {
+            return 4;
+        } else if (value == 5) {
+            return 3;
+        } else if (value == 6 || value == 7) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static IcsProperty first(@NotNull Map<String, List<IcsProperty>> event, @NotNull String name) {
+        List<IcsProperty> list = event.get(name);
+        return list == null || list.isEmpty() ? null : list.get(0);
+    }
+
+    private static String text(IcsProperty property) {
+        return property == null ? null : unescape(property.value);
+    }
+
+    /**
+     * 按未转义的逗号拆分
+     */
+    @NotNull
+    private static List<String> splitEscaped(@NotNull String value) {
+        List<String> list = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                current.append(c).append(value.charAt(++i));
+            } else if (c == ',') {
+                list.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        list.add(current.toString());
+        return list;
+    }
+
+    /**
+     * 反转义文本，与 {@link IcsUtil#escape} 对应
+     */
+    @NotNull
+    private static String unescape(@NotNull String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                builder.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String column(@NotNull List<String> record, @NotNull Map<String, Integer> columns, @NotNull String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static short parseShort(@NotNull String value, @NotNull String column) {
+        try {
+            return Short.parseShort(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " 格式非法: " + value);
+        }
+    }
+
+    private static LocalDateTime parseCsvTime(String value, @NotNull String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (value.chars().allMatch(Character::isDigit)) {
+                return new Timestamp(Long.parseLong(value)).toLocalDateTime();
+            }
+            String normalized = value.replace('T', ' ');
+            if (normalized.length() == 10) {
+                return LocalDate.parse(normalized, CSV_DATE).atStartOfDay();
+            }
+            return LocalDateTime.parse(normalized, CSV_DATE_TIME);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException(column + " 格式非法: " + value);
+        }
+    }
+
+    /**
+     * iCalendar 内容行
+     */
+    private static class IcsProperty {
+        private final String name;
+        private final Map<String, String> params;
+        private final String value;
+
+        private IcsProperty(String name, Map<String, String> params, String value) {
+            this.name = name;
+            this.params = params;
+            this.value = value;
+        }
+
+        /**
+         * 解析内容行 {@code name *(";" param) ":" value}，参数值可使用双引号包含 {@code :} 与 {@code ;}
+         */
+        private static IcsProperty parse(@NotNull String line) {
+            boolean quoted = false;
+            int colon = -1;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (c == ':' && !quoted) {
+                    colon = i;
+                    break;
+                }
+            }
+            if (colon <= 0) {
+                return null;
+            }
+            String[] head = line.substring(0, colon).split(";(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)");
+            Map<String, String> params = new HashMap<>();
+            for (int i = 1; i < head.length; i++) {
+                int index = head[i].indexOf('=');
+                if (index > 0) {
+                    params.put(head[i].substring(0, index).toUpperCase(Locale.ROOT), head[i].substring(index + 1).replace("\"", ""));
+                }
+            }
+            return new IcsProperty(head[0].toUpperCase(Locale.ROOT), params, line.substring(colon + 1));
+        }
+
+        private boolean isDate() {
+            return "DATE".equalsIgnoreCase(params.get("VALUE")) || value.trim().length() == 8;
+        }
+
+        /**
+         * 转换为服务器本地时间，UTC 时间与带 {@code TZID} 的时间按时区换算，其余视为浮动时间
+         */
+        @NotNull
+        private LocalDateTime toLocalDateTime() {
+            String text = value.trim();
+            try {
+                if (this.isDate()) {
+                    return LocalDate.parse(text.substring(0, 8), ICS_DATE).atStartOfDay();
+                }
+                if (text.endsWith("Z") || text.endsWith("z")) {
+                    return LocalDateTime.parse(text.substring(0, text.length() - 1), ICS_DATE_TIME)
+                            .atZone(ZoneId.of("UTC"))
+                            .withZoneSameInstant(ZoneId.systemDefault())
+                            .toLocalDateTime();
+                }
+                LocalDateTime local = LocalDateTime.parse(text, ICS_DATE_TIME);
+                String tzid = params.get("TZID");
+                if (tzid != null) {
+                    try {
+                        return ZonedDateTime.of(local, ZoneId.of(tzid))
+                                .withZoneSameInstant(ZoneId.systemDefault())
+                                .toLocalDateTime();
+                    } catch (DateTimeException ignored) {
+                        // 无法识别的时区按浮动时间处理
+                    }
+                }
+                return local;
+            } catch (DateTimeParseException | StringIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException(name + " 格式非法: " + value);
+            }
+        }
+    }
+
+    /**
+     * RFC 4180 记录读取器
+     */
+    private static class CsvReader {
+        private final BufferedReader reader;
+        private int line = 1;
+        private int recordLine = 1;
+        private boolean eof = false;
+
+        private CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * 读取下一条记录
+         *
+         * @return 字段列表，已读到末尾时返回 {@code null}
+         */
+        private List<String> next() throws IOException {
+            if (eof) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        int peek = reader.read();
+                        if (peek == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (peek != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        if (ch == '\n') {
+                            line++;
+                        }
+                        field.append(ch);
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                } else if (ch == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (ch == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else if (ch == '\n') {
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append(ch);
+                }
+            }
+            eof = true;
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.regex.Pattern;
+
+/**
+ * 搜索工具
+ * <p>
+ * 该类用于规范化搜索关键字并生成 {@code ILIKE} 匹配模式；
+ * 标签存储为 {@code text[]} 列并建有 GIN 索引，按标签精确筛选时生成 {@code tags @> ARRAY[?]::text[]}；
+ * 关键字搜索时标签经 {@code xf_tags_text(tags)} 以空格拼接为文本，与名称、描述一同以 {@code ILIKE} 匹配；
+ * 关键字中的 {@code [ ] " ,} 视为分隔符替换为空格，匹配模式会转义 {@code \ % _}，关键字按字面值匹配，由 {@code pg_trgm} 的 GIN 索引加速。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+public class SearchUtil {
+    private static final int MAX_KEYWORD_LENGTH = 64;
+    private static final Pattern IGNORED_CHARACTERS = Pattern.compile("[\\[\\]\",]");
+
+    private SearchUtil() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 规范化关键字
+     *
+     * @param search 原始搜索内容
+     * @return 规范化后的关键字，没有有效内容时返回空字符串
+     */
+    @NotNull
+    public static String normalize(String search) {
+        if (search == null) {
+            return "";
+        }
+        String keyword = IGNORED_CHARACTERS.matcher(search).replaceAll(" ").trim();
+        if (keyword.length() > MAX_KEYWORD_LENGTH) {
+            keyword = keyword.substring(0, MAX_KEYWORD_LENGTH);
+        }
+        return keyword;
+    }
+
+    /**
+     * 生成匹配模式
+     *
+     * @param keyword 规范化后的关键字
+     * @return {@code %关键字%} 形式的匹配模式
+     */
+    @NotNull
+    public static String toLikePattern(@NotNull String keyword) {
+        return "%" + SearchUtil.escape(keyword) + "%";
+    }
+
+    /**
+     * 生成前缀匹配模式
+     *
+     * @param keyword 规范化后的关键字
+     * @return {@code 关键字%} 形式的匹配模式
+     */
+    @NotNull
+    public static String toPrefixPattern(@NotNull String keyword) {
+        return SearchUtil.escape(keyword) + "%";
+    }
+
+    /**
+     * 转义匹配模式中的通配符
+     *
+     * @param keyword 关键字
+     * @return 转义后的关键字
+     */
+    @NotNull
+    private static String escape(@NotNull String keyword) {
+        return keyword
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
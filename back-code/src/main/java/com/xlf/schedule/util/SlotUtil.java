@@ -0,0 +1,112 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.util;
+
+import com.xlf.schedule.model.entity.ScheduleDO;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+
+/**
+ * 时间槽工具
+ * <p>
+ * 该类用于将忙碌时间映射到以 {@link #SLOT_MINUTES} 分钟为单位的位图上，第 {@code i} 位表示 {@code [起点 + i * 15min, 起点 + (i + 1) * 15min)}；
+ * 区间开始向下取整、结束向上取整到时间槽边界，只要与时间槽有交集即视为忙碌；持续时间为 {@code 0} 的日程占用其开始所在的时间槽。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+public class SlotUtil {
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final long SLOT_SECONDS = SLOT_MINUTES * 60L;
+
+    private SlotUtil() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 标记区间
+     *
+     * @param bits       位图
+     * @param rangeStart 位图起点
+     * @param slotCount  位图长度
+     * @param start      区间开始
+     * @param end        区间结束（不包含）
+     */
+    public static void mark(
+            @NotNull BitSet bits,
+            @NotNull LocalDateTime rangeStart,
+            int slotCount,
+            @NotNull LocalDateTime start,
+            @NotNull LocalDateTime end
+    ) {
+        long startSeconds = Duration.between(rangeStart, start).getSeconds();
+        long endSeconds = Duration.between(rangeStart, end).getSeconds();
+        long from = Math.floorDiv(startSeconds, SLOT_SECONDS);
+        long to = endSeconds <= startSeconds ? from + 1 : -Math.floorDiv(-endSeconds, SLOT_SECONDS);
+        from = Math.max(0, from);
+        to = Math.min(slotCount, to);
+        if (from < to) {
+            bits.set((int) from, (int) to);
+        }
+    }
+
+    /**
+     * 标记日程
+     * <p>
+     * 循环日程在位图范围内展开后逐次标记。
+     *
+     * @param bits       位图
+     * @param rangeStart 位图起点
+     * @param slotCount  位图长度
+     * @param schedule   日程
+     */
+    public static void markSchedule(@NotNull BitSet bits, @NotNull LocalDateTime rangeStart, int slotCount, @NotNull ScheduleDO schedule) {
+        if (schedule.getStartTime() == null) {
+            return;
+        }
+        Duration duration = RecurrenceUtil.getDuration(schedule);
+        if (schedule.getType() != null && schedule.getType() == 1) {
+            LocalDateTime rangeEnd = rangeStart.plusMinutes((long) slotCount * SLOT_MINUTES);
+            RecurrenceUtil.expand(schedule, rangeStart, rangeEnd)
+                    .forEach(occurrence -> mark(bits, rangeStart, slotCount, occurrence, occurrence.plus(duration)));
+        } else {
+            LocalDateTime start = schedule.getStartTime().toLocalDateTime();
+            mark(bits, rangeStart, slotCount, start, start.plus(duration));
+        }
+    }
+
+    /**
+     * 获取时间槽开始时间
+     *
+     * @param rangeStart 位图起点
+     * @param slot       时间槽下标
+     * @return 开始时间
+     */
+    @NotNull
+    public static LocalDateTime toTime(@NotNull LocalDateTime rangeStart, int slot) {
+        return rangeStart.plusMinutes((long) slot * SLOT_MINUTES);
+    }
+}
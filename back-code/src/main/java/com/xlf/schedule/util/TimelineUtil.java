@@ -0,0 +1,82 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.util;
+
+import com.xlf.schedule.constant.StringConstant;
+import com.xlf.utility.ErrorCode;
+import com.xlf.utility.exception.BusinessException;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 时间线工具
+ * <p>
+ * 该类用于计算时间线（{@code today}、{@code week}、{@code month}、{@code year}）对应的自然周期；
+ * 周以周一为第一天；周期的开始日期同时用作缓存的周期标识，跨越周期边界时自然失效。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+public class TimelineUtil {
+    private TimelineUtil() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * 获取周期开始日期
+     *
+     * @param timeline 时间线
+     * @param today    当天
+     * @return 周期第一天
+     */
+    @NotNull
+    public static LocalDate getPeriodStart(@NotNull String timeline, @NotNull LocalDate today) {
+        return switch (timeline) {
+            case "today" -> today;
+            case "week" -> today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case "month" -> today.withDayOfMonth(1);
+            case "year" -> today.withDayOfYear(1);
+            default -> throw new BusinessException(StringConstant.SEARCH_CONDITION_ILLEGAL, ErrorCode.PARAMETER_ILLEGAL);
+        };
+    }
+
+    /**
+     * 获取周期结束日期
+     *
+     * @param timeline 时间线
+     * @param today    当天
+     * @return 周期最后一天
+     */
+    @NotNull
+    public static LocalDate getPeriodEnd(@NotNull String timeline, @NotNull LocalDate today) {
+        LocalDate start = getPeriodStart(timeline, today);
+        return switch (timeline) {
+            case "week" -> start.plusDays(6);
+            case "month" -> start.with(TemporalAdjusters.lastDayOfMonth());
+            case "year" -> start.with(TemporalAdjusters.lastDayOfYear());
+            default -> start;
+        };
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+-- 课程表按学年、学年按用户查询的索引（已存在的表补齐）
+create index if not exists xf_class_class_grade_uuid_index
+    on xf_class (class_grade_uuid);
+
+create index if not exists xf_class_grade_user_uuid_index
+    on xf_class_grade (user_uuid);
+
+-- 课程冲突检查按学年、星期与周次查询的索引
+create index if not exists xf_class_grade_day_week_index
+    on xf_class (class_grade_uuid, day_tick, week);
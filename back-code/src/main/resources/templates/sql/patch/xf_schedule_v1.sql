@@ -0,0 +1,46 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+-- xf_schedule 时间区间列与查询索引（已存在的表补齐）
+alter table xf_schedule
+    add column if not exists period tsrange
+        generated always as (tsrange(start_time, greatest(start_time, coalesce(end_time, start_time)), '[]')) stored;
+
+comment on column xf_schedule.period is '日程时间区间（由开始、结束时间生成）';
+
+-- 窗口查询总是带有用户或小组条件，区间索引需与其组合才能直接定位，单列区间索引不再使用
+create extension if not exists btree_gist;
+
+drop index if exists xf_schedule_period_index;
+
+create index if not exists xf_schedule_user_uuid_period_index
+    on xf_schedule using gist (user_uuid, period);
+
+create index if not exists xf_schedule_group_uuid_period_index
+    on xf_schedule using gist (group_uuid, period);
+
+create index if not exists xf_schedule_user_uuid_type_start_time_index
+    on xf_schedule (user_uuid, type, start_time);
+
+create index if not exists xf_schedule_group_uuid_type_start_time_index
+    on xf_schedule (group_uuid, type, start_time);
+
+create index if not exists xf_schedule_user_uuid_start_time_schedule_uuid_index
+    on xf_schedule (user_uuid, start_time, schedule_uuid);
@@ -0,0 +1,38 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+-- 日程、小组搜索的三元组索引（依赖 pg_trgm 扩展与补丁 xf_tags_v1 中的 xf_tags_text，新建与已存在的表均由该补丁创建）
+-- 中文按字符切分三元组，要求数据库 LC_CTYPE 不为 C（如 zh_CN.UTF-8、C.UTF-8）；少于三个字的关键字无法利用索引，退化为按用户过滤后的逐行匹配
+create extension if not exists pg_trgm;
+
+create index if not exists xf_schedule_name_trgm_index
+    on xf_schedule using gin (name gin_trgm_ops);
+
+create index if not exists xf_schedule_description_trgm_index
+    on xf_schedule using gin (description gin_trgm_ops);
+
+create index if not exists xf_schedule_tags_text_trgm_index
+    on xf_schedule using gin (xf_tags_text(tags) gin_trgm_ops);
+
+create index if not exists xf_group_name_trgm_index
+    on xf_group using gin (name gin_trgm_ops);
+
+create index if not exists xf_group_tags_text_trgm_index
+    on xf_group using gin (xf_tags_text(tags) gin_trgm_ops);
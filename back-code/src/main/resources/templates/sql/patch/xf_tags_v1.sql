@@ -0,0 +1,78 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+-- 日程、小组标签由 JSON 字符串改为 text[]（已存在的表补齐）并建立 GIN 索引
+-- 仅用于一次性转换旧数据；无法解析为 JSON 数组的旧值转换为空数组，避免单条脏数据导致启动失败
+create or replace function xf_json_to_text_array(value varchar) returns text[]
+    language plpgsql as
+$$
+begin
+    if value is null or value = '' or jsonb_typeof(value::jsonb) <> 'array' then
+        return '{}'::text[];
+    end if;
+    return array(select jsonb_array_elements_text(value::jsonb));
+exception
+    when others then
+        return '{}'::text[];
+end
+$$;
+
+-- 标签拼接为文本，用于三元组搜索索引
+create or replace function xf_tags_text(tags text[]) returns text
+    language sql
+    immutable
+    parallel safe as
+$$
+select array_to_string(tags, ' ')
+$$;
+
+do
+$$
+    begin
+        if exists (select 1
+                   from information_schema.columns
+                   where table_schema = current_schema()
+                     and table_name = 'xf_schedule'
+                     and column_name = 'tags'
+                     and data_type <> 'ARRAY') then
+            drop index if exists xf_schedule_tags_trgm_index;
+            alter table xf_schedule alter column tags drop default;
+            alter table xf_schedule alter column tags type text[] using xf_json_to_text_array(tags);
+            alter table xf_schedule alter column tags set default '{}';
+        end if;
+        if exists (select 1
+                   from information_schema.columns
+                   where table_schema = current_schema()
+                     and table_name = 'xf_group'
+                     and column_name = 'tags'
+                     and data_type <> 'ARRAY') then
+            drop index if exists xf_group_tags_trgm_index;
+            alter table xf_group alter column tags drop default;
+            alter table xf_group alter column tags type text[] using xf_json_to_text_array(tags);
+            alter table xf_group alter column tags set default '{}';
+        end if;
+    end
+$$;
+
+create index if not exists xf_schedule_tags_index
+    on xf_schedule using gin (tags);
+
+create index if not exists xf_group_tags_index
+    on xf_group using gin (tags);
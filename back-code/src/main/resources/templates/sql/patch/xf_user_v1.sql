@@ -0,0 +1,35 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+-- 好友搜索的三元组索引（依赖 pg_trgm 扩展，新建与已存在的表均由该补丁创建）
+-- 少于三个字符的关键字无法利用索引，退化为逐行匹配，结果条数仍由查询的 LIMIT 限制
+create extension if not exists pg_trgm;
+
+create index if not exists xf_user_username_trgm_index
+    on xf_user using gin (username gin_trgm_ops);
+
+create index if not exists xf_user_phone_trgm_index
+    on xf_user using gin (phone gin_trgm_ops);
+
+create index if not exists xf_user_email_trgm_index
+    on xf_user using gin (email gin_trgm_ops);
+
+create index if not exists xf_user_uuid_trgm_index
+    on xf_user using gin (uuid gin_trgm_ops);
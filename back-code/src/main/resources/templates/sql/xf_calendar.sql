@@ -0,0 +1,44 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+-- auto-generated definition
+create table xf_calendar
+(
+    user_uuid  varchar(36)             not null
+        constraint xf_calendar_pk
+            primary key
+        constraint xf_calendar_xf_user_uuid_fk
+            references xf_user
+            on update cascade on delete cascade,
+    feed_key   varchar(64)             not null,
+    version    bigint    default 1     not null,
+    created_at timestamp default now() not null,
+    updated_at timestamp default now() not null
+);
+
+comment on table xf_calendar is '日历订阅';
+comment on column xf_calendar.user_uuid is '用户主键';
+comment on column xf_calendar.feed_key is '订阅密钥（订阅地址的一部分）';
+comment on column xf_calendar.version is '变更版本（日程、课程变更时递增，用作 ETag）';
+comment on column xf_calendar.created_at is '创建时间';
+comment on column xf_calendar.updated_at is '更新时间';
+
+create unique index xf_calendar_feed_key_uindex
+    on xf_calendar (feed_key);
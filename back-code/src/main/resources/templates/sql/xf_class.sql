@@ -51,3 +51,9 @@ COMMENT ON COLUMN xf_class.teacher IS '授课老师的名字';
 COMMENT ON COLUMN xf_class.location IS '上课地点';
 COMMENT ON COLUMN xf_class.created_at IS '记录创建时间';
 COMMENT ON COLUMN xf_class.updated_at IS '记录更新时间';
+
+create index xf_class_class_grade_uuid_index
+    on xf_class (class_grade_uuid);
+
+create index xf_class_grade_day_week_index
+    on xf_class (class_grade_uuid, day_tick, week);
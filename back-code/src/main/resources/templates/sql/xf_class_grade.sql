@@ -48,3 +48,6 @@ comment on column xf_class_grade.semester_end is '学期结束';
 comment on column xf_class_grade.nickname is '别名';
 comment on column xf_class_grade.created_at is '创建时间';
 comment on column xf_class_grade.updated_at is '更新时间';
+
+create index xf_class_grade_user_uuid_index
+    on xf_class_grade (user_uuid);
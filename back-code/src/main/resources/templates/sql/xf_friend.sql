@@ -55,3 +55,6 @@ comment on column xf_friend.updated_at is '更新时间';
 create unique index xf_friend_sender_user_uuid_allower_user_uuid_uindex
     on xf_friend (sender_user_uuid, allower_user_uuid);
 
+create index xf_friend_allower_user_uuid_sender_user_uuid_index
+    on xf_friend (allower_user_uuid, sender_user_uuid);
+
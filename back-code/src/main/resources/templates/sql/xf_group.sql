@@ -29,7 +29,7 @@ create table xf_group
         constraint xf_group_xf_user_uuid_fk
             references xf_user
             on update cascade on delete cascade,
-    tags          varchar   default '[]'  not null,
+    tags          text[]    default '{}'  not null,
     user_able_add boolean   default true  not null,
     created_at    timestamp default now() not null,
     updated_at    timestamp,
@@ -45,3 +45,9 @@ comment on column xf_group.user_able_add is '其余用户允许添加日程';
 comment on column xf_group.created_at is '创建时间';
 comment on column xf_group.updated_at is '更新时间';
 comment on column xf_group.deleted_at is '删除时间';
+
+create index xf_group_tags_index
+    on xf_group using gin (tags);
+
+create index xf_group_master_created_at_index
+    on xf_group (master, created_at);
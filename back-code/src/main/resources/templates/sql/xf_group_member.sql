@@ -47,3 +47,6 @@ comment on column xf_group_member.updated_at is '更新时间';
 
 create unique index xf_group_member_group_uuid_user_uuid_uindex
     on xf_group_member (group_uuid, user_uuid);
+
+create index xf_group_member_user_uuid_index
+    on xf_group_member (user_uuid);
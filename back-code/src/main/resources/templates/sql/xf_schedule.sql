@@ -39,11 +39,12 @@ create table xf_schedule
     type          smallint  default 0     not null,
     loop_type     smallint,
     custom_loop   integer,
-    tags          varchar   default '[]'  not null,
+    tags          text[]    default '{}'  not null,
     priority      smallint  default 1     not null,
     resources     varchar,
     created_at    timestamp default now() not null,
-    updated_at    timestamp
+    updated_at    timestamp,
+    period        tsrange generated always as (tsrange(start_time, greatest(start_time, coalesce(end_time, start_time)), '[]')) stored
 );
 
 comment on table xf_schedule is '日程表';
@@ -62,3 +63,24 @@ comment on column xf_schedule.priority is '优先级(1,2,3,4: 较低，低，中
 comment on column xf_schedule.resources is '导入资源';
 comment on column xf_schedule.created_at is '创建时间';
 comment on column xf_schedule.updated_at is '修改时间';
+comment on column xf_schedule.period is '日程时间区间（由开始、结束时间生成）';
+
+create index xf_schedule_user_uuid_type_start_time_index
+    on xf_schedule (user_uuid, type, start_time);
+
+create index xf_schedule_group_uuid_type_start_time_index
+    on xf_schedule (group_uuid, type, start_time);
+
+create extension if not exists btree_gist;
+
+create index xf_schedule_user_uuid_period_index
+    on xf_schedule using gist (user_uuid, period);
+
+create index xf_schedule_group_uuid_period_index
+    on xf_schedule using gist (group_uuid, period);
+
+create index xf_schedule_user_uuid_start_time_schedule_uuid_index
+    on xf_schedule (user_uuid, start_time, schedule_uuid);
+
+create index xf_schedule_tags_index
+    on xf_schedule using gin (tags);
@@ -43,3 +43,9 @@ comment on column xf_token.expired_at is '过期时间';
 comment on column xf_token.client_ip is '客户端登录时 IP';
 comment on column xf_token.client_referer is '客户端 Referer';
 comment on column xf_token.client_user_agent is '客户端用户信息';
+
+create index xf_token_expired_at_index
+    on xf_token (expired_at);
+
+create index xf_token_user_uuid_created_at_index
+    on xf_token (user_uuid, created_at);
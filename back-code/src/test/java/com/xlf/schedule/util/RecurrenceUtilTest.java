@@ -0,0 +1,232 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.util;
+
+import com.xlf.schedule.model.entity.ScheduleDO;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 循环日程展开工具测试
+ * <p>
+ * 该类用于测试 {@link RecurrenceUtil} 各循环类型的首次发生定位、窗口边界、月末与 14 号、展开次数上限，
+ * 并与逐次遍历的结果对照。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+class RecurrenceUtilTest {
+
+    @Test
+    void nonRecurringOrInvalidRulesExpandToNothing() {
+        LocalDateTime from = time("2024-01-01T00:00");
+        LocalDateTime to = time("2024-02-01T00:00");
+        assertTrue(RecurrenceUtil.expand(schedule(0, null, null, "2024-01-02T08:00", 60), from, to).toList().isEmpty());
+        assertTrue(RecurrenceUtil.expand(schedule(1, 0, null, "2024-01-02T08:00", 60), from, to).toList().isEmpty());
+        assertTrue(RecurrenceUtil.expand(schedule(1, 0, 0, "2024-01-02T08:00", 60), from, to).toList().isEmpty());
+        assertTrue(RecurrenceUtil.expand(schedule(1, 9, null, "2024-01-02T08:00", 60), from, to).toList().isEmpty());
+        assertTrue(RecurrenceUtil.expand(schedule(1, 1, null, "2024-01-02T08:00", 60), to, from).toList().isEmpty());
+    }
+
+    @Test
+    void dailyStartsAtAnchorAndSkipsToWindow() {
+        ScheduleDO daily = schedule(1, 1, null, "2024-01-01T09:00", 60);
+        assertEquals(times("2024-03-10T09:00", "2024-03-11T09:00", "2024-03-12T09:00"),
+                RecurrenceUtil.expand(daily, time("2024-03-10T00:00"), time("2024-03-13T00:00")).toList());
+        assertEquals(times("2024-01-01T09:00", "2024-01-02T09:00"),
+                RecurrenceUtil.expand(daily, time("2023-12-01T00:00"), time("2024-01-03T00:00")).toList());
+    }
+
+    @Test
+    void occurrenceOverlappingWindowStartIsIncluded() {
+        ScheduleDO overnight = schedule(1, 1, null, "2024-01-01T23:00", 120);
+        assertEquals(times("2024-01-09T23:00", "2024-01-10T23:00"),
+                RecurrenceUtil.expand(overnight, time("2024-01-10T00:00"), time("2024-01-11T00:00")).toList());
+        // 结束时间恰好等于窗口开始的不算相交
+        ScheduleDO evening = schedule(1, 1, null, "2024-01-01T22:00", 120);
+        assertEquals(times("2024-01-10T22:00"),
+                RecurrenceUtil.expand(evening, time("2024-01-10T00:00"), time("2024-01-11T00:00")).toList());
+    }
+
+    @Test
+    void zeroDurationOccursOnlyInsideWindow() {
+        ScheduleDO reminder = schedule(1, 1, null, "2024-01-01T00:00", 0);
+        assertEquals(times("2024-01-10T00:00"),
+                RecurrenceUtil.expand(reminder, time("2024-01-10T00:00"), time("2024-01-11T00:00")).toList());
+    }
+
+    @Test
+    void weeklyKeepsAnchorWeekday() {
+        // 2024-10-01 为星期二
+        ScheduleDO weekly = schedule(1, 2, null, "2024-10-01T08:00", 60);
+        assertEquals(times("2024-10-22T08:00", "2024-10-29T08:00"),
+                RecurrenceUtil.expand(weekly, time("2024-10-20T00:00"), time("2024-11-03T00:00")).toList());
+    }
+
+    @Test
+    void workdaySkipsWeekends() {
+        // 2024-10-02 为星期三，窗口从星期六开始
+        ScheduleDO workday = schedule(1, 3, null, "2024-10-02T09:00", 60);
+        assertEquals(times("2024-10-07T09:00", "2024-10-08T09:00"),
+                RecurrenceUtil.expand(workday, time("2024-10-05T10:00"), time("2024-10-09T00:00")).toList());
+        // 起点在星期六时从下一个星期一开始
+        ScheduleDO saturday = schedule(1, 3, null, "2024-10-05T09:00", 60);
+        assertEquals(times("2024-10-07T09:00", "2024-10-08T09:00"),
+                RecurrenceUtil.expand(saturday, time("2024-10-01T00:00"), time("2024-10-09T00:00")).toList());
+        // 下界落在当天发生时间之后时取下一个工作日（星期五之后为星期一）
+        assertEquals(times("2024-10-14T09:00"),
+                RecurrenceUtil.expand(workday, time("2024-10-11T10:00"), time("2024-10-15T00:00")).toList());
+    }
+
+    @Test
+    void firstOfMonthFromMonthEndAnchor() {
+        ScheduleDO monthly = schedule(1, 4, null, "2024-01-31T10:00", 60);
+        assertEquals(times("2024-02-01T10:00", "2024-03-01T10:00", "2024-04-01T10:00"),
+                RecurrenceUtil.expand(monthly, time("2024-01-01T00:00"), time("2024-04-02T00:00")).toList());
+    }
+
+    @Test
+    void fourteenthOfMonth() {
+        ScheduleDO monthly = schedule(1, 5, null, "2024-01-14T08:00", 60);
+        assertEquals(times("2024-02-14T08:00", "2024-03-14T08:00", "2024-04-14T08:00"),
+                RecurrenceUtil.expand(monthly, time("2024-02-14T08:30"), time("2024-05-01T00:00")).toList());
+        // 起点晚于当月 14 号时从下个月开始
+        ScheduleDO late = schedule(1, 5, null, "2024-01-15T08:00", 60);
+        assertEquals(times("2024-02-14T08:00"),
+                RecurrenceUtil.expand(late, time("2024-01-01T00:00"), time("2024-03-01T00:00")).toList());
+        // 窗口从 12 月 15 日开始时跨年到 1 月 14 日
+        assertEquals(times("2025-01-14T08:00"),
+                RecurrenceUtil.expand(monthly, time("2024-12-15T00:00"), time("2025-02-01T00:00")).toList());
+    }
+
+    @Test
+    void customPeriodCrossesMonthEndAndLeapDay() {
+        ScheduleDO custom = schedule(1, 0, 3, "2024-01-01T07:00", 30);
+        assertEquals(times("2024-01-10T07:00", "2024-01-13T07:00", "2024-01-16T07:00"),
+                RecurrenceUtil.expand(custom, time("2024-01-10T00:00"), time("2024-01-17T00:00")).toList());
+        ScheduleDO monthEnd = schedule(1, 0, 30, "2024-01-31T07:00", 30);
+        assertEquals(times("2024-03-01T07:00", "2024-03-31T07:00"),
+                RecurrenceUtil.expand(monthEnd, time("2024-02-01T00:00"), time("2024-04-01T00:00")).toList());
+    }
+
+    @Test
+    void expansionIsTruncatedAtMaxOccurrences() {
+        ScheduleDO daily = schedule(1, 1, null, "2020-01-01T08:00", 60);
+        List<LocalDateTime> list = RecurrenceUtil.expand(daily, time("2020-01-01T00:00"), time("2030-01-01T00:00")).toList();
+        assertEquals(RecurrenceUtil.MAX_OCCURRENCES, list.size());
+        assertEquals(time("2020-01-01T08:00"), list.get(0));
+    }
+
+    @Test
+    void arithmeticMatchesStepByStepExpansion() {
+        Random random = new Random(20241001L);
+        int[][] rules = {{1, 0}, {2, 0}, {3, 0}, {4, 0}, {5, 0}, {0, 1}, {0, 5}, {0, 30}};
+        for (int i = 0; i < 2000; i++) {
+            int[] rule = rules[i % rules.length];
+            LocalDateTime anchor = time("2023-01-01T00:00")
+                    .plusDays(random.nextInt(800))
+                    .plusMinutes(15L * random.nextInt(96));
+            int minutes = random.nextInt(4) == 0 ? 0 : 15 * (1 + random.nextInt(200));
+            ScheduleDO scheduleDO = schedule(1, rule[0], rule[0] == 0 ? rule[1] : null, anchor.toString(), minutes);
+            LocalDateTime windowStart = anchor.minusDays(30).plusDays(random.nextInt(400)).plusMinutes(random.nextInt(1440));
+            LocalDateTime windowEnd = windowStart.plusMinutes(1 + random.nextInt(60 * 24 * 45));
+            assertEquals(bruteForce(scheduleDO, windowStart, windowEnd),
+                    RecurrenceUtil.expand(scheduleDO, windowStart, windowEnd).toList(),
+                    scheduleDO + " [" + windowStart + ", " + windowEnd + ")");
+        }
+    }
+
+    @Test
+    void rruleMatchesLoopType() {
+        assertEquals("FREQ=DAILY", RecurrenceUtil.toRRule(schedule(1, 1, null, "2024-01-01T00:00", 0)));
+        assertEquals("FREQ=WEEKLY", RecurrenceUtil.toRRule(schedule(1, 2, null, "2024-01-01T00:00", 0)));
+        assertEquals("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR", RecurrenceUtil.toRRule(schedule(1, 3, null, "2024-01-01T00:00", 0)));
+        assertEquals("FREQ=MONTHLY;BYMONTHDAY=1", RecurrenceUtil.toRRule(schedule(1, 4, null, "2024-01-01T00:00", 0)));
+        assertEquals("FREQ=MONTHLY;BYMONTHDAY=14", RecurrenceUtil.toRRule(schedule(1, 5, null, "2024-01-01T00:00", 0)));
+        assertEquals("FREQ=DAILY;INTERVAL=10", RecurrenceUtil.toRRule(schedule(1, 0, 10, "2024-01-01T00:00", 0)));
+        assertNull(RecurrenceUtil.toRRule(schedule(1, 0, null, "2024-01-01T00:00", 0)));
+        assertNull(RecurrenceUtil.toRRule(schedule(0, 1, null, "2024-01-01T00:00", 0)));
+    }
+
+    @Test
+    void durationIgnoresMissingOrReversedEnd() {
+        assertEquals(Duration.ofMinutes(90), RecurrenceUtil.getDuration(schedule(1, 1, null, "2024-01-01T08:00", 90)));
+        ScheduleDO reversed = schedule(1, 1, null, "2024-01-01T08:00", 0)
+                .setEndTime(Timestamp.valueOf(time("2024-01-01T07:00")));
+        assertEquals(Duration.ZERO, RecurrenceUtil.getDuration(reversed));
+        assertEquals(Duration.ZERO, RecurrenceUtil.getDuration(reversed.setEndTime(null)));
+    }
+
+    /**
+     * 从起点逐次遍历得到窗口内的发生时间，作为算术定位的对照
+     */
+    private static List<LocalDateTime> bruteForce(ScheduleDO scheduleDO, LocalDateTime windowStart, LocalDateTime windowEnd) {
+        LocalDateTime anchor = scheduleDO.getStartTime().toLocalDateTime();
+        Duration duration = RecurrenceUtil.getDuration(scheduleDO);
+        List<LocalDateTime> list = new ArrayList<>();
+        for (LocalDateTime day = anchor; day.isBefore(windowEnd); day = day.plusDays(1)) {
+            boolean occurs = switch (scheduleDO.getLoopType()) {
+                case 1 -> true;
+                case 2 -> day.getDayOfWeek() == anchor.getDayOfWeek();
+                case 3 -> day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY;
+                case 4 -> day.getDayOfMonth() == 1;
+                case 5 -> day.getDayOfMonth() == 14;
+                default -> (day.toLocalDate().toEpochDay() - anchor.toLocalDate().toEpochDay()) % scheduleDO.getCustomLoop() == 0;
+            };
+            boolean overlaps = duration.isZero() ? !day.isBefore(windowStart) : day.plus(duration).isAfter(windowStart);
+            if (occurs && overlaps) {
+                list.add(day);
+            }
+        }
+        return list;
+    }
+
+    private static ScheduleDO schedule(int type, Integer loopType, Integer customLoop, String start, int minutes) {
+        LocalDateTime startTime = time(start);
+        return new ScheduleDO()
+                .setScheduleUuid("recurrence-test")
+                .setType((short) type)
+                .setLoopType(loopType == null ? null : loopType.shortValue())
+                .setCustomLoop(customLoop)
+                .setStartTime(Timestamp.valueOf(startTime))
+                .setEndTime(Timestamp.valueOf(startTime.plusMinutes(minutes)));
+    }
+
+    private static LocalDateTime time(String value) {
+        return LocalDateTime.parse(value);
+    }
+
+    private static List<LocalDateTime> times(String... values) {
+        return List.of(values).stream().map(RecurrenceUtilTest::time).toList();
+    }
+}
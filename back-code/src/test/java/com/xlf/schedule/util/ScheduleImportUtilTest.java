@@ -0,0 +1,315 @@
+/*
+ * ***************************************************************************************
+ * author: XiaoLFeng(https://www.x-lf.com)
+ * about:
+ *   The project contains the source code of com.xlf.schedule.
+ *   All source code for this project is licensed under the MIT open source license.
+ * licenseStatement:
+ *   Copyright (c) 2016-2024 XiaoLFeng. All rights reserved.
+ *   For more information about the MIT license, please view the LICENSE file
+ *     in the project root directory or visit:
+ *   https://opensource.org/license/MIT
+ * disclaimer:
+ *   Since this project is in the model design stage, we are not responsible for any losses
+ *     caused by using this project for commercial purposes.
+ *   If you modify the code and redistribute it, you need to clearly indicate what changes
+ *     you made in the corresponding file.
+ *   If you want to modify it for commercial use, please contact me.
+ * ***************************************************************************************
+ */
+
+package com.xlf.schedule.util;
+
+import com.xlf.schedule.model.entity.ScheduleDO;
+import com.xlf.utility.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 日程导入工具测试
+ * <p>
+ * 该类用于测试 {@link ScheduleImportUtil} 的 iCalendar 折行、全天与结束时间、时区换算、循环规则映射，
+ * 以及 CSV 引号、跨行字段与行号。
+ *
+ * @author xiao_lfeng
+ * @version v1.0.0
+ * @since v1.0.0
+ */
+class ScheduleImportUtilTest {
+
+    @Test
+    void icsUnfoldsContinuationLines() throws IOException {
+        List<Row> rows = parseIcs("""
+                BEGIN:VCALENDAR
+                BEGIN:VEVENT
+                DTSTART:20241001T080000
+                SUMMARY:周一
+                  例会
+                DESCRIPTION:第一行\\n
+                \tfirst\\, second
+                END:VEVENT
+                END:VCALENDAR
+                """);
+        assertEquals(1, rows.size());
+        assertEquals(2, rows.get(0).line);
+        assertEquals("周一 例会", rows.get(0).schedule.getName());
+        assertEquals("第一行\nfirst, second", rows.get(0).schedule.getDescription());
+    }
+
+    @Test
+    void icsIgnoresNestedComponents() throws IOException {
+        List<Row> rows = parseIcs("""
+                BEGIN:VEVENT
+                DTSTART:20241001T080000
+                DTEND:20241001T090000
+                SUMMARY:会议
+                BEGIN:VALARM
+                DESCRIPTION:提醒
+                END:VALARM
+                END:VEVENT
+                """);
+        assertEquals(1, rows.size());
+        assertNull(rows.get(0).schedule.getDescription());
+        assertEquals(time("2024-10-01T09:00"), rows.get(0).schedule.getEndTime());
+    }
+
+    @Test
+    void icsAllDayEndDateIsExclusive() throws IOException {
+        List<Row> rows = parseIcs("""
+                BEGIN:VEVENT
+                DTSTART;VALUE=DATE:20241001
+                DTEND;VALUE=DATE:20241003
+                SUMMARY:出差
+                END:VEVENT
+                BEGIN:VEVENT
+                DTSTART;VALUE=DATE:20241005
+                SUMMARY:假期
+                END:VEVENT
+                """);
+        ScheduleDO trip = rows.get(0).schedule;
+        assertEquals((short) 2, trip.getType());
+        assertEquals(time("2024-10-01T00:00"), trip.getStartTime());
+        assertEquals(time("2024-10-02T23:59:59"), trip.getEndTime());
+        ScheduleDO holiday = rows.get(1).schedule;
+        assertEquals((short) 2, holiday.getType());
+        assertEquals(time("2024-10-05T23:59:59"), holiday.getEndTime());
+    }
+
+    @Test
+    void icsUsesDurationOrStartWhenDtEndIsMissing() throws IOException {
+        List<Row> rows = parseIcs("""
+                BEGIN:VEVENT
+                DTSTART:20241001T080000
+                DURATION:PT1H30M
+                SUMMARY:讲座
+                END:VEVENT
+                BEGIN:VEVENT
+                DTSTART:20241001T080000
+                SUMMARY:提醒
+                END:VEVENT
+                """);
+        assertEquals((short) 0, rows.get(0).schedule.getType());
+        assertEquals(time("2024-10-01T09:30"), rows.get(0).schedule.getEndTime());
+        assertEquals(time("2024-10-01T08:00"), rows.get(1).schedule.getEndTime());
+    }
+
+    @Test
+    void icsConvertsUtcAndTzidToLocalTime() throws IOException {
+        List<Row> rows = parseIcs("""
+                BEGIN:VEVENT
+                DTSTART:20241001T000000Z
+                SUMMARY:UTC
+                END:VEVENT
+                BEGIN:VEVENT
+                DTSTART;TZID="Asia/Shanghai":20241001T080000
+                SUMMARY:TZID
+                END:VEVENT
+                BEGIN:VEVENT
+                DTSTART;TZID=Unknown/Zone:20241001T080000
+                SUMMARY:浮动
+                END:VEVENT
+                """);
+        LocalDateTime expected = ZonedDateTime.of(LocalDateTime.parse("2024-10-01T00:00"), ZoneId.of("UTC"))
+                .withZoneSameInstant(ZoneId.systemDefault())
+                .toLocalDateTime();
+        assertEquals(Timestamp.valueOf(expected), rows.get(0).schedule.getStartTime());
+        assertEquals(Timestamp.valueOf(expected), rows.get(1).schedule.getStartTime());
+        assertEquals(time("2024-10-01T08:00"), rows.get(2).schedule.getStartTime());
+    }
+
+    @Test
+    void icsMapsSupportedRRules() throws IOException {
+        // 2024-10-01 为星期二
+        List<Row> rows = parseIcs(String.join("", List.of(
+                event("FREQ=DAILY"),
+                event("FREQ=DAILY;INTERVAL=3"),
+                event("FREQ=WEEKLY;BYDAY=TU"),
+                event("FREQ=WEEKLY;INTERVAL=2"),
+                event("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR;WKST=MO"),
+                event("FREQ=MONTHLY;BYMONTHDAY=1"),
+                event("FREQ=MONTHLY;BYMONTHDAY=14")
+        )));
+        short[][] expected = {{1, -1}, {0, 3}, {2, -1}, {0, 14}, {3, -1}, {4, -1}, {5, -1}};
+        assertEquals(expected.length, rows.size());
+        for (int i = 0; i < expected.length; i++) {
+            ScheduleDO scheduleDO = rows.get(i).schedule;
+            assertEquals((short) 1, scheduleDO.getType(), "第 " + i + " 条");
+            assertEquals(expected[i][0], scheduleDO.getLoopType(), "第 " + i + " 条");
+            assertEquals(expected[i][1] < 0 ? null : (int) expected[i][1], scheduleDO.getCustomLoop(), "第 " + i + " 条");
+        }
+    }
+
+    @Test
+    void icsRejectsUnsupportedRRules() throws IOException {
+        List<String> rules = List.of(
+                "FREQ=DAILY;COUNT=5",
+                "FREQ=WEEKLY;UNTIL=20241231T000000Z",
+                "FREQ=YEARLY",
+                "FREQ=MONTHLY;BYMONTHDAY=15",
+                "FREQ=MONTHLY;INTERVAL=2;BYMONTHDAY=1",
+                "FREQ=WEEKLY;BYDAY=MO,WE",
+                "FREQ=DAILY;INTERVAL=x"
+        );
+        List<Row> rows = parseIcs(String.join("", rules.stream().map(ScheduleImportUtilTest::event).toList()));
+        assertEquals(rules.size(), rows.size());
+        for (int i = 0; i < rules.size(); i++) {
+            assertNull(rows.get(i).schedule, rules.get(i));
+            assertEquals("不支持的循环规则: " + rules.get(i), rows.get(i).error);
+        }
+    }
+
+    @Test
+    void icsReportsMissingStartAndContinues() throws IOException {
+        List<Row> rows = parseIcs("""
+                BEGIN:VEVENT
+                SUMMARY:无开始时间
+                END:VEVENT
+                BEGIN:VEVENT
+                DTSTART:2024-10-01
+                END:VEVENT
+                BEGIN:VEVENT
+                DTSTART:20241001T080000
+                SUMMARY:正常
+                END:VEVENT
+                """);
+        assertEquals("缺少 DTSTART", rows.get(0).error);
+        assertEquals("DTSTART 格式非法: 2024-10-01", rows.get(1).error);
+        assertEquals(7, rows.get(2).line);
+        assertEquals("正常", rows.get(2).schedule.getName());
+    }
+
+    @Test
+    void csvHandlesQuotedFieldsAndLineNumbers() throws IOException {
+        List<Row> rows = parseCsv("\uFEFFName,Description,Start_Time,End_Time,Tags\r\n"
+                + "\"会议, 周一\",\"说明 \"\"重要\"\"\",2024-10-01 08:00,2024-10-01 09:30,学习;工作|学习\r\n"
+                + "复习,\"第一行\n第二行\",2024-10-02 08:00:30,,\n"
+                + "\n"
+                + "作业,,2024-10-03,,\n");
+        assertEquals(3, rows.size());
+        ScheduleDO meeting = rows.get(0).schedule;
+        assertEquals(2, rows.get(0).line);
+        assertEquals("会议, 周一", meeting.getName());
+        assertEquals("说明 \"重要\"", meeting.getDescription());
+        assertEquals(time("2024-10-01T09:30"), meeting.getEndTime());
+        assertEquals(List.of("学习", "工作"), meeting.getTags());
+        ScheduleDO review = rows.get(1).schedule;
+        assertEquals(3, rows.get(1).line);
+        assertEquals("第一行\n第二行", review.getDescription());
+        assertEquals(time("2024-10-02T08:00:30"), review.getEndTime());
+        assertEquals(6, rows.get(2).line);
+        assertEquals(time("2024-10-03T00:00"), rows.get(2).schedule.getStartTime());
+    }
+
+    @Test
+    void csvReportsInvalidRows() throws IOException {
+        List<Row> rows = parseCsv("""
+                name,start_time,priority
+                会议,,1
+                会议,2024/10/01,1
+                会议,2024-10-01 08:00,高
+                会议,1727740800000,4
+                """);
+        assertEquals("start_time 不能为空", rows.get(0).error);
+        assertEquals("start_time 格式非法: 2024/10/01", rows.get(1).error);
+        assertEquals("priority 格式非法: 高", rows.get(2).error);
+        assertEquals(new Timestamp(1727740800000L), rows.get(3).schedule.getStartTime());
+        assertEquals((short) 4, rows.get(3).schedule.getPriority());
+    }
+
+    @Test
+    void csvRequiresNameAndStartColumns() {
+        assertThrows(BusinessException.class, () -> parseCsv("name,end_time\n会议,2024-10-01\n"));
+    }
+
+    @Test
+    void memberCsvAcceptsHeaderOrBareUuids() throws IOException {
+        String uuid = "3f2b1c9e-8a7d-4e6f-9b0a-1c2d3e4f5a6b";
+        List<String> withHeader = new ArrayList<>();
+        ScheduleImportUtil.parseMemberCsv(reader("name,User_UUID\n张三," + uuid + "\n李四,\n"), withHeader::add);
+        assertEquals(List.of(uuid), withHeader);
+        List<String> bare = new ArrayList<>();
+        ScheduleImportUtil.parseMemberCsv(reader(uuid + "\n" + uuid + "\n"), bare::add);
+        assertEquals(List.of(uuid, uuid), bare);
+        assertThrows(BusinessException.class, () -> ScheduleImportUtil.parseMemberCsv(reader("name\n张三\n"), value -> true));
+    }
+
+    @Test
+    void consumerCanStopParsing() throws IOException {
+        List<Row> rows = new ArrayList<>();
+        ScheduleImportUtil.parseIcs(reader(event("FREQ=DAILY") + event("FREQ=DAILY")), (line, schedule, error) -> {
+            rows.add(new Row(line, schedule, error));
+            return false;
+        });
+        assertEquals(1, rows.size());
+        assertNull(rows.get(0).error);
+    }
+
+    private static String event(String rrule) {
+        return "BEGIN:VEVENT\nDTSTART:20241001T080000\nSUMMARY:循环\nRRULE:" + rrule + "\nEND:VEVENT\n";
+    }
+
+    private static Timestamp time(String value) {
+        return Timestamp.valueOf(LocalDateTime.parse(value));
+    }
+
+    private static BufferedReader reader(String content) {
+        return new BufferedReader(new StringReader(content));
+    }
+
+    private static List<Row> parseIcs(String content) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        ScheduleImportUtil.parseIcs(reader(content), (line, schedule, error) -> rows.add(new Row(line, schedule, error)));
+        return rows;
+    }
+
+    private static List<Row> parseCsv(String content) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        ScheduleImportUtil.parseCsv(reader(content), (line, schedule, error) -> rows.add(new Row(line, schedule, error)));
+        return rows;
+    }
+
+    private static class Row {
+        private final int line;
+        private final ScheduleDO schedule;
+        private final String error;
+
+        private Row(int line, ScheduleDO schedule, String error) {
+            this.line = line;
+            this.schedule = schedule;
+            this.error = error;
+        }
+    }
+}